@@ -8,8 +8,8 @@ import java.util.Properties;
 public class ApiCredentials {
     
     private static final String PROPERTIES_FILE = "api.properties";
-    private static String apiKey;
-    private static String apiToken;
+    private static volatile String apiKey;
+    private static volatile String apiToken;
     
     static {
         loadCredentials();
@@ -46,6 +46,16 @@ public class ApiCredentials {
         return apiToken;
     }
 
+    /**
+     * Replaces the loaded credentials, e.g. with the fixed credentials of the mock server
+     * @param key API key
+     * @param token API token
+     */
+    public static void setCredentials(String key, String token) {
+        apiKey = key;
+        apiToken = token;
+    }
+
     public static boolean areCredentialsLoaded() {
         return apiKey != null && !apiKey.isEmpty() && 
                apiToken != null && !apiToken.isEmpty();
@@ -3,8 +3,14 @@ package com.trello.api.config;
 
 public class Config {
     
-    // Trello API Base URL
-    public static final String BASE_URL = "https://api.trello.com/1";
+    // Target API: "trello" (the real API) or "mock" (in-process TrelloMockServer on MOCK_PORT)
+    public static final String TARGET = System.getProperty("trello.target", "trello");
+    public static final boolean USE_MOCK_SERVER = "mock".equalsIgnoreCase(TARGET);
+    public static final int MOCK_PORT = Integer.getInteger("trello.mock.port", 8089);
+    
+    // Trello API Base URL (can be pointed at any compatible server with -Dtrello.baseUrl)
+    public static final String BASE_URL = System.getProperty("trello.baseUrl",
+            USE_MOCK_SERVER ? "http://localhost:" + MOCK_PORT + "/1" : "https://api.trello.com/1");
     
     // API Version
     public static final String API_VERSION = "1";
@@ -13,6 +19,15 @@ public class Config {
     public static final String BOARDS_ENDPOINT = "/boards";
     public static final String CARDS_ENDPOINT = "/cards";
     public static final String LISTS_ENDPOINT = "/lists";
+    public static final String MEMBERS_ENDPOINT = "/members";
+    public static final String BATCH_ENDPOINT = "/batch";
+    public static final String ACTIONS_ENDPOINT = "/actions";
+    // Trello runs at most this many GETs per /batch request
+    public static final int BATCH_MAX_URLS = 10;
+    // Trello returns at most this many cards per page
+    public static final int CARDS_MAX_PAGE_SIZE = 1000;
+    // Trello returns at most this many actions per page
+    public static final int ACTIONS_MAX_PAGE_SIZE = 1000;
     
     // Query Parameters
     public static final String KEY_PARAM = "key";
@@ -21,6 +36,12 @@ public class Config {
     public static final String DESC_PARAM = "desc";
     public static final String ID_LIST_PARAM = "idList";
     public static final String ID_BOARD_PARAM = "idBoard";
+    public static final String FIELDS_PARAM = "fields";
+    public static final String FILTER_PARAM = "filter";
+    public static final String URLS_PARAM = "urls";
+    public static final String BEFORE_PARAM = "before";
+    public static final String LIMIT_PARAM = "limit";
+    public static final String SINCE_PARAM = "since";
     
     // Default Board Settings
     public static final String DEFAULT_BOARD_NAME = "Test Board";
@@ -32,6 +53,88 @@ public class Config {
     public static final String DEFAULT_CARD_DESC = "Card created for API testing";
     public static final String UPDATED_CARD_DESC = "Updated card description";
     
+    // HTTP Transport Settings (can be overridden with -D system properties)
+    public static final int HTTP_MAX_CONNECTIONS = Integer.getInteger("trello.http.maxConnections", 64);
+    public static final int HTTP_MAX_CONNECTIONS_PER_ROUTE = Integer.getInteger("trello.http.maxConnectionsPerRoute", 32);
+    public static final int HTTP_CONNECT_TIMEOUT_MS = Integer.getInteger("trello.http.connectTimeoutMs", 10000);
+    public static final int HTTP_READ_TIMEOUT_MS = Integer.getInteger("trello.http.readTimeoutMs", 30000);
+    public static final long HTTP_KEEP_ALIVE_MS = Long.getLong("trello.http.keepAliveMs", 30000L);
+    public static final int HTTP_MAX_CONCURRENT_REQUESTS = Integer.getInteger("trello.http.maxConcurrentRequests", HTTP_MAX_CONNECTIONS);
+    
+    // Async Settings (can be overridden with -D system properties)
+    // Execution mode is "platform" (fixed thread pool) or "virtual" (one virtual thread per call, JDK 21+)
+    public static final String ASYNC_EXECUTION_MODE = System.getProperty("trello.async.mode", "platform");
+    public static final int ASYNC_THREADS = Integer.getInteger("trello.async.threads", 32);
+    public static final int ASYNC_MAX_IN_FLIGHT = Integer.getInteger("trello.async.maxInFlight", 32);
+    public static final int ASYNC_VIRTUAL_MAX_IN_FLIGHT = Integer.getInteger("trello.async.virtualMaxInFlight", 10000);
+    
+    // Retry Settings (can be overridden with -D system properties)
+    public static final int RETRY_MAX_ATTEMPTS = Integer.getInteger("trello.retry.maxAttempts", 3);
+    public static final long RETRY_BASE_DELAY_MS = Long.getLong("trello.retry.baseDelayMs", 200L);
+    public static final long RETRY_MAX_DELAY_MS = Long.getLong("trello.retry.maxDelayMs", 5000L);
+    // Retries that wait for a new board or list to become visible, Trello needs longer for that than for a transient error
+    public static final long RETRY_CONSISTENCY_DELAY_MS = Long.getLong("trello.retry.consistencyDelayMs", 800L);
+    public static final double RETRY_BUDGET_RATIO = Double.parseDouble(System.getProperty("trello.retry.budgetRatio", "0.2"));
+    public static final int RETRY_BUDGET_RESERVE = Integer.getInteger("trello.retry.budgetReserve", 20);
+    
+    // Rate Limit Settings (can be overridden with -D system properties)
+    // One limiter is shared per API key and token, Trello allows 100 requests per 10 seconds per token
+    // The mock server has no quota, so the default there is high enough not to get in the way of load tests
+    public static final double RATE_LIMIT_PER_SECOND = Double.parseDouble(System.getProperty("trello.rateLimit.perSecond",
+            USE_MOCK_SERVER ? "1000000" : "10"));
+    public static final int RATE_LIMIT_BURST = Integer.getInteger("trello.rateLimit.burst", 100);
+    
+    // JSON Settings (can be overridden with -D system properties)
+    // Blackbird replaces reflection with generated accessors, mostly worth it for large responses
+    public static final boolean JSON_BLACKBIRD = Boolean.getBoolean("trello.json.blackbird");
+    
+    // Response Log Settings (can be overridden with -D system properties)
+    // Mode is "all", "failures" (4xx/5xx only) or "off"; successful responses are only logged at DEBUG level
+    public static final String LOG_MODE = System.getProperty("trello.log.mode", "all");
+    public static final int LOG_MAX_BODY_BYTES = Integer.getInteger("trello.log.maxBodyBytes", 4096);
+    public static final int LOG_QUEUE_SIZE = Integer.getInteger("trello.log.queueSize", 10000);
+    
+    // Mock Server Settings (can be overridden with -D system properties)
+    // Every response is delayed by latencyMs plus up to latencyJitterMs, errorRate of them fail with errorStatus
+    public static final long MOCK_LATENCY_MS = Long.getLong("trello.mock.latencyMs", 0L);
+    public static final long MOCK_LATENCY_JITTER_MS = Long.getLong("trello.mock.latencyJitterMs", 0L);
+    public static final double MOCK_ERROR_RATE = Double.parseDouble(System.getProperty("trello.mock.errorRate", "0"));
+    public static final int MOCK_ERROR_STATUS = Integer.getInteger("trello.mock.errorStatus", 500);
+    
+    // Load Driver Settings (can be overridden with -D system properties)
+    // Model is "open" (lifecycles start at a fixed rate) or "closed" (a fixed number of users loop the lifecycle)
+    public static final String LOAD_MODEL = System.getProperty("trello.load.model", "open");
+    public static final double LOAD_RATE = Double.parseDouble(System.getProperty("trello.load.rate", "5"));
+    public static final int LOAD_USERS = Integer.getInteger("trello.load.users", 50);
+    public static final int LOAD_RAMP_UP_SECONDS = Integer.getInteger("trello.load.rampUpSeconds", 10);
+    public static final int LOAD_DURATION_SECONDS = Integer.getInteger("trello.load.durationSeconds", 60);
+    public static final long LOAD_PACING_MS = Long.getLong("trello.load.pacingMs", 0L);
+    
+    // Fixture Pool Settings (can be overridden with -D system properties)
+    // Boards created in the background and leased to tests, 0 creates a new board for every test instead
+    public static final int FIXTURE_POOL_SIZE = Integer.getInteger("trello.fixtures.poolSize", 4);
+    public static final long FIXTURE_LEASE_TIMEOUT_SECONDS = Long.getLong("trello.fixtures.leaseTimeoutSeconds", 60L);
+    
+    // Cleanup Settings (can be overridden with -D system properties)
+    // Orphans are boards with the default test name and description left behind by runs that crashed;
+    // only boards older than orphanAgeMinutes are swept, so runs in progress keep theirs. Against the real API the
+    // sweep is opt-in: it cannot tell a crashed run's boards from those of a run on another machine using the account
+    public static final int CLEANUP_BATCH_SIZE = Integer.getInteger("trello.cleanup.batchSize", 10);
+    public static final boolean CLEANUP_SWEEP_ORPHANS = Boolean.parseBoolean(System.getProperty("trello.cleanup.sweepOrphans",
+            String.valueOf(USE_MOCK_SERVER)));
+    public static final long CLEANUP_ORPHAN_AGE_MINUTES = Long.getLong("trello.cleanup.orphanAgeMinutes", 60L);
+    
+    // Response Cache Settings (can be overridden with -D system properties)
+    // Caches GET responses of boards, lists and cards; changes made through the page objects invalidate them,
+    // changes made elsewhere show up after ttlMs, when the cached copy is revalidated with its ETag
+    public static final boolean CACHE_ENABLED = Boolean.getBoolean("trello.cache.enabled");
+    public static final int CACHE_MAX_ENTRIES = Integer.getInteger("trello.cache.maxEntries", 1000);
+    public static final long CACHE_TTL_MS = Long.getLong("trello.cache.ttlMs", 5000L);
+    
+    // Single-Flight Settings (can be overridden with -D system properties)
+    // Concurrent getBoardLists/getCard calls for the same ID share one request and one result
+    public static final boolean SINGLE_FLIGHT_ENABLED = Boolean.parseBoolean(System.getProperty("trello.singleFlight.enabled", "true"));
+    
     // Response Status Codes
     public static final int OK_STATUS = 200;
     public static final int CREATED_STATUS = 201;
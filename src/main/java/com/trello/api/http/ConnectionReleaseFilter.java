@@ -0,0 +1,30 @@
+package com.trello.api.http;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Reads the response body into memory as soon as the response arrives
+ * RestAssured keeps an unread body as an open stream, which would keep the pooled connection leased
+ * until somebody reads it. Buffering it right away hands the connection back to the pool.
+ */
+public class ConnectionReleaseFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        response.asByteArray();
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        // Innermost filter, so every other filter already sees a buffered body
+        return LOWEST_PRECEDENCE;
+    }
+}
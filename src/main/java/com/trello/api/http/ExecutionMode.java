@@ -0,0 +1,32 @@
+package com.trello.api.http;
+
+/**
+ * Thread model used by a {@link RequestDispatcher}
+ */
+public enum ExecutionMode {
+
+    /**
+     * Calls run on a fixed pool of platform threads
+     */
+    PLATFORM_THREADS,
+
+    /**
+     * Every call runs on its own virtual thread (JDK 21 and newer)
+     */
+    VIRTUAL_THREADS;
+
+    /**
+     * Parses a mode name, accepting short forms such as "platform" and "virtual"
+     * @param value Mode name
+     * @return Matching execution mode
+     */
+    public static ExecutionMode fromString(String value) {
+        String normalized = value.trim().toUpperCase().replace('-', '_');
+        for (ExecutionMode mode : values()) {
+            if (mode.name().equals(normalized) || mode.name().startsWith(normalized + "_")) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown execution mode: " + value);
+    }
+}
@@ -0,0 +1,181 @@
+package com.trello.api.http;
+
+import com.trello.api.config.Config;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+
+import java.net.URI;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared HTTP transport for all page objects
+ * Keeps a bounded pool of keep-alive connections so consecutive calls reuse warm (already TLS handshaked) connections
+ * instead of RestAssured's default of one fresh client per request
+ */
+@SuppressWarnings("deprecation")
+public class HttpTransport {
+
+    private static volatile HttpTransport defaultTransport;
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final RestAssuredConfig restAssuredConfig;
+    private final ScheduledExecutorService evictor;
+    private final OutboundRequestLimiter requestLimiter;
+
+    /**
+     * Creates a transport with its own connection pool, allowing as many concurrent requests as connections
+     * @param maxConnections Maximum number of connections in the pool
+     * @param maxConnectionsPerRoute Default maximum number of connections per route (host)
+     * @param connectTimeoutMs Connect timeout in milliseconds
+     * @param readTimeoutMs Socket read timeout in milliseconds
+     * @param keepAliveMs How long an idle connection is kept when the server does not send a keep-alive timeout
+     */
+    public HttpTransport(int maxConnections, int maxConnectionsPerRoute, int connectTimeoutMs,
+                         int readTimeoutMs, long keepAliveMs) {
+        this(maxConnections, maxConnectionsPerRoute, connectTimeoutMs, readTimeoutMs, keepAliveMs, maxConnections);
+    }
+
+    /**
+     * Creates a transport with its own connection pool
+     * @param maxConnections Maximum number of connections in the pool
+     * @param maxConnectionsPerRoute Default maximum number of connections per route (host)
+     * @param connectTimeoutMs Connect timeout in milliseconds
+     * @param readTimeoutMs Socket read timeout in milliseconds
+     * @param keepAliveMs How long an idle connection is kept when the server does not send a keep-alive timeout
+     * @param maxConcurrentRequests Maximum number of requests on the wire at the same time
+     */
+    public HttpTransport(int maxConnections, int maxConnectionsPerRoute, int connectTimeoutMs,
+                         int readTimeoutMs, long keepAliveMs, int maxConcurrentRequests) {
+        requestLimiter = new OutboundRequestLimiter(maxConcurrentRequests);
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        HttpConnectionParams.setConnectionTimeout(httpClient.getParams(), connectTimeoutMs);
+        HttpConnectionParams.setSoTimeout(httpClient.getParams(), readTimeoutMs);
+        HttpConnectionParams.setStaleCheckingEnabled(httpClient.getParams(), true);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            HeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (it.hasNext()) {
+                HeaderElement element = it.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Long.parseLong(element.getValue()) * 1000L;
+                    } catch (NumberFormatException ignored) {
+                        // fall back to the configured keep-alive
+                    }
+                }
+            }
+            return keepAliveMs;
+        });
+
+        // RestAssured re-applies these params on every request, so they are set on the config as well
+        HttpClientConfig httpClientConfig = HttpClientConfig.httpClientConfig()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMs)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, readTimeoutMs)
+                .httpClientFactory(() -> httpClient)
+                .reuseHttpClientInstance();
+        restAssuredConfig = RestAssuredConfig.config().httpClient(httpClientConfig);
+
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "trello-http-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionPeriodMs = Math.max(1000L, keepAliveMs / 2);
+        evictor.scheduleAtFixedRate(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(keepAliveMs, TimeUnit.MILLISECONDS);
+        }, evictionPeriodMs, evictionPeriodMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the transport shared by all page objects that were not given one explicitly
+     * Pool size and timeouts come from the HTTP settings in {@link Config}
+     * @return Shared transport
+     */
+    public static HttpTransport getDefault() {
+        if (defaultTransport == null) {
+            synchronized (HttpTransport.class) {
+                if (defaultTransport == null) {
+                    defaultTransport = new HttpTransport(Config.HTTP_MAX_CONNECTIONS, Config.HTTP_MAX_CONNECTIONS_PER_ROUTE,
+                            Config.HTTP_CONNECT_TIMEOUT_MS, Config.HTTP_READ_TIMEOUT_MS, Config.HTTP_KEEP_ALIVE_MS,
+                            Config.HTTP_MAX_CONCURRENT_REQUESTS);
+                }
+            }
+        }
+        return defaultTransport;
+    }
+
+    /**
+     * Gets the RestAssured configuration that routes requests through this transport
+     * @return RestAssured configuration bound to the pooled client
+     */
+    public RestAssuredConfig getRestAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    /**
+     * Gets the limiter that bounds concurrent requests sent through this transport
+     * @return Outbound request limiter, also a RestAssured filter
+     */
+    public OutboundRequestLimiter getRequestLimiter() {
+        return requestLimiter;
+    }
+
+    /**
+     * Overrides the connection limit for a single host
+     * @param uri Any URI on the host, e.g. Config.BASE_URL
+     * @param maxConnections Maximum number of connections to that host
+     */
+    public void setMaxConnectionsPerRoute(String uri, int maxConnections) {
+        connectionManager.setMaxPerRoute(toRoute(uri), maxConnections);
+    }
+
+    /**
+     * Gets statistics for the whole pool
+     * @return Leased, available (idle), pending and max connection counts
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Gets statistics for a single host
+     * @param uri Any URI on the host
+     * @return Leased, available (idle), pending and max connection counts for that host
+     */
+    public PoolStats getPoolStats(String uri) {
+        return connectionManager.getStats(toRoute(uri));
+    }
+
+    /**
+     * Closes all pooled connections. The transport cannot be used afterwards.
+     */
+    public void shutdown() {
+        evictor.shutdownNow();
+        connectionManager.shutdown();
+    }
+
+    private static HttpRoute toRoute(String uri) {
+        // The port is kept as written because the route planner keys routes on the request URI as sent
+        URI parsed = URI.create(uri);
+        boolean secure = "https".equalsIgnoreCase(parsed.getScheme());
+        return new HttpRoute(new HttpHost(parsed.getHost(), parsed.getPort(), parsed.getScheme()), null, secure);
+    }
+}
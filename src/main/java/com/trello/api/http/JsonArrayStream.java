@@ -0,0 +1,73 @@
+package com.trello.api.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.trello.api.utils.JsonUtils;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a JSON array response element by element
+ * Only the element being read is held in memory, so arrays of any size are processed in constant memory.
+ * The response must come from a streaming template (see BasePage#streamingEndpointTemplate), a buffered
+ * response would already hold the whole body.
+ */
+public final class JsonArrayStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonArrayStream.class);
+
+    private JsonArrayStream() {
+    }
+
+    /**
+     * Opens a stream over the elements of a JSON array body
+     * The stream holds the HTTP connection until it is closed, use it in a try-with-resources block.
+     * @param response Response with an unread JSON array body
+     * @param type Element type
+     * @param <T> Element type
+     * @return Lazily parsed elements, closing the stream releases the connection
+     * @throws UncheckedIOException if the body cannot be read or is not a JSON array
+     */
+    public static <T> Stream<T> of(Response response, Class<T> type) {
+        InputStream body = response.asInputStream();
+        MappingIterator<T> iterator;
+        try {
+            JsonParser parser = JsonUtils.getMapper().createParser(body);
+            JsonToken first = parser.nextToken();
+            if (first != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IOException("Expected a JSON array but got " + first);
+            }
+            // Inside the array now, the iterator reads one element per next() and stops at its end
+            parser.clearCurrentToken();
+            iterator = JsonUtils.readerFor(type).readValues(parser);
+        } catch (IOException e) {
+            closeQuietly(body);
+            throw new UncheckedIOException(e);
+        }
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            closeQuietly(iterator);
+            closeQuietly(body);
+        });
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            LOGGER.warn("Could not close response stream: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.trello.api.http;
+
+/**
+ * Which responses a {@link ResponseLogger} writes
+ */
+public enum LogMode {
+
+    /**
+     * Every response: successes with body at DEBUG, failures with body at WARN
+     */
+    ALL,
+
+    /**
+     * Only responses with a 4xx or 5xx status, at WARN with body
+     */
+    FAILURES_ONLY,
+
+    /**
+     * Nothing is logged
+     */
+    OFF;
+
+    /**
+     * Parses a mode name, accepting short forms such as "all", "failures" and "off"
+     * @param value Mode name
+     * @return Matching log mode
+     */
+    public static LogMode fromString(String value) {
+        String normalized = value.trim().toUpperCase().replace('-', '_');
+        for (LogMode mode : values()) {
+            if (mode.name().equals(normalized) || mode.name().startsWith(normalized + "_")) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown log mode: " + value);
+    }
+}
@@ -0,0 +1,95 @@
+package com.trello.api.http;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of HTTP requests that are on the wire at the same time
+ * Needed once callers are no longer bounded by a thread pool, e.g. with one virtual thread per operation
+ * As a filter it covers buffered requests. A streaming request keeps its connection leased until its stream is
+ * closed, so it takes a slot with {@link #acquire()} and gives it back when the stream is closed instead.
+ */
+public class OutboundRequestLimiter implements OrderedFilter {
+
+    private final int maxConcurrentRequests;
+    private final Semaphore permits;
+
+    /**
+     * Creates a limiter
+     * @param maxConcurrentRequests Maximum number of requests sent at the same time
+     */
+    public OutboundRequestLimiter(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be at least 1 but was " + maxConcurrentRequests);
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        acquire();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Outside the attempt's MetricsFilter and ConnectionReleaseFilter, so the permit is held until the buffered body has been read
+        return LOWEST_PRECEDENCE - 2;
+    }
+
+    /**
+     * Waits for a free request slot
+     * @throws IllegalStateException if the thread is interrupted while waiting
+     */
+    public void acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free request slot", e);
+        }
+    }
+
+    /**
+     * Frees a request slot taken with {@link #acquire()}
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Gets the maximum number of requests sent at the same time
+     * @return Request limit
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Gets the number of requests currently on the wire
+     * @return Active requests
+     */
+    public int getActiveRequests() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    /**
+     * Gets the approximate number of threads waiting for a request slot
+     * @return Waiting requests
+     */
+    public int getWaitingRequests() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,219 @@
+package com.trello.api.http;
+
+import com.trello.api.config.Config;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side token bucket that keeps requests within the API quota
+ * One limiter exists per API key and token, so every page object and thread using the same credentials
+ * shares the quota. The bucket follows the server: it drains to what the rate-limit headers say is left,
+ * adopts the advertised quota if it is lower than the configured one and pauses for Retry-After on a 429.
+ */
+public class RateLimiter implements OrderedFilter {
+
+    // Trello reports its quota per token and per key, e.g. x-rate-limit-api-token-max: 100
+    private static final String[] QUOTA_HEADER_PREFIXES = {"x-rate-limit-api-token-", "x-rate-limit-api-key-"};
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final ConcurrentMap<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private final double configuredPermitsPerSecond;
+    private final int configuredBurst;
+    private final ThreadLocal<Long> lastWaitNanos = ThreadLocal.withInitial(() -> 0L);
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong throttledRequests = new AtomicLong();
+    private final AtomicLong rejectedByServer = new AtomicLong();
+
+    private double permitsPerSecond;
+    private double burst;
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    /**
+     * Creates a limiter
+     * @param permitsPerSecond Sustained requests per second
+     * @param burst Requests that may be sent back to back after an idle period
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+        this.configuredPermitsPerSecond = permitsPerSecond;
+        this.configuredBurst = burst;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets the limiter shared by everybody using the given credentials
+     * Rate and burst come from the rate limit settings in {@link Config}
+     * @param apiKey API key
+     * @param apiToken API token
+     * @return Shared limiter for these credentials
+     */
+    public static RateLimiter forCredentials(String apiKey, String apiToken) {
+        String id = apiKey + ":" + apiToken;
+        return LIMITERS.computeIfAbsent(id, key -> new RateLimiter(Config.RATE_LIMIT_PER_SECOND, Config.RATE_LIMIT_BURST));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        acquire();
+        Response response = ctx.next(requestSpec, responseSpec);
+        onResponse(response);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        // Outside OutboundRequestLimiter, so a throttled caller does not hold a request slot while it waits
+        return LOWEST_PRECEDENCE - 3;
+    }
+
+    /**
+     * Takes a permit, waiting until the bucket allows the request
+     * @return Time waited in milliseconds
+     * @throws IllegalStateException if the thread is interrupted while waiting
+     */
+    public long acquire() {
+        long waitNanos = reserve();
+        lastWaitNanos.set(waitNanos);
+        if (waitNanos > 0) {
+            throttledRequests.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the rate limiter", e);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    /**
+     * Adjusts the bucket to what the server reported
+     * @param response Response of a request sent with these credentials
+     */
+    public void onResponse(Response response) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            refill(now);
+            applyQuotaHeaders(response);
+            if (response.getStatusCode() == TOO_MANY_REQUESTS) {
+                rejectedByServer.incrementAndGet();
+                long retryAfterMs = RetryPolicy.retryAfterMillis(response);
+                long pauseNanos = TimeUnit.MILLISECONDS.toNanos(retryAfterMs > 0 ? retryAfterMs : 1000);
+                pausedUntilNanos = Math.max(pausedUntilNanos, now + pauseNanos);
+                tokens = Math.min(tokens, 0);
+            }
+        }
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        refill(now);
+        tokens -= 1;
+        long waitNanos = tokens >= 0 ? 0 : (long) (-tokens / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+        return Math.max(waitNanos, pausedUntilNanos - now);
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        tokens = Math.min(burst, tokens + elapsedSeconds * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+
+    private void applyQuotaHeaders(Response response) {
+        if (response.getHeaders() == null) {
+            return;
+        }
+        // The strictest of the configured, token and key quotas applies, whatever order the headers come in
+        double rate = configuredPermitsPerSecond;
+        double maxBurst = configuredBurst;
+        boolean advertised = false;
+        for (String prefix : QUOTA_HEADER_PREFIXES) {
+            Double max = parse(response.getHeaders().getValue(prefix + "max"));
+            Double intervalMs = parse(response.getHeaders().getValue(prefix + "interval-ms"));
+            Double remaining = parse(response.getHeaders().getValue(prefix + "remaining"));
+            if (max != null && intervalMs != null && max > 0 && intervalMs > 0) {
+                rate = Math.min(rate, max / (intervalMs / 1000.0));
+                maxBurst = Math.min(maxBurst, max);
+                advertised = true;
+            }
+            if (remaining != null) {
+                // Other clients may share the same key, trust the server's count if it is lower
+                tokens = Math.min(tokens, remaining);
+            }
+        }
+        if (advertised) {
+            permitsPerSecond = rate;
+            burst = maxBurst;
+        }
+    }
+
+    private static Double parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets how long the current thread waited for its last request
+     * @return Wait in milliseconds, 0 if it was not throttled
+     */
+    public long getLastWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastWaitNanos.get());
+    }
+
+    /**
+     * Gets how long all callers waited in total
+     * @return Total wait in milliseconds
+     */
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+    }
+
+    /**
+     * Gets the number of requests that had to wait
+     * @return Throttled requests
+     */
+    public long getThrottledRequests() {
+        return throttledRequests.get();
+    }
+
+    /**
+     * Gets the number of requests the server rejected with 429
+     * @return Requests rejected by the server
+     */
+    public long getRejectedByServer() {
+        return rejectedByServer.get();
+    }
+
+    /**
+     * Gets the rate currently applied, after adjusting to the server's quota
+     * @return Requests per second
+     */
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+}
@@ -0,0 +1,187 @@
+package com.trello.api.http;
+
+import com.trello.api.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking API calls on an executor with a bound on how many calls are in flight at once
+ * Calls over the limit wait in a queue without occupying a thread, so submitting never blocks the caller
+ */
+public class RequestDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestDispatcher.class);
+
+    private static volatile RequestDispatcher defaultDispatcher;
+
+    private final Executor executor;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<PendingCall<?>> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a dispatcher
+     * @param executor Executor the calls run on
+     * @param maxInFlight Maximum number of calls running at the same time
+     */
+    public RequestDispatcher(Executor executor, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1 but was " + maxInFlight);
+        }
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Creates a dispatcher on a fixed pool of daemon platform threads
+     * @param threads Number of threads
+     * @param maxInFlight Maximum number of calls running at the same time
+     * @return Platform thread dispatcher
+     */
+    public static RequestDispatcher platformThreads(int threads, int maxInFlight) {
+        AtomicInteger threadCount = new AtomicInteger();
+        Executor executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "trello-async-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new RequestDispatcher(executor, maxInFlight);
+    }
+
+    /**
+     * Creates a dispatcher that runs every call on its own virtual thread.
+     * The number of requests actually sent at once is still bounded by the transport's {@link OutboundRequestLimiter}.
+     * @param maxInFlight Maximum number of calls running at the same time
+     * @return Virtual thread dispatcher
+     * @throws UnsupportedOperationException if the running JVM has no virtual threads
+     */
+    public static RequestDispatcher virtualThreads(int maxInFlight) {
+        return new RequestDispatcher(VirtualThreads.newThreadPerTaskExecutor(), maxInFlight);
+    }
+
+    /**
+     * Gets the dispatcher shared by all page objects that were not given one explicitly
+     * Execution mode, thread count and in-flight limit come from the async settings in {@link Config}
+     * @return Shared dispatcher
+     */
+    public static RequestDispatcher getDefault() {
+        if (defaultDispatcher == null) {
+            synchronized (RequestDispatcher.class) {
+                if (defaultDispatcher == null) {
+                    defaultDispatcher = createDefault();
+                }
+            }
+        }
+        return defaultDispatcher;
+    }
+
+    private static RequestDispatcher createDefault() {
+        ExecutionMode mode = ExecutionMode.fromString(Config.ASYNC_EXECUTION_MODE);
+        if (mode == ExecutionMode.VIRTUAL_THREADS) {
+            if (VirtualThreads.isSupported()) {
+                return virtualThreads(Config.ASYNC_VIRTUAL_MAX_IN_FLIGHT);
+            }
+            LOGGER.warn("Virtual threads are not available on Java {}, falling back to platform threads",
+                    System.getProperty("java.version"));
+        }
+        return platformThreads(Config.ASYNC_THREADS, Config.ASYNC_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Submits a blocking call
+     * @param call The call to run
+     * @param <T> Result type
+     * @return Future completed with the result of the call, or exceptionally with what it threw
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        PendingCall<T> pendingCall = new PendingCall<>(call);
+        pending.add(pendingCall);
+        drain();
+        return pendingCall.future;
+    }
+
+    /**
+     * Gets the number of calls currently running
+     * @return Calls in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the number of calls waiting for a free slot
+     * @return Queued calls
+     */
+    public int getQueued() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the maximum number of calls running at the same time
+     * @return In-flight limit
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    private void drain() {
+        while (!pending.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                // A running call picks up the queue when it finishes
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            PendingCall<?> pendingCall = pending.poll();
+            if (pendingCall == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        pendingCall.run();
+                    } finally {
+                        inFlight.decrementAndGet();
+                        drain();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.decrementAndGet();
+                pendingCall.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class PendingCall<T> {
+        private final Supplier<T> call;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        PendingCall(Supplier<T> call) {
+            this.call = call;
+        }
+
+        void run() {
+            if (future.isDone()) {
+                // Cancelled while it was waiting in the queue
+                return;
+            }
+            try {
+                future.complete(call.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.trello.api.http;
+
+import com.trello.api.config.Config;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache for idempotent GET responses
+ * Entries are evicted least recently used first and go stale after a TTL. A stale entry with an ETag is
+ * revalidated with If-None-Match, a 304 keeps the cached body for another TTL.
+ * Every entry is tagged with the IDs it depends on (the board, the cards listed in it, ...), so a change made by
+ * this client invalidates exactly the entries that could show it. Changes made by other clients show up once the
+ * TTL has passed.
+ * Only buffered 200 responses are stored; callers deserialize them again on every hit, so cached data cannot be
+ * modified through the returned models.
+ */
+public class ResponseCache {
+
+    private static final String ETAG_HEADER = "ETag";
+    private static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    private static final int NOT_MODIFIED_STATUS = 304;
+
+    private static volatile ResponseCache defaultCache;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    // Access order, the eldest entry is the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Object, Set<String>> keysByTag = new LinkedHashMap<>();
+    // Counts invalidations, a response read before an invalidation of one of its tags may be stale and is not stored
+    private long epoch;
+    // Epoch of the latest invalidation of each tag, in that order, kept while an older request is in flight
+    private final LinkedHashMap<Object, Long> invalidatedAt = new LinkedHashMap<>();
+    private long clearedAt;
+    // Start epochs of the requests in flight and how many started at each
+    private final TreeMap<Long, Integer> inFlight = new TreeMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates a cache
+     * @param maxEntries Maximum number of responses kept, 0 disables the cache
+     * @param ttlMillis How long a response is served without asking the server
+     */
+    public ResponseCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Gets the cache shared by all page objects that were not given one explicitly
+     * It is disabled unless -Dtrello.cache.enabled=true, size and TTL come from {@link Config}
+     * @return Shared response cache
+     */
+    public static ResponseCache getDefault() {
+        if (defaultCache == null) {
+            synchronized (ResponseCache.class) {
+                if (defaultCache == null) {
+                    defaultCache = new ResponseCache(Config.CACHE_ENABLED ? Config.CACHE_MAX_ENTRIES : 0, Config.CACHE_TTL_MS);
+                }
+            }
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Checks whether responses are stored at all
+     * @return false when the cache was created with no entries
+     */
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Serves a GET from the cache, revalidates a stale copy or sends it and stores the response
+     * @param key Cache key, identifies the resource and representation, e.g. "board/{id}/lists"
+     * @param request Request ready to send
+     * @param send Sends the request, gets it with an If-None-Match header when a stale copy is revalidated
+     * @param tags Extracts the IDs a fresh 200 response depends on, tags are compared with equals, e.g. TrelloIds
+     * @return Cached or fresh response
+     */
+    public Response get(String key, RequestSpecification request, Function<RequestSpecification, Response> send,
+                        Function<Response, ? extends Collection<?>> tags) {
+        if (!isEnabled()) {
+            return send.apply(request);
+        }
+        Entry cached;
+        long startEpoch;
+        synchronized (this) {
+            cached = entries.get(key);
+            if (cached != null && System.nanoTime() - cached.expiresAtNanos < 0) {
+                hits.increment();
+                return cached.response;
+            }
+            startEpoch = epoch;
+            inFlight.merge(startEpoch, 1, Integer::sum);
+        }
+        try {
+            if (cached != null && cached.etag != null) {
+                Response response = send.apply(request.header(IF_NONE_MATCH_HEADER, cached.etag));
+                if (response.getStatusCode() == NOT_MODIFIED_STATUS) {
+                    revalidated.increment();
+                    store(key, new Entry(cached.response, cached.etag, System.nanoTime() + ttlNanos, cached.tags), cached,
+                            startEpoch);
+                    return cached.response;
+                }
+                return storeIfCacheable(key, response, tags, cached, startEpoch);
+            }
+            misses.increment();
+            return storeIfCacheable(key, send.apply(request), tags, cached, startEpoch);
+        } finally {
+            finished(startEpoch);
+        }
+    }
+
+    /**
+     * Drops every entry that depends on an ID, call it after creating, updating or deleting the resource
+     * @param tag ID of the changed board, list or card, of the same type the entries were tagged with
+     */
+    public void invalidate(Object tag) {
+        if (!isEnabled() || tag == null) {
+            return;
+        }
+        synchronized (this) {
+            epoch++;
+            if (!inFlight.isEmpty()) {
+                // Reinserted, so the map stays ordered by epoch
+                invalidatedAt.remove(tag);
+                invalidatedAt.put(tag, epoch);
+            }
+            Set<String> keys = keysByTag.remove(tag);
+            if (keys != null) {
+                for (String key : keys) {
+                    remove(key);
+                }
+                invalidations.add(keys.size());
+            }
+        }
+    }
+
+    /**
+     * Drops one entry, e.g. when a retry needs a fresh response
+     * @param key Cache key
+     */
+    public synchronized void evict(String key) {
+        remove(key);
+    }
+
+    /**
+     * Drops every entry, responses in flight are not stored either
+     */
+    public synchronized void clear() {
+        epoch++;
+        clearedAt = epoch;
+        entries.clear();
+        keysByTag.clear();
+    }
+
+    /**
+     * Gets the number of responses currently stored
+     * @return Entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of responses served from the cache without a request
+     * @return Hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of requests sent without a cached copy to revalidate
+     * @return Misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of stale responses the server confirmed with 304 Not Modified
+     * @return Revalidations
+     */
+    public long getRevalidated() {
+        return revalidated.sum();
+    }
+
+    /**
+     * Gets the number of entries dropped because an ID they depend on changed
+     * @return Invalidated entries
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    private Response storeIfCacheable(String key, Response response, Function<Response, ? extends Collection<?>> tags,
+                                      Entry previous, long startEpoch) {
+        if (response.getStatusCode() != Config.OK_STATUS) {
+            synchronized (this) {
+                if (entries.get(key) == previous) {
+                    remove(key);
+                }
+            }
+            return response;
+        }
+        Set<Object> entryTags = new HashSet<>(tags.apply(response));
+        store(key, new Entry(response, response.getHeader(ETAG_HEADER), System.nanoTime() + ttlNanos, entryTags), previous,
+                startEpoch);
+        return response;
+    }
+
+    /**
+     * Stores an entry unless one of its tags was invalidated, or the key replaced, while the request was in flight
+     * Invalidations of unrelated IDs do not matter, the response cannot show them.
+     */
+    private synchronized void store(String key, Entry entry, Entry previous, long startEpoch) {
+        if (invalidatedSince(startEpoch, entry.tags)) {
+            return;
+        }
+        Entry current = entries.get(key);
+        if (previous != null && current != previous) {
+            return;
+        }
+        if (previous == null && current != null) {
+            return;
+        }
+        remove(key);
+        entries.put(key, entry);
+        for (Object tag : entry.tags) {
+            keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+        }
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            eldest.remove();
+            untag(evicted.getKey(), evicted.getValue());
+        }
+    }
+
+    private boolean invalidatedSince(long startEpoch, Set<Object> tags) {
+        if (startEpoch < clearedAt) {
+            return true;
+        }
+        for (Object tag : tags) {
+            Long at = invalidatedAt.get(tag);
+            if (at != null && at > startEpoch) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets the invalidations no request in flight started before
+     */
+    private synchronized void finished(long startEpoch) {
+        inFlight.computeIfPresent(startEpoch, (start, count) -> count > 1 ? count - 1 : null);
+        long oldestStart = inFlight.isEmpty() ? Long.MAX_VALUE : inFlight.firstKey();
+        Iterator<Long> at = invalidatedAt.values().iterator();
+        while (at.hasNext() && at.next() <= oldestStart) {
+            at.remove();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            untag(key, removed);
+        }
+    }
+
+    private void untag(String key, Entry entry) {
+        for (Object tag : entry.tags) {
+            Set<String> keys = keysByTag.get(tag);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByTag.remove(tag);
+            }
+        }
+    }
+
+    private static class Entry {
+        final Response response;
+        final String etag;
+        final long expiresAtNanos;
+        final Set<Object> tags;
+
+        Entry(Response response, String etag, long expiresAtNanos, Set<Object> tags) {
+            this.response = response;
+            this.etag = etag;
+            this.expiresAtNanos = expiresAtNanos;
+            this.tags = tags;
+        }
+    }
+}
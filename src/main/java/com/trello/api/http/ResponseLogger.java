@@ -0,0 +1,205 @@
+package com.trello.api.http;
+
+import com.trello.api.config.Config;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs API responses through SLF4J without slowing down the calling threads
+ * Nothing is materialized unless the level it would be written at is enabled. Bodies are cut to a maximum size
+ * and only decoded on the writer thread, callers just hand over a reference to the buffered bytes.
+ * When the queue is full entries are dropped and counted instead of blocking the caller.
+ * Successful responses are logged at DEBUG, so load runs do not write a line per request unless asked to.
+ * A logger with a queue owns a writer thread, close it when it is no longer used; the shared one lives as long as
+ * the JVM.
+ */
+public class ResponseLogger implements AutoCloseable {
+
+    private static volatile ResponseLogger defaultLogger;
+
+    private final Logger logger;
+    private final LogMode mode;
+    private final int maxBodyBytes;
+    private final BlockingQueue<Entry> queue;
+    private final Thread writer;
+    private final Thread flushHook;
+    private volatile boolean closed;
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Creates a logger
+     * @param logger SLF4J logger the entries are written to
+     * @param mode Which responses are logged
+     * @param maxBodyBytes Bodies longer than this are truncated
+     * @param queueCapacity Entries waiting for the writer thread, 0 to write on the calling thread
+     */
+    public ResponseLogger(Logger logger, LogMode mode, int maxBodyBytes, int queueCapacity) {
+        this.logger = logger;
+        this.mode = mode;
+        this.maxBodyBytes = maxBodyBytes;
+        if (queueCapacity > 0 && mode != LogMode.OFF) {
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+            writer = new Thread(this::writeLoop, "trello-log-writer");
+            writer.setDaemon(true);
+            writer.start();
+            // Entries still queued when the JVM exits are written out rather than lost
+            flushHook = new Thread(this::drain, "trello-log-flush");
+            Runtime.getRuntime().addShutdownHook(flushHook);
+        } else {
+            queue = null;
+            writer = null;
+            flushHook = null;
+        }
+    }
+
+    /**
+     * Gets the logger shared by all page objects that were not given one explicitly
+     * Mode, body size and queue size come from the log settings in {@link Config}
+     * @return Shared response logger
+     */
+    public static ResponseLogger getDefault() {
+        if (defaultLogger == null) {
+            synchronized (ResponseLogger.class) {
+                if (defaultLogger == null) {
+                    defaultLogger = new ResponseLogger(LoggerFactory.getLogger("com.trello.api.responses"),
+                            LogMode.fromString(Config.LOG_MODE), Config.LOG_MAX_BODY_BYTES, Config.LOG_QUEUE_SIZE);
+                }
+            }
+        }
+        return defaultLogger;
+    }
+
+    /**
+     * Logs status and, if the level allows it, the body of a buffered response
+     * @param response The response
+     */
+    public void log(Response response) {
+        enqueue(response, true);
+    }
+
+    /**
+     * Logs only the status of a response whose body is still being streamed
+     * @param response The response
+     */
+    public void logStatus(Response response) {
+        enqueue(response, false);
+    }
+
+    /**
+     * Gets the number of entries dropped because the writer thread could not keep up
+     * @return Dropped entries
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops the writer thread and writes out the entries still queued
+     * Responses logged afterwards are written on the calling thread.
+     */
+    @Override
+    public void close() {
+        if (queue == null || closed) {
+            return;
+        }
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(flushHook);
+        } catch (IllegalStateException e) {
+            // The JVM is already shutting down, the hook drains the queue as well
+        }
+        drain();
+    }
+
+    private void enqueue(Response response, boolean withBody) {
+        if (mode == LogMode.OFF) {
+            return;
+        }
+        int status = response.getStatusCode();
+        boolean failure = status >= 400;
+        if (!failure && mode == LogMode.FAILURES_ONLY) {
+            return;
+        }
+        Level level = failure ? Level.WARN : Level.DEBUG;
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        byte[] body = withBody ? response.asByteArray() : null;
+        Entry entry = new Entry(level, status, body);
+        if (queue == null || closed) {
+            write(entry);
+        } else if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        } else if (closed) {
+            // Offered while the logger was closing, after its last drain
+            drain();
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                write(queue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            write(entry);
+        }
+        long droppedEntries = dropped.get();
+        if (droppedEntries > 0) {
+            logger.warn("{} response log entries were dropped because the log queue was full", droppedEntries);
+        }
+    }
+
+    private void write(Entry entry) {
+        if (entry.body == null) {
+            logger.atLevel(entry.level).log("Response Status: {}", entry.status);
+        } else {
+            logger.atLevel(entry.level).log("Response Status: {} Body: {}", entry.status, truncate(entry.body));
+        }
+    }
+
+    private String truncate(byte[] body) {
+        if (body.length <= maxBodyBytes) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        int cut = maxBodyBytes;
+        // Cut before a UTF-8 lead byte, a character split in two would be logged as replacement characters
+        while (cut > 0 && (body[cut] & 0xC0) == 0x80) {
+            cut--;
+        }
+        return new String(body, 0, cut, StandardCharsets.UTF_8)
+                + "... (" + (body.length - cut) + " more bytes)";
+    }
+
+    private static class Entry {
+        private final Level level;
+        private final int status;
+        private final byte[] body;
+
+        Entry(Level level, int status, byte[] body) {
+            this.level = level;
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
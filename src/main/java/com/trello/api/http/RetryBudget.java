@@ -0,0 +1,59 @@
+package com.trello.api.http;
+
+/**
+ * Caps retries of one operation to a fraction of its traffic
+ * Every first attempt earns {@code retryRatio} tokens, every retry spends one. When the target is down
+ * this stops retries from multiplying the load, while isolated failures can always use the reserve.
+ */
+public class RetryBudget {
+
+    private final double retryRatio;
+    private final double maxTokens;
+    private double tokens;
+    private long retriesGranted;
+    private long retriesDenied;
+
+    /**
+     * Creates a budget
+     * @param retryRatio Retries allowed per request on average, e.g. 0.2 for one retry per five requests
+     * @param reserve Retries available up front and the amount that can be saved up on top of the ratio
+     */
+    public RetryBudget(double retryRatio, int reserve) {
+        this.retryRatio = retryRatio;
+        this.maxTokens = reserve;
+        this.tokens = reserve;
+    }
+
+    /**
+     * Records a first attempt, earning retry tokens
+     */
+    public synchronized void recordRequest() {
+        tokens = Math.min(maxTokens, tokens + retryRatio);
+    }
+
+    /**
+     * Takes a token for a retry
+     * @return true if the retry may be sent
+     */
+    public synchronized boolean tryAcquireRetry() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            retriesGranted++;
+            return true;
+        }
+        retriesDenied++;
+        return false;
+    }
+
+    public synchronized double getAvailableTokens() {
+        return tokens;
+    }
+
+    public synchronized long getRetriesGranted() {
+        return retriesGranted;
+    }
+
+    public synchronized long getRetriesDenied() {
+        return retriesDenied;
+    }
+}
@@ -0,0 +1,171 @@
+package com.trello.api.http;
+
+import com.trello.api.config.Config;
+import io.restassured.response.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Runs calls according to a {@link RetryPolicy}, with a {@link RetryBudget} per operation name
+ * The blocking mode waits between attempts on the calling thread. The async mode schedules the next attempt
+ * on a timer instead, so no worker thread sleeps while a call is backing off.
+ */
+public class RetryExecutor {
+
+    private static volatile RetryExecutor defaultExecutor;
+
+    private final ScheduledExecutorService scheduler;
+    private final double retryRatio;
+    private final int budgetReserve;
+    private final ConcurrentMap<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a retry executor
+     * @param scheduler Timer used to schedule async retries
+     * @param retryRatio Retries allowed per request on average, per operation
+     * @param budgetReserve Retries every operation may use up front
+     */
+    public RetryExecutor(ScheduledExecutorService scheduler, double retryRatio, int budgetReserve) {
+        this.scheduler = scheduler;
+        this.retryRatio = retryRatio;
+        this.budgetReserve = budgetReserve;
+    }
+
+    /**
+     * Gets the retry executor shared by all page objects
+     * Budget settings come from the retry settings in {@link Config}
+     * @return Shared retry executor
+     */
+    public static RetryExecutor getDefault() {
+        if (defaultExecutor == null) {
+            synchronized (RetryExecutor.class) {
+                if (defaultExecutor == null) {
+                    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread thread = new Thread(r, "trello-retry-scheduler");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    defaultExecutor = new RetryExecutor(scheduler, Config.RETRY_BUDGET_RATIO, Config.RETRY_BUDGET_RESERVE);
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Gets the retry budget of an operation
+     * @param operation Operation name, e.g. "createCard"
+     * @return Budget shared by all calls of that operation
+     */
+    public RetryBudget getBudget(String operation) {
+        return budgets.computeIfAbsent(operation, name -> new RetryBudget(retryRatio, budgetReserve));
+    }
+
+    /**
+     * Runs a call, retrying on the calling thread
+     * @param operation Operation name the retry budget is kept for
+     * @param policy Retry policy
+     * @param call Sends one attempt, gets the attempt number starting at 1
+     * @return Response of the last attempt; callers still validate it
+     */
+    public Response execute(String operation, RetryPolicy policy, IntFunction<Response> call) {
+        RetryBudget budget = getBudget(operation);
+        budget.recordRequest();
+        for (int attempt = 1; ; attempt++) {
+            Response response;
+            try {
+                response = call.apply(attempt);
+            } catch (Exception e) {
+                if (!policy.shouldRetry(e) || !mayRetry(attempt, policy, budget)) {
+                    throw e;
+                }
+                if (!sleep(policy.delayMillis(attempt, null))) {
+                    throw e;
+                }
+                continue;
+            }
+            if (!policy.shouldRetry(response) || !mayRetry(attempt, policy, budget)) {
+                return response;
+            }
+            if (!sleep(policy.delayMillis(attempt, response))) {
+                return response;
+            }
+        }
+    }
+
+    /**
+     * Runs a call without blocking, scheduling retries on a timer
+     * @param operation Operation name the retry budget is kept for
+     * @param policy Retry policy
+     * @param call Starts one attempt, gets the attempt number starting at 1
+     * @return Future with the response of the last attempt
+     */
+    public CompletableFuture<Response> executeAsync(String operation, RetryPolicy policy,
+                                                    IntFunction<CompletableFuture<Response>> call) {
+        RetryBudget budget = getBudget(operation);
+        budget.recordRequest();
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        attemptAsync(1, policy, budget, call, result);
+        return result;
+    }
+
+    private void attemptAsync(int attempt, RetryPolicy policy, RetryBudget budget,
+                              IntFunction<CompletableFuture<Response>> call, CompletableFuture<Response> result) {
+        CompletableFuture<Response> future;
+        try {
+            future = call.apply(attempt);
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                if (policy.shouldRetry(cause) && mayRetry(attempt, policy, budget)) {
+                    scheduleRetry(attempt, policy.delayMillis(attempt, null), policy, budget, call, result);
+                } else {
+                    result.completeExceptionally(cause);
+                }
+            } else if (policy.shouldRetry(response) && mayRetry(attempt, policy, budget)) {
+                scheduleRetry(attempt, policy.delayMillis(attempt, response), policy, budget, call, result);
+            } else {
+                result.complete(response);
+            }
+        });
+    }
+
+    private void scheduleRetry(int attempt, long delayMs, RetryPolicy policy, RetryBudget budget,
+                               IntFunction<CompletableFuture<Response>> call, CompletableFuture<Response> result) {
+        scheduler.schedule(() -> attemptAsync(attempt + 1, policy, budget, call, result), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean mayRetry(int attempt, RetryPolicy policy, RetryBudget budget) {
+        return attempt < policy.getMaxAttempts() && budget.tryAcquireRetry();
+    }
+
+    private static boolean sleep(long delayMs) {
+        try {
+            Thread.sleep(delayMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while ((current instanceof CompletionException || current instanceof ExecutionException) && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,256 @@
+package com.trello.api.http;
+
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Describes when and how often a call is retried
+ * Responses are classified by status code, by status code plus body fragments (for Trello's transient 400s)
+ * or by a custom predicate, errors by exception type. Delays grow exponentially and are jittered.
+ * Instances are immutable and can be shared, create them with {@link #builder()}.
+ */
+public class RetryPolicy {
+
+    /**
+     * Status codes that usually go away on their own: rate limiting and temporary server errors
+     */
+    public static final Set<Integer> TRANSIENT_STATUS_CODES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList(429, 500, 502, 503, 504)));
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final double multiplier;
+    private final double jitter;
+    private final Set<Integer> retryableStatusCodes;
+    private final List<Class<? extends Throwable>> retryableErrors;
+    private final List<Predicate<Response>> retryableResponses;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelayMs = builder.baseDelayMs;
+        this.maxDelayMs = builder.maxDelayMs;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(builder.retryableStatusCodes));
+        this.retryableErrors = Collections.unmodifiableList(new ArrayList<>(builder.retryableErrors));
+        this.retryableResponses = Collections.unmodifiableList(new ArrayList<>(builder.retryableResponses));
+    }
+
+    /**
+     * Starts a new policy
+     * @return Builder with 3 attempts, 200 ms base delay doubling up to 5 s and 50% jitter
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Checks if a response should be retried
+     * @param response Response of the last attempt
+     * @return true if the response is classified as transient
+     */
+    public boolean shouldRetry(Response response) {
+        if (retryableStatusCodes.contains(response.getStatusCode())) {
+            return true;
+        }
+        for (Predicate<Response> predicate : retryableResponses) {
+            if (predicate.test(response)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if an error should be retried, looking through the cause chain
+     * @param error Error thrown by the last attempt
+     * @return true if the error or one of its causes is of a retryable type
+     */
+    public boolean shouldRetry(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            for (Class<? extends Throwable> type : retryableErrors) {
+                if (type.isInstance(current)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the delay before the next attempt
+     * @param attempt Number of the attempt that just failed, starting at 1
+     * @param response Response of that attempt, or null if it threw
+     * @return Delay in milliseconds, at least as long as a Retry-After header asks for
+     */
+    public long delayMillis(int attempt, Response response) {
+        double exponential = baseDelayMs * Math.pow(multiplier, attempt - 1);
+        long capped = (long) Math.min(maxDelayMs, exponential);
+        long jittered = capped - (long) (capped * jitter * ThreadLocalRandom.current().nextDouble());
+        long retryAfter = response == null ? 0 : retryAfterMillis(response);
+        return Math.max(jittered, retryAfter);
+    }
+
+    /**
+     * Reads the Retry-After header (delay in seconds) of a response
+     * @param response The response
+     * @return Requested delay in milliseconds, or 0 if the header is missing or not a number
+     */
+    public static long retryAfterMillis(Response response) {
+        Headers headers = response.getHeaders();
+        String value = headers == null ? null : headers.getValue("Retry-After");
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return (long) (Double.parseDouble(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Builder for {@link RetryPolicy}
+     */
+    public static class Builder {
+        private int maxAttempts = 3;
+        private long baseDelayMs = 200;
+        private long maxDelayMs = 5000;
+        private double multiplier = 2.0;
+        private double jitter = 0.5;
+        private final Set<Integer> retryableStatusCodes = new HashSet<>();
+        private final List<Class<? extends Throwable>> retryableErrors = new ArrayList<>();
+        private final List<Predicate<Response>> retryableResponses = new ArrayList<>();
+
+        /**
+         * @param maxAttempts Total number of attempts including the first one
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1 but was " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param baseDelayMs Delay before the first retry
+         * @param maxDelayMs Upper bound for the exponential delay
+         */
+        public Builder backoff(long baseDelayMs, long maxDelayMs) {
+            this.baseDelayMs = baseDelayMs;
+            this.maxDelayMs = maxDelayMs;
+            return this;
+        }
+
+        /**
+         * @param multiplier Factor the delay grows by with every attempt
+         */
+        public Builder multiplier(double multiplier) {
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * @param jitter Fraction (0..1) of the delay that is randomized, so concurrent callers do not retry in lockstep
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0 || jitter > 1) {
+                throw new IllegalArgumentException("jitter must be between 0 and 1 but was " + jitter);
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Retries rate limiting, temporary server errors and I/O errors such as timeouts or reset connections.
+         * Only use it for idempotent calls, a timed out request may already have been processed.
+         */
+        public Builder retryOnTransientErrors() {
+            retryableStatusCodes.addAll(TRANSIENT_STATUS_CODES);
+            retryableErrors.add(IOException.class);
+            return this;
+        }
+
+        /**
+         * Retries only failures where the server cannot have processed the request: rate limiting,
+         * service unavailable and connections that could not be opened. Safe for non-idempotent calls such as POST.
+         */
+        public Builder retryOnUnprocessedRequests() {
+            retryableStatusCodes.addAll(Arrays.asList(429, 503));
+            retryableErrors.add(ConnectException.class);
+            retryableErrors.add(ConnectTimeoutException.class);
+            return this;
+        }
+
+        /**
+         * @param statusCodes Status codes that are always retried
+         */
+        public Builder retryOnStatus(Integer... statusCodes) {
+            retryableStatusCodes.addAll(Arrays.asList(statusCodes));
+            return this;
+        }
+
+        /**
+         * Retries a status code only if the body contains one of the fragments (case-insensitive)
+         * @param statusCode Status code to match
+         * @param bodyFragments Body fragments that mark the response as transient
+         */
+        public Builder retryOnStatusWithBody(int statusCode, String... bodyFragments) {
+            List<String> fragments = new ArrayList<>();
+            for (String fragment : bodyFragments) {
+                fragments.add(fragment.toLowerCase(Locale.ROOT));
+            }
+            return retryIf(response -> {
+                if (response.getStatusCode() != statusCode) {
+                    return false;
+                }
+                String body = response.getBody() == null ? "" : response.getBody().asString().toLowerCase(Locale.ROOT);
+                for (String fragment : fragments) {
+                    if (body.contains(fragment)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+
+        /**
+         * @param predicate Custom check, e.g. for a successful response that is not ready yet
+         */
+        public Builder retryIf(Predicate<Response> predicate) {
+            retryableResponses.add(predicate);
+            return this;
+        }
+
+        /**
+         * @param errorType Exception type (including subclasses) that is retried
+         */
+        public Builder retryOnError(Class<? extends Throwable> errorType) {
+            retryableErrors.add(errorType);
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.trello.api.http;
+
+import com.trello.api.config.Config;
+import com.trello.api.models.TrelloId;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads into one call
+ * The first caller for an operation and ID runs the call, callers arriving while it is in flight wait for it and get
+ * the same result, or the same exception. Nothing is kept once the call completes, the next caller starts a new one.
+ * Coalesced callers share one result object; page objects coalesce the buffered response and let every caller
+ * deserialize its own models from it, so no caller can change what another one got.
+ */
+public class SingleFlight {
+
+    private static volatile SingleFlight defaultSingleFlight;
+
+    private final boolean enabled;
+    private final ConcurrentMap<Key, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Creates a single-flight group
+     * @param enabled false to run every call on its own
+     */
+    public SingleFlight(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the group shared by all page objects that were not given one explicitly
+     * It can be turned off with -Dtrello.singleFlight.enabled=false
+     * @return Shared single-flight group
+     */
+    public static SingleFlight getDefault() {
+        if (defaultSingleFlight == null) {
+            synchronized (SingleFlight.class) {
+                if (defaultSingleFlight == null) {
+                    defaultSingleFlight = new SingleFlight(Config.SINGLE_FLIGHT_ENABLED);
+                }
+            }
+        }
+        return defaultSingleFlight;
+    }
+
+    /**
+     * Runs a blocking read on the calling thread, or waits for the identical read already in flight
+     * @param scope Operation and target server, e.g. "https://api.trello.com/1 getCard"
+     * @param id ID of the resource read
+     * @param call The read
+     * @param <T> Result type
+     * @return Result of this call or of the one in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String id, Supplier<T> call) {
+        if (!enabled || id == null) {
+            return call.get();
+        }
+        Key key = new Key(scope, id);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            shared.increment();
+            return (T) await(inFlight);
+        }
+        calls.increment();
+        try {
+            T result = call.get();
+            flights.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a non-blocking read, or joins the identical read already in flight
+     * @param scope Operation and target server
+     * @param id ID of the resource read
+     * @param call Starts the read
+     * @param <T> Result type
+     * @return Future of this read or of the one in flight, every caller gets its own future
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(String scope, String id, Supplier<CompletableFuture<T>> call) {
+        if (!enabled || id == null) {
+            return call.get();
+        }
+        Key key = new Key(scope, id);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            shared.increment();
+            return inFlight.thenApply(result -> (T) result);
+        }
+        calls.increment();
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        started.whenComplete((result, error) -> {
+            flights.remove(key, flight);
+            if (error != null) {
+                flight.completeExceptionally(error);
+            } else {
+                flight.complete(result);
+            }
+        });
+        return flight.thenApply(result -> (T) result);
+    }
+
+    /**
+     * Detaches the reads of a resource that are in flight, so callers arriving after a change do not get a result
+     * read before it. Callers already waiting still get the old result.
+     * @param id ID of the changed resource
+     */
+    public void forget(String id) {
+        if (enabled && id != null && !flights.isEmpty()) {
+            flights.keySet().removeIf(key -> key.id.equals(id));
+        }
+    }
+
+    /**
+     * Detaches the reads of a resource that are in flight, see {@link #forget(String)}
+     * The ID is only turned into a string if there is a read in flight.
+     * @param id ID of the changed resource
+     */
+    public void forget(TrelloId id) {
+        if (enabled && id != null && !flights.isEmpty()) {
+            forget(id.toString());
+        }
+    }
+
+    /**
+     * Gets the number of calls that were actually run
+     * @return Calls
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Gets the number of callers that got the result of a call already in flight instead of running their own
+     * @return Coalesced callers
+     */
+    public long getShared() {
+        return shared.sum();
+    }
+
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Key {
+        final String scope;
+        final String id;
+
+        Key(String scope, String id) {
+            this.scope = scope;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return scope.equals(key.scope) && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, id);
+        }
+    }
+}
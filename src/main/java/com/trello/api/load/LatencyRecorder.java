@@ -0,0 +1,79 @@
+package com.trello.api.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects latencies and errors per operation from many threads
+ * Latencies are kept in HdrHistograms with microsecond resolution, so percentiles up to the maximum stay exact
+ * to 3 significant digits no matter how many values are recorded.
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> errors = new ConcurrentHashMap<>();
+
+    /**
+     * Records a latency
+     * @param operation Operation name
+     * @param nanos Latency in nanoseconds
+     */
+    public void recordLatency(String operation, long nanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.computeIfAbsent(operation, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.max(0, micros));
+    }
+
+    /**
+     * Records a failed operation
+     * @param operation Operation name
+     * @param error What the operation threw
+     */
+    public void recordError(String operation, Throwable error) {
+        recordError(operation, error.getClass().getSimpleName());
+    }
+
+    /**
+     * Records a failed operation
+     * @param operation Operation name
+     * @param errorType Short description of the failure, errors are counted per type
+     */
+    public void recordError(String operation, String errorType) {
+        errors.computeIfAbsent(operation, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(errorType, key -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * Copies the latencies recorded so far
+     * @return Histogram copy per operation, sorted by operation name
+     */
+    public Map<String, Histogram> latencySnapshot() {
+        Map<String, Histogram> snapshot = new TreeMap<>();
+        histograms.forEach((operation, histogram) -> snapshot.put(operation, histogram.copy()));
+        return snapshot;
+    }
+
+    /**
+     * Copies the error counts recorded so far
+     * @return Count per error type per operation, sorted by operation name
+     */
+    public Map<String, Map<String, Long>> errorSnapshot() {
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        errors.forEach((operation, byType) -> {
+            Map<String, Long> counts = new TreeMap<>();
+            byType.forEach((type, count) -> counts.put(type, count.sum()));
+            snapshot.put(operation, counts);
+        });
+        return snapshot;
+    }
+}
@@ -0,0 +1,140 @@
+package com.trello.api.load;
+
+import com.trello.api.config.Config;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.models.List;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import com.trello.api.utils.RandomUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The board and card lifecycle of TrelloApiTest as a repeatable load scenario:
+ * create board, get its lists, create two cards, update one, delete both cards, delete the board.
+ * Every step is timed separately, the whole lifecycle is timed from its planned start.
+ */
+public class LifecycleScenario {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LifecycleScenario.class);
+
+    /**
+     * Operation name under which whole lifecycles are recorded
+     */
+    public static final String LIFECYCLE = "lifecycle";
+
+    private final BoardPage boardPage;
+    private final CardPage cardPage;
+    private final AtomicLong boardCounter = new AtomicLong();
+
+    /**
+     * Creates the scenario
+     * @param boardPage Board page object, shared by all concurrent lifecycles
+     * @param cardPage Card page object, shared by all concurrent lifecycles
+     */
+    public LifecycleScenario(BoardPage boardPage, CardPage cardPage) {
+        this.boardPage = boardPage;
+        this.cardPage = cardPage;
+    }
+
+    /**
+     * Runs one lifecycle
+     * @param plannedStartNanos When the lifecycle should have started (System.nanoTime()). The first step and the
+     *                          lifecycle are timed from here, so time spent waiting for a free worker counts as latency.
+     * @param recorder Where latencies and errors go, null to run without recording (ramp-up)
+     * @return true if every step succeeded
+     */
+    public boolean run(long plannedStartNanos, LatencyRecorder recorder) {
+        Timer timer = new Timer(recorder, plannedStartNanos);
+        Board board = null;
+        try {
+            String boardName = Config.DEFAULT_BOARD_NAME + " (load " + boardCounter.incrementAndGet() + ")";
+            board = timer.step("createBoard", () -> boardPage.createBoard(boardName, Config.DEFAULT_BOARD_DESC));
+            String boardId = board.getId();
+            List list = timer.step("getBoardLists", () -> boardPage.getBoardLists(boardId)).get(0);
+
+            Card card1 = timer.step("createCard",
+                    () -> cardPage.createCard(Config.DEFAULT_CARD_NAME_1, Config.DEFAULT_CARD_DESC, list.getId()));
+            Card card2 = timer.step("createCard",
+                    () -> cardPage.createCard(Config.DEFAULT_CARD_NAME_2, Config.DEFAULT_CARD_DESC, list.getId()));
+
+            Card cardToUpdate = RandomUtils.getRandomElement(Arrays.asList(card1, card2));
+            timer.step("updateCardDescription",
+                    () -> cardPage.updateCardDescription(cardToUpdate.getId(), Config.UPDATED_CARD_DESC));
+
+            for (Card card : Arrays.asList(card1, card2)) {
+                timer.step("deleteCard", () -> cardPage.deleteCard(card.getId()));
+            }
+            timer.step("deleteBoard", () -> boardPage.deleteBoard(boardId));
+            board = null;
+            timer.finish(true);
+            return true;
+        } catch (RuntimeException | AssertionError e) {
+            timer.finish(false);
+            if (board != null) {
+                cleanUp(board.getId());
+            }
+            return false;
+        }
+    }
+
+    private void cleanUp(String boardId) {
+        try {
+            boardPage.deleteBoard(boardId);
+        } catch (RuntimeException | AssertionError e) {
+            LOGGER.warn("Could not delete load test board {}: {}", boardId, e.getMessage());
+        }
+    }
+
+    private static class Timer {
+        private final LatencyRecorder recorder;
+        private final long plannedStartNanos;
+        private long stepStartNanos;
+        private String currentOperation;
+
+        Timer(LatencyRecorder recorder, long plannedStartNanos) {
+            this.recorder = recorder;
+            this.plannedStartNanos = plannedStartNanos;
+            this.stepStartNanos = plannedStartNanos;
+        }
+
+        <T> T step(String operation, Supplier<T> call) {
+            currentOperation = operation;
+            try {
+                T result = call.get();
+                record(operation);
+                return result;
+            } catch (RuntimeException | AssertionError e) {
+                record(operation);
+                if (recorder != null) {
+                    recorder.recordError(operation, e);
+                }
+                throw e;
+            }
+        }
+
+        private void record(String operation) {
+            long now = System.nanoTime();
+            if (recorder != null) {
+                recorder.recordLatency(operation, now - stepStartNanos);
+            }
+            stepStartNanos = now;
+        }
+
+        void finish(boolean success) {
+            if (recorder == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            recorder.recordLatency(LIFECYCLE, now - plannedStartNanos);
+            if (!success) {
+                recorder.recordError(LIFECYCLE, "failed at " + currentOperation);
+            }
+        }
+    }
+}
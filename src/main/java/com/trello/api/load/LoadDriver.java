@@ -0,0 +1,174 @@
+package com.trello.api.load;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.config.Config;
+import com.trello.api.metrics.MetricsRegistry;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs many concurrent copies of the board and card lifecycle through the page objects
+ * In the open model lifecycles start on a fixed schedule and are timed from their planned start, so a server
+ * that slows down shows up as higher latency instead of as fewer requests (no coordinated omission).
+ * In the closed model a fixed number of users loop the lifecycle, with pacing the same timing rule applies.
+ */
+public class LoadDriver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final LifecycleScenario scenario;
+    private final LoadProfile profile;
+
+    /**
+     * Creates a driver
+     * @param scenario Scenario to run
+     * @param profile Load model, rate and phases
+     */
+    public LoadDriver(LifecycleScenario scenario, LoadProfile profile) {
+        this.scenario = scenario;
+        this.profile = profile;
+    }
+
+    /**
+     * Runs the load from the settings in {@link Config}, against the mock server with -Dtrello.target=mock
+     * @param args Not used
+     */
+    public static void main(String[] args) {
+        TrelloMockServer mockServer = null;
+        if (Config.USE_MOCK_SERVER) {
+            mockServer = TrelloMockServer.fromConfig().start();
+            ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        }
+        try {
+            if (!ApiCredentials.areCredentialsLoaded()) {
+                throw new IllegalStateException("API credentials are not loaded. Please check your api.properties file.");
+            }
+            LifecycleScenario scenario = new LifecycleScenario(new BoardPage(), new CardPage());
+            LoadProfile profile = LoadProfile.fromConfig();
+            System.out.println("Starting load: " + profile + " against " + Config.BASE_URL);
+            new LoadDriver(scenario, profile).run().printSummary(System.out);
+            MetricsRegistry.getDefault().snapshot().printSummary(System.out);
+        } finally {
+            if (mockServer != null) {
+                mockServer.stop();
+            }
+        }
+    }
+
+    /**
+     * Runs ramp-up and steady state and waits for the started lifecycles to finish
+     * @return Results of the steady-state phase
+     */
+    public LoadReport run() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        AtomicLong rampUpLifecycles = new AtomicLong();
+        long startNanos = System.nanoTime();
+        long steadyStartNanos = startNanos + profile.getRampUp().toNanos();
+        long endNanos = steadyStartNanos + profile.getSteadyState().toNanos();
+
+        if (profile.getModel() == LoadModel.OPEN) {
+            runOpen(recorder, rampUpLifecycles, startNanos, steadyStartNanos, endNanos);
+        } else {
+            runClosed(recorder, rampUpLifecycles, startNanos, steadyStartNanos, endNanos);
+        }
+
+        double steadyStateSeconds = (Math.max(System.nanoTime(), endNanos) - steadyStartNanos) / 1e9;
+        return new LoadReport(profile, recorder.latencySnapshot(), recorder.errorSnapshot(),
+                rampUpLifecycles.get(), steadyStateSeconds);
+    }
+
+    private void runOpen(LatencyRecorder recorder, AtomicLong rampUpLifecycles,
+                         long startNanos, long steadyStartNanos, long endNanos) {
+        // Arrivals beyond the worker count wait in the pool's queue, and that wait is part of their latency
+        ExecutorService workers = newWorkerPool(profile.getUsers());
+        try {
+            for (long k = 0; ; k++) {
+                long plannedStart = startNanos + profile.arrivalOffsetNanos(k);
+                if (plannedStart >= endNanos) {
+                    break;
+                }
+                parkUntil(plannedStart);
+                boolean steady = plannedStart >= steadyStartNanos;
+                if (!steady) {
+                    rampUpLifecycles.incrementAndGet();
+                }
+                workers.execute(() -> scenario.run(plannedStart, steady ? recorder : null));
+            }
+        } finally {
+            awaitCompletion(workers);
+        }
+    }
+
+    private void runClosed(LatencyRecorder recorder, AtomicLong rampUpLifecycles,
+                           long startNanos, long steadyStartNanos, long endNanos) {
+        int users = profile.getUsers();
+        long pacingNanos = profile.getPacing().toNanos();
+        ExecutorService workers = newWorkerPool(users);
+        try {
+            for (int user = 0; user < users; user++) {
+                // Users join one after the other over the ramp-up
+                long userStart = startNanos + profile.getRampUp().toNanos() * user / users;
+                workers.execute(() -> {
+                    long plannedStart = userStart;
+                    parkUntil(plannedStart);
+                    while (plannedStart < endNanos) {
+                        boolean steady = plannedStart >= steadyStartNanos;
+                        if (!steady) {
+                            rampUpLifecycles.incrementAndGet();
+                        }
+                        scenario.run(plannedStart, steady ? recorder : null);
+                        if (pacingNanos > 0) {
+                            // Keeps the schedule even when a lifecycle overruns, the delay shows up as latency
+                            plannedStart += pacingNanos;
+                            parkUntil(plannedStart);
+                        } else {
+                            plannedStart = System.nanoTime();
+                        }
+                    }
+                });
+            }
+        } finally {
+            awaitCompletion(workers);
+        }
+    }
+
+    private static ExecutorService newWorkerPool(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "trello-load-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static void awaitCompletion(ExecutorService workers) {
+        workers.shutdown();
+        try {
+            // Lifecycles already started are allowed to finish, only a hung server keeps us here this long
+            if (!workers.awaitTermination(10, TimeUnit.MINUTES)) {
+                int abandoned = workers.shutdownNow().size();
+                LOGGER.warn("Load driver gave up waiting, {} lifecycles never started", abandoned);
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
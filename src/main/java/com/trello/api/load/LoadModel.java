@@ -0,0 +1,32 @@
+package com.trello.api.load;
+
+/**
+ * How the {@link LoadDriver} decides when a lifecycle starts
+ */
+public enum LoadModel {
+
+    /**
+     * Lifecycles arrive at a fixed rate whether or not earlier ones have finished, like real independent clients
+     */
+    OPEN,
+
+    /**
+     * A fixed number of users each run one lifecycle after the other, optionally paced to a fixed interval
+     */
+    CLOSED;
+
+    /**
+     * Parses a model name such as "open" or "closed"
+     * @param value Model name
+     * @return Matching load model
+     */
+    public static LoadModel fromString(String value) {
+        String normalized = value.trim().toUpperCase();
+        for (LoadModel model : values()) {
+            if (model.name().equals(normalized)) {
+                return model;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load model: " + value);
+    }
+}
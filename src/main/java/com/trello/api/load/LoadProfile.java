@@ -0,0 +1,173 @@
+package com.trello.api.load;
+
+import com.trello.api.config.Config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes a load run: the model, its rate or number of users and the ramp-up and steady-state phases
+ * Instances are immutable, create them with {@link #builder()} or {@link #fromConfig()}.
+ */
+public class LoadProfile {
+
+    private final LoadModel model;
+    private final double rate;
+    private final int users;
+    private final Duration rampUp;
+    private final Duration steadyState;
+    private final Duration pacing;
+
+    private LoadProfile(Builder builder) {
+        this.model = builder.model;
+        this.rate = builder.rate;
+        this.users = builder.users;
+        this.rampUp = builder.rampUp;
+        this.steadyState = builder.steadyState;
+        this.pacing = builder.pacing;
+    }
+
+    /**
+     * Starts a new profile
+     * @return Builder for an open model at 5 lifecycles per second, 10 s ramp-up and 60 s steady state
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a profile from the load settings in {@link Config}
+     * @return Configured profile
+     */
+    public static LoadProfile fromConfig() {
+        return builder()
+                .model(LoadModel.fromString(Config.LOAD_MODEL))
+                .rate(Config.LOAD_RATE)
+                .users(Config.LOAD_USERS)
+                .rampUp(Duration.ofSeconds(Config.LOAD_RAMP_UP_SECONDS))
+                .steadyState(Duration.ofSeconds(Config.LOAD_DURATION_SECONDS))
+                .pacing(Duration.ofMillis(Config.LOAD_PACING_MS))
+                .build();
+    }
+
+    public LoadModel getModel() {
+        return model;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getSteadyState() {
+        return steadyState;
+    }
+
+    public Duration getPacing() {
+        return pacing;
+    }
+
+    /**
+     * Computes when the k-th lifecycle of the open model is due.
+     * The rate rises linearly from 0 to the target during ramp-up and stays there afterwards.
+     * @param k Number of the arrival, starting at 0
+     * @return Offset from the start of the run in nanoseconds
+     */
+    public long arrivalOffsetNanos(long k) {
+        double rampSeconds = rampUp.toNanos() / 1e9;
+        double rampArrivals = rate * rampSeconds / 2;
+        double seconds;
+        if (k < rampArrivals) {
+            // Arrivals up to time t during the ramp: rate * t^2 / (2 * ramp)
+            seconds = Math.sqrt(2 * rampSeconds * k / rate);
+        } else {
+            seconds = rampSeconds + (k - rampArrivals) / rate;
+        }
+        return (long) (seconds * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public String toString() {
+        String load = model == LoadModel.OPEN
+                ? rate + " lifecycles/s (max " + users + " concurrent)"
+                : users + " users" + (pacing.isZero() ? "" : ", one lifecycle every " + pacing.toMillis() + " ms");
+        return model + " model, " + load + ", ramp-up " + rampUp.getSeconds() + " s, steady state "
+                + steadyState.getSeconds() + " s";
+    }
+
+    /**
+     * Builder for {@link LoadProfile}
+     */
+    public static class Builder {
+        private LoadModel model = LoadModel.OPEN;
+        private double rate = 5;
+        private int users = 50;
+        private Duration rampUp = Duration.ofSeconds(10);
+        private Duration steadyState = Duration.ofSeconds(60);
+        private Duration pacing = Duration.ZERO;
+
+        public Builder model(LoadModel model) {
+            this.model = model;
+            return this;
+        }
+
+        /**
+         * @param rate Lifecycles started per second in the open model
+         */
+        public Builder rate(double rate) {
+            if (rate <= 0) {
+                throw new IllegalArgumentException("rate must be positive but was " + rate);
+            }
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * @param users Users looping the lifecycle in the closed model, maximum concurrent lifecycles in the open model
+         */
+        public Builder users(int users) {
+            if (users < 1) {
+                throw new IllegalArgumentException("users must be at least 1 but was " + users);
+            }
+            this.users = users;
+            return this;
+        }
+
+        /**
+         * @param rampUp Time over which the rate (open) or the number of users (closed) grows to its target.
+         *               Lifecycles started during ramp-up are not part of the results.
+         */
+        public Builder rampUp(Duration rampUp) {
+            this.rampUp = rampUp;
+            return this;
+        }
+
+        /**
+         * @param steadyState Time the full load is held after ramp-up
+         */
+        public Builder steadyState(Duration steadyState) {
+            this.steadyState = steadyState;
+            return this;
+        }
+
+        /**
+         * @param pacing Interval at which every closed-model user starts a lifecycle, zero to start the next one right away.
+         *               With pacing, latency is measured from the planned start, so a slow server cannot hide its delays.
+         */
+        public Builder pacing(Duration pacing) {
+            this.pacing = pacing;
+            return this;
+        }
+
+        public LoadProfile build() {
+            return new LoadProfile(this);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.trello.api.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Results of a load run: latency percentiles, throughput and errors per operation for the steady-state phase
+ */
+public class LoadReport {
+
+    private final LoadProfile profile;
+    private final Map<String, Histogram> latencies;
+    private final Map<String, Map<String, Long>> errors;
+    private final long rampUpLifecycles;
+    private final double steadyStateSeconds;
+
+    /**
+     * Creates a report
+     * @param profile Profile the run used
+     * @param latencies Latency histogram per operation, in microseconds
+     * @param errors Error count per type per operation
+     * @param rampUpLifecycles Lifecycles run during ramp-up, which are not part of the results
+     * @param steadyStateSeconds Measured length of the steady-state phase
+     */
+    public LoadReport(LoadProfile profile, Map<String, Histogram> latencies, Map<String, Map<String, Long>> errors,
+                      long rampUpLifecycles, double steadyStateSeconds) {
+        this.profile = profile;
+        this.latencies = Collections.unmodifiableMap(latencies);
+        this.errors = Collections.unmodifiableMap(errors);
+        this.rampUpLifecycles = rampUpLifecycles;
+        this.steadyStateSeconds = steadyStateSeconds;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Gets the latency histograms
+     * @return Histogram per operation, values in microseconds
+     */
+    public Map<String, Histogram> getLatencies() {
+        return latencies;
+    }
+
+    public Map<String, Map<String, Long>> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the number of completed steady-state lifecycles, successful or not
+     * @return Lifecycles
+     */
+    public long getLifecycles() {
+        Histogram lifecycle = latencies.get(LifecycleScenario.LIFECYCLE);
+        return lifecycle == null ? 0 : lifecycle.getTotalCount();
+    }
+
+    /**
+     * Gets the number of failures of an operation
+     * @param operation Operation name
+     * @return Failures over all error types
+     */
+    public long getErrorCount(String operation) {
+        Map<String, Long> byType = errors.get(operation);
+        return byType == null ? 0 : byType.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Prints a summary table, latencies in milliseconds
+     * @param out Where to print, e.g. System.out
+     */
+    public void printSummary(PrintStream out) {
+        out.println("=== Load Test Summary ===");
+        out.println(profile);
+        out.printf("Steady state: %.1f s, %d lifecycles (%d more during ramp-up)%n",
+                steadyStateSeconds, getLifecycles(), rampUpLifecycles);
+        out.printf("%-22s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "per sec", "p50", "p90", "p99", "p99.9", "max");
+        latencies.forEach((operation, histogram) -> out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, histogram.getTotalCount(), getErrorCount(operation),
+                histogram.getTotalCount() / steadyStateSeconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+        errors.forEach((operation, byType) -> byType.forEach((type, count) ->
+                out.println("  " + operation + ": " + count + " x " + type)));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.trello.api.metrics;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records how long one request waited for the rate and concurrency limiters
+ * A request that is not sent as an attempt of an operation timed by {@link MetricsRegistry} is an operation
+ * of its own, so this filter also records its operation latency, the time the caller waited for it.
+ */
+class LimiterWaitFilter implements OrderedFilter {
+
+    private final OperationMetrics metrics;
+    private final MetricsFilter attempt;
+    private final MetricsRegistry registry;
+
+    LimiterWaitFilter(OperationMetrics metrics, MetricsFilter attempt, MetricsRegistry registry) {
+        this.metrics = metrics;
+        this.attempt = attempt;
+        this.registry = registry;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        boolean ownOperation = !registry.isInsideOperation();
+        long start = System.nanoTime();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            long sentAt = attempt.getSentAt();
+            if (sentAt != 0) {
+                metrics.recordLimiterWait(sentAt - start);
+            }
+            if (ownOperation) {
+                metrics.recordOperation(System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Outermost of the client's filters, around RateLimiter and OutboundRequestLimiter
+        return LOWEST_PRECEDENCE - 4;
+    }
+}
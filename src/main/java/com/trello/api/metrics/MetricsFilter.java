@@ -0,0 +1,93 @@
+package com.trello.api.metrics;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Times one request attempt and records its traffic and outcome
+ * Runs inside the rate and concurrency limiters, so the latency is the time on the wire; the time spent
+ * waiting for the limiters is recorded by {@link LimiterWaitFilter}.
+ */
+class MetricsFilter implements OrderedFilter {
+
+    private final OperationMetrics metrics;
+    private final boolean bufferedBody;
+    private long sentAt;
+
+    MetricsFilter(OperationMetrics metrics, boolean bufferedBody) {
+        this.metrics = metrics;
+        this.bufferedBody = bufferedBody;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        sentAt = start;
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Throwable e) {
+            // RestAssured also throws checked I/O exceptions undeclared, they are rethrown unchanged
+            metrics.recordRequest(System.nanoTime() - start, bytesOut(requestSpec), 0);
+            metrics.recordError(rootCause(e).getClass().getSimpleName());
+            throw e;
+        }
+        metrics.recordRequest(System.nanoTime() - start, bytesOut(requestSpec), bytesIn(response));
+        if (response.getStatusCode() >= 400) {
+            metrics.recordError("HTTP " + response.getStatusCode());
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        // Inside RateLimiter and OutboundRequestLimiter, just outside ConnectionReleaseFilter so reading the body is timed
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    /**
+     * Gets when the request left the limiters
+     * @return System.nanoTime() of the send, 0 if the request did not get that far
+     */
+    long getSentAt() {
+        return sentAt;
+    }
+
+    private long bytesIn(Response response) {
+        if (bufferedBody) {
+            return response.asByteArray().length;
+        }
+        String contentLength = response.getHeader("Content-Length");
+        try {
+            return contentLength == null ? 0 : Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long bytesOut(FilterableRequestSpecification requestSpec) {
+        long bytes = requestSpec.getURI().length();
+        Object body = requestSpec.getBody();
+        if (body instanceof byte[]) {
+            bytes += ((byte[]) body).length;
+        } else if (body != null) {
+            bytes += body.toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return bytes;
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable current = error;
+        while (current.getCause() != null && current.getCause() != current) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,166 @@
+package com.trello.api.metrics;
+
+import io.restassured.filter.Filter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collects latency, retry, traffic and error statistics per API operation
+ * Page objects record every request attempt through the filters of {@link #filtersFor(String, boolean)}, and
+ * every call that may send several requests, or none, through {@link #recordOperation(String, Supplier)}.
+ * The numbers can be read at any time with {@link #snapshot()} without stopping the recording threads.
+ */
+public class MetricsRegistry {
+
+    private static volatile MetricsRegistry defaultRegistry;
+
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> insideOperation = new ThreadLocal<>();
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * Gets the registry shared by all page objects that were not given one explicitly
+     * @return Shared registry
+     */
+    public static MetricsRegistry getDefault() {
+        if (defaultRegistry == null) {
+            synchronized (MetricsRegistry.class) {
+                if (defaultRegistry == null) {
+                    defaultRegistry = new MetricsRegistry();
+                }
+            }
+        }
+        return defaultRegistry;
+    }
+
+    /**
+     * Creates the filters that record the requests of one operation: one outside the rate and concurrency
+     * limiters that times the wait for them, one inside that times the attempt on the wire
+     * @param operation Operation name, e.g. "createCard"
+     * @param bufferedBody true if the response body is read before the filter sees it, false for streamed bodies
+     *                     whose size is only known from Content-Length
+     * @return Request filters for a single call
+     */
+    public List<Filter> filtersFor(String operation, boolean bufferedBody) {
+        OperationMetrics metrics = metrics(operation);
+        MetricsFilter attempt = new MetricsFilter(metrics, bufferedBody);
+        return Arrays.asList(new LimiterWaitFilter(metrics, attempt, this), attempt);
+    }
+
+    /**
+     * Times one call of an operation, e.g. all attempts of a retried request or a read answered from the cache.
+     * Requests sent during the call only count as attempts; a call made inside another timed call is part of it
+     * and not recorded again.
+     * @param operation Operation name
+     * @param call The call
+     * @param <T> Result type
+     * @return Result of the call
+     */
+    public <T> T recordOperation(String operation, Supplier<T> call) {
+        if (isInsideOperation()) {
+            return call.get();
+        }
+        long start = System.nanoTime();
+        insideOperation.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            insideOperation.remove();
+            metrics(operation).recordOperation(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Times one call of an operation until its future completes, see {@link #recordOperation(String, Supplier)}.
+     * The attempts that run on other threads mark themselves with {@link #withinOperation(Supplier)}.
+     * @param operation Operation name
+     * @param call Starts the call
+     * @param <T> Result type
+     * @return Future of the call
+     */
+    public <T> CompletableFuture<T> recordOperationAsync(String operation, Supplier<CompletableFuture<T>> call) {
+        if (isInsideOperation()) {
+            return call.get();
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> future = withinOperation(call);
+        future.whenComplete((result, error) -> metrics(operation).recordOperation(System.nanoTime() - start));
+        return future;
+    }
+
+    /**
+     * Runs an attempt of an operation that is timed elsewhere, so its requests only count as attempts
+     * @param attempt The attempt
+     * @param <T> Result type
+     * @return Result of the attempt
+     */
+    public <T> T withinOperation(Supplier<T> attempt) {
+        if (isInsideOperation()) {
+            return attempt.get();
+        }
+        insideOperation.set(Boolean.TRUE);
+        try {
+            return attempt.get();
+        } finally {
+            insideOperation.remove();
+        }
+    }
+
+    boolean isInsideOperation() {
+        return insideOperation.get() != null;
+    }
+
+    /**
+     * Records a call of an operation that was answered from the response cache without a request
+     * @param operation Operation name
+     */
+    public void recordCacheHit(String operation) {
+        metrics(operation).recordCacheHit();
+    }
+
+    /**
+     * Records a retry of an operation
+     * @param operation Operation name
+     */
+    public void recordRetry(String operation) {
+        metrics(operation).recordRetry();
+    }
+
+    /**
+     * Records a failure that did not come from a request, e.g. a response that could not be mapped
+     * @param operation Operation name
+     * @param errorClass Error class, e.g. an exception name
+     */
+    public void recordError(String operation, String errorClass) {
+        metrics(operation).recordError(errorClass);
+    }
+
+    /**
+     * Copies the statistics recorded so far
+     * @return Snapshot of all operations
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, OperationStats> stats = new TreeMap<>();
+        operations.forEach((operation, metrics) -> stats.put(operation, metrics.snapshot(operation)));
+        return new MetricsSnapshot(stats, (System.nanoTime() - startNanos) / 1e9);
+    }
+
+    /**
+     * Drops everything recorded so far, e.g. after a warm-up
+     */
+    public void reset() {
+        operations.clear();
+        startNanos = System.nanoTime();
+    }
+
+    private OperationMetrics metrics(String operation) {
+        return operations.computeIfAbsent(operation, key -> new OperationMetrics());
+    }
+}
@@ -0,0 +1,67 @@
+package com.trello.api.metrics;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Point-in-time statistics of all operations recorded by a {@link MetricsRegistry}
+ */
+public class MetricsSnapshot {
+
+    private final Map<String, OperationStats> operations;
+    private final double elapsedSeconds;
+
+    MetricsSnapshot(Map<String, OperationStats> operations, double elapsedSeconds) {
+        this.operations = Collections.unmodifiableMap(operations);
+        this.elapsedSeconds = elapsedSeconds;
+    }
+
+    /**
+     * Gets the statistics per operation
+     * @return Statistics keyed and sorted by operation name
+     */
+    public Map<String, OperationStats> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Gets the statistics of one operation
+     * @param operation Operation name, e.g. "createCard"
+     * @return Statistics, or null if the operation was not called
+     */
+    public OperationStats get(String operation) {
+        return operations.get(operation);
+    }
+
+    /**
+     * Gets the time since the registry was created or reset
+     * @return Elapsed seconds, used for the per second rates
+     */
+    public double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    /**
+     * Prints a summary table, latencies in milliseconds
+     * The call columns are per operation call from the caller's view, the request columns per attempt on the wire;
+     * "wait p99" is the time requests waited for the rate and concurrency limiters.
+     * @param out Where to print, e.g. System.out
+     */
+    public void printSummary(PrintStream out) {
+        out.println("=== API Metrics (" + String.format("%.1f", elapsedSeconds) + " s) ===");
+        out.printf("%-22s %7s %7s %8s %8s %8s %7s %7s %8s %8s %8s %8s %8s %8s %10s %10s%n", "operation", "calls",
+                "cached", "call p50", "call p99", "requests", "retries", "errors", "per sec", "p50", "p99", "p99.9",
+                "max", "wait p99", "bytes in", "bytes out");
+        operations.forEach((operation, stats) -> out.printf(
+                "%-22s %7d %7d %8.2f %8.2f %8d %7d %7d %8.1f %8.2f %8.2f %8.2f %8.2f %8.2f %10d %10d%n",
+                operation, stats.getOperations(), stats.getCacheHits(),
+                stats.getOperationLatencyMillis(50), stats.getOperationLatencyMillis(99),
+                stats.getRequests(), stats.getRetries(), stats.getErrorCount(),
+                elapsedSeconds > 0 ? stats.getRequests() / elapsedSeconds : 0,
+                stats.getLatencyMillis(50), stats.getLatencyMillis(99), stats.getLatencyMillis(99.9),
+                stats.getMaxLatencyMillis(), stats.getLimiterWaitMillis(99), stats.getBytesIn(), stats.getBytesOut()));
+        operations.forEach((operation, stats) -> stats.getErrors().forEach((errorClass, count) ->
+                out.println("  " + operation + ": " + count + " x " + errorClass)));
+    }
+}
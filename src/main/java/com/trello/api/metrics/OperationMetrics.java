@@ -0,0 +1,65 @@
+package com.trello.api.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters of one operation, updated concurrently by every call and request of that operation
+ */
+class OperationMetrics {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram operationLatency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram limiterWait = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void recordRequest(long nanos, long bytesSent, long bytesReceived) {
+        latency.recordValue(micros(nanos));
+        bytesOut.add(bytesSent);
+        bytesIn.add(bytesReceived);
+    }
+
+    void recordOperation(long nanos) {
+        operationLatency.recordValue(micros(nanos));
+    }
+
+    void recordLimiterWait(long nanos) {
+        limiterWait.recordValue(micros(nanos));
+    }
+
+    void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordError(String errorClass) {
+        errors.computeIfAbsent(errorClass, key -> new LongAdder()).increment();
+    }
+
+    OperationStats snapshot(String operation) {
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((errorClass, count) -> errorCounts.put(errorClass, count.sum()));
+        return new OperationStats(operation, latency.copy(), operationLatency.copy(), limiterWait.copy(), cacheHits.sum(),
+                retries.sum(), bytesIn.sum(), bytesOut.sum(), errorCounts);
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(0, Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+    }
+}
@@ -0,0 +1,170 @@
+package com.trello.api.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Point-in-time statistics of one operation, latencies in milliseconds
+ * Request latencies are per attempt on the wire (every retry is a request of its own) and leave out the wait
+ * for the rate and concurrency limiters, which is reported on its own. Operation latencies are per call of
+ * the page object, from the caller's view: across all retries and limiter waits, and including calls that
+ * were answered from the response cache or shared with a coalesced read.
+ */
+public class OperationStats {
+
+    private final String operation;
+    private final Histogram latency;
+    private final Histogram operationLatency;
+    private final Histogram limiterWait;
+    private final long cacheHits;
+    private final long retries;
+    private final long bytesIn;
+    private final long bytesOut;
+    private final Map<String, Long> errors;
+
+    OperationStats(String operation, Histogram latency, Histogram operationLatency, Histogram limiterWait, long cacheHits,
+                   long retries, long bytesIn, long bytesOut, Map<String, Long> errors) {
+        this.operation = operation;
+        this.latency = latency;
+        this.operationLatency = operationLatency;
+        this.limiterWait = limiterWait;
+        this.cacheHits = cacheHits;
+        this.retries = retries;
+        this.bytesIn = bytesIn;
+        this.bytesOut = bytesOut;
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Gets the number of requests sent, including retries
+     * @return Requests
+     */
+    public long getRequests() {
+        return latency.getTotalCount();
+    }
+
+    /**
+     * Gets the number of calls of the operation, however many requests each of them sent
+     * @return Calls
+     */
+    public long getOperations() {
+        return operationLatency.getTotalCount();
+    }
+
+    /**
+     * Gets the number of calls answered from the response cache without a request
+     * @return Cache hits
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * Gets the number of response body bytes received
+     * @return Bytes in
+     */
+    public long getBytesIn() {
+        return bytesIn;
+    }
+
+    /**
+     * Gets the number of bytes sent in request lines and bodies
+     * @return Bytes out
+     */
+    public long getBytesOut() {
+        return bytesOut;
+    }
+
+    /**
+     * Gets the failures per error class, e.g. "HTTP 404" or "SocketTimeoutException"
+     * @return Count per error class
+     */
+    public Map<String, Long> getErrors() {
+        return errors;
+    }
+
+    public long getErrorCount() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Gets a request latency percentile
+     * @param percentile Percentile between 0 and 100, e.g. 99.9
+     * @return Latency in milliseconds
+     */
+    public double getLatencyMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMeanLatencyMillis() {
+        return latency.getMean() / 1000.0;
+    }
+
+    public double getMaxLatencyMillis() {
+        return latency.getMaxValue() / 1000.0;
+    }
+
+    /**
+     * Gets a copy of the request latency histogram, e.g. to merge or export it
+     * @return Histogram with values in microseconds
+     */
+    public Histogram getLatencyHistogram() {
+        return latency.copy();
+    }
+
+    /**
+     * Gets an operation latency percentile
+     * @param percentile Percentile between 0 and 100, e.g. 99.9
+     * @return Latency in milliseconds
+     */
+    public double getOperationLatencyMillis(double percentile) {
+        return operationLatency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMaxOperationLatencyMillis() {
+        return operationLatency.getMaxValue() / 1000.0;
+    }
+
+    /**
+     * Gets a copy of the operation latency histogram
+     * @return Histogram with values in microseconds
+     */
+    public Histogram getOperationLatencyHistogram() {
+        return operationLatency.copy();
+    }
+
+    /**
+     * Gets a percentile of the time requests waited for the rate and concurrency limiters before they were sent
+     * @param percentile Percentile between 0 and 100, e.g. 99
+     * @return Wait in milliseconds
+     */
+    public double getLimiterWaitMillis(double percentile) {
+        return limiterWait.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Gets the total time requests waited for the rate and concurrency limiters
+     * @return Wait in milliseconds
+     */
+    public double getTotalLimiterWaitMillis() {
+        return limiterWait.getMean() * limiterWait.getTotalCount() / 1000.0;
+    }
+
+    /**
+     * Gets a copy of the limiter wait histogram
+     * @return Histogram with values in microseconds
+     */
+    public Histogram getLimiterWaitHistogram() {
+        return limiterWait.copy();
+    }
+}
@@ -0,0 +1,997 @@
+package com.trello.api.mock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.trello.api.config.Config;
+import com.trello.api.http.VirtualThreads;
+import com.trello.api.utils.JsonUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * In-process stand-in for the Trello REST API
+ * Implements the /boards, /cards, /lists, /members/me/boards and /batch endpoints the page objects use.
+ * Everything is kept in in-memory stores, with Trello's response shapes, ids and error messages.
+ * Changes are recorded in a per-board actions feed.
+ * Latency and errors can be injected to exercise retries, and to benchmark the client without network access or rate limits.
+ */
+public class TrelloMockServer {
+
+    /**
+     * Credentials the mock accepts, any non-empty key and token work
+     */
+    public static final String API_KEY = "mock-key";
+    public static final String API_TOKEN = "mock-token";
+
+    private static final String NOT_FOUND = "The requested resource was not found.";
+    private static final String INVALID_ID = "invalid id";
+    private static final Pattern ID_PATTERN = Pattern.compile("[0-9a-f]{24}");
+    private static final String[] DEFAULT_LISTS = {"To Do", "Doing", "Done"};
+    private static final double POS_STEP = 16384;
+    private static final int ACTIONS_DEFAULT_LIMIT = 50;
+    private static final String MEMBER_ID = "5f0000000000000000000001";
+
+    static {
+        // Headers and body go out as separate writes; with Nagle on, every response on a kept-alive
+        // connection waits for the client's delayed ACK (~40 ms). Read once when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger idCounter = new AtomicInteger(ThreadLocalRandom.current().nextInt(0x1000000));
+    private final AtomicLong posCounter = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    // Entities are immutable maps, an update replaces the whole entry
+    private final Map<String, Map<String, Object>> boards = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> lists = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> cards = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> listIdsByBoard = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> cardIdsByList = new ConcurrentHashMap<>();
+    // Actions of every board, oldest first; append and read under the list's lock
+    private final Map<String, List<Map<String, Object>>> actionsByBoard = new ConcurrentHashMap<>();
+
+    private final Queue<ScriptedFailure> scriptedFailures = new ConcurrentLinkedQueue<>();
+    private volatile long latencyMs;
+    private volatile long latencyJitterMs;
+    private volatile double errorRate;
+    private volatile int errorStatus = 500;
+
+    /**
+     * Creates a mock server, call {@link #start()} to accept requests
+     * @param port Port to listen on, 0 for any free port
+     */
+    public TrelloMockServer(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open mock server on port " + port, e);
+        }
+        executor = createExecutor();
+        server.setExecutor(executor);
+        server.createContext("/1/", this::handle);
+    }
+
+    /**
+     * Creates a mock server on the port, latency and error settings in {@link Config}
+     * @return Mock server, not started yet
+     */
+    public static TrelloMockServer fromConfig() {
+        return fromConfig(Config.MOCK_PORT);
+    }
+
+    private static TrelloMockServer fromConfig(int port) {
+        TrelloMockServer mock = new TrelloMockServer(port);
+        mock.setLatency(Config.MOCK_LATENCY_MS, Config.MOCK_LATENCY_JITTER_MS);
+        mock.setErrorRate(Config.MOCK_ERROR_RATE, Config.MOCK_ERROR_STATUS);
+        return mock;
+    }
+
+    /**
+     * Runs the mock server standalone, point clients at it with -Dtrello.baseUrl
+     * @param args Optional port, defaults to trello.mock.port
+     */
+    public static void main(String[] args) {
+        TrelloMockServer mock = fromConfig(args.length > 0 ? Integer.parseInt(args[0]) : Config.MOCK_PORT);
+        mock.start();
+        System.out.println("Trello mock server listening on " + mock.getBaseUrl());
+    }
+
+    private static ExecutorService createExecutor() {
+        // Injected latency blocks a thread per request, which is cheap with virtual threads
+        if (VirtualThreads.isSupported()) {
+            return VirtualThreads.newThreadPerTaskExecutor();
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "trello-mock-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts accepting requests
+     * @return This server
+     */
+    public TrelloMockServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * Stops the server and its threads
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets the base URL to give to the page objects
+     * @return Base URL including the API version, e.g. http://localhost:8089/1
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/1";
+    }
+
+    /**
+     * Delays every response
+     * @param latencyMs Fixed delay in milliseconds
+     * @param jitterMs Random extra delay of up to this many milliseconds
+     */
+    public void setLatency(long latencyMs, long jitterMs) {
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = jitterMs;
+    }
+
+    /**
+     * Fails a random share of requests
+     * @param errorRate Share of requests (0..1) that fail
+     * @param status Status code of the failures, e.g. 500 or 429
+     */
+    public void setErrorRate(double errorRate, int status) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errorRate must be between 0 and 1 but was " + errorRate);
+        }
+        this.errorRate = errorRate;
+        this.errorStatus = status;
+    }
+
+    /**
+     * Fails the next requests with a fixed response, e.g. Trello's transient 400 "invalid id"
+     * @param count Number of requests to fail
+     * @param status Status code
+     * @param body Plain text body
+     */
+    public void failNext(int count, int status, String body) {
+        for (int i = 0; i < count; i++) {
+            scriptedFailures.add(new ScriptedFailure(status, body));
+        }
+    }
+
+    /**
+     * Gets the number of requests received
+     * @return Requests
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Gets the number of requests failed by error injection
+     * @return Injected errors
+     */
+    public long getInjectedErrors() {
+        return injectedErrors.get();
+    }
+
+    /**
+     * Removes all boards, lists and cards
+     */
+    public void reset() {
+        boards.clear();
+        lists.clear();
+        cards.clear();
+        listIdsByBoard.clear();
+        cardIdsByList.clear();
+        actionsByBoard.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            exchange.getRequestBody().readAllBytes();
+            simulateLatency();
+            Reply reply = injectError();
+            if (reply == null) {
+                reply = route(exchange.getRequestMethod(), exchange.getRequestURI().getRawPath(),
+                        parseQuery(exchange.getRequestURI().getRawQuery()));
+            }
+            send(exchange, reply);
+        } catch (RuntimeException e) {
+            send(exchange, Reply.text(500, "Internal mock error: " + e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void simulateLatency() {
+        long delay = latencyMs;
+        if (latencyJitterMs > 0) {
+            delay += ThreadLocalRandom.current().nextLong(latencyJitterMs + 1);
+        }
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Reply injectError() {
+        ScriptedFailure scripted = scriptedFailures.poll();
+        if (scripted != null) {
+            injectedErrors.incrementAndGet();
+            return Reply.text(scripted.status, scripted.body);
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            injectedErrors.incrementAndGet();
+            return Reply.text(errorStatus, "Injected error");
+        }
+        return null;
+    }
+
+    private Reply route(String method, String path, Map<String, String> query) {
+        if (isBlank(query.get("key")) || isBlank(query.get("token"))) {
+            return Reply.text(401, "invalid key");
+        }
+        String[] segments = path.substring("/1/".length()).split("/");
+        String resource = segments[0];
+        String id = segments.length > 1 ? segments[1] : null;
+        String sub = segments.length > 2 ? segments[2] : null;
+        if (segments.length > 3) {
+            return cannot(method, path);
+        }
+
+        if ("boards".equals(resource)) {
+            if (id == null) {
+                return "POST".equals(method) ? createBoard(query) : cannot(method, path);
+            }
+            if (sub == null) {
+                switch (method) {
+                    case "GET": return getEntity(boards, id, query.get("fields"));
+                    case "PUT": return updateEntity(boards, id, query, "updateBoard");
+                    case "DELETE": return deleteBoard(id);
+                    default: return cannot(method, path);
+                }
+            }
+            if ("GET".equals(method) && "lists".equals(sub)) {
+                return boardLists(id, query.get("fields"));
+            }
+            if ("GET".equals(method) && "cards".equals(sub)) {
+                return boardCards(id, query);
+            }
+            if ("GET".equals(method) && "actions".equals(sub)) {
+                return boardActions(id, query);
+            }
+        } else if ("cards".equals(resource)) {
+            if (id == null) {
+                return "POST".equals(method) ? createCard(query) : cannot(method, path);
+            }
+            if (sub == null) {
+                switch (method) {
+                    case "GET": return getEntity(cards, id, query.get("fields"));
+                    case "PUT": return updateEntity(cards, id, query, "updateCard");
+                    case "DELETE": return deleteCard(id);
+                    default: return cannot(method, path);
+                }
+            }
+        } else if ("members".equals(resource) && "me".equals(id)) {
+            // Every board belongs to the one mock member
+            if ("GET".equals(method) && "boards".equals(sub)) {
+                return memberBoards(query.getOrDefault("filter", "all"), query.get("fields"));
+            }
+        } else if ("batch".equals(resource) && id == null && "GET".equals(method)) {
+            return batch(query);
+        } else if ("lists".equals(resource) && id != null) {
+            if (sub == null && "GET".equals(method)) {
+                return getEntity(lists, id, query.get("fields"));
+            }
+            if (sub == null && "PUT".equals(method)) {
+                return updateEntity(lists, id, query, "updateList");
+            }
+            if ("GET".equals(method) && "cards".equals(sub)) {
+                return listCards(id, query.get("fields"));
+            }
+        }
+        return cannot(method, path);
+    }
+
+    /**
+     * Runs up to {@link Config#BATCH_MAX_URLS} GETs, each result is an object keyed by its status code
+     */
+    private Reply batch(Map<String, String> query) {
+        String urls = query.get("urls");
+        if (isBlank(urls)) {
+            return Reply.text(400, "invalid value for urls");
+        }
+        String[] paths = urls.split(",");
+        if (paths.length > Config.BATCH_MAX_URLS) {
+            return Reply.text(400, "invalid value for urls: no more than " + Config.BATCH_MAX_URLS + " urls");
+        }
+        Map<String, String> credentials = new HashMap<>();
+        credentials.put("key", query.get("key"));
+        credentials.put("token", query.get("token"));
+        List<Map<String, Object>> results = new ArrayList<>(paths.length);
+        for (String path : paths) {
+            Reply reply = path.startsWith("/") && !path.startsWith("/batch")
+                    ? route("GET", "/1" + path, credentials)
+                    : Reply.text(400, "invalid url: " + path);
+            results.add(Collections.singletonMap(String.valueOf(reply.status), reply.value()));
+        }
+        return Reply.json(200, results);
+    }
+
+    private Reply createBoard(Map<String, String> query) {
+        String name = query.get("name");
+        if (isBlank(name)) {
+            return Reply.text(400, "invalid value for name");
+        }
+        String id = nextId();
+        Map<String, Object> board = new LinkedHashMap<>();
+        board.put("id", id);
+        board.put("name", name);
+        board.put("desc", query.getOrDefault("desc", ""));
+        board.put("closed", false);
+        board.put("idOrganization", null);
+        board.put("pinned", false);
+        board.put("url", "https://trello.com/b/" + shortLink(id) + "/" + slug(name));
+        board.put("shortUrl", "https://trello.com/b/" + shortLink(id));
+        listIdsByBoard.put(id, ConcurrentHashMap.newKeySet());
+        actionsByBoard.put(id, new ArrayList<>());
+        boards.put(id, Collections.unmodifiableMap(board));
+        recordAction(id, "createBoard", "board", ref(board));
+        if (!"false".equals(query.get("defaultLists"))) {
+            for (String listName : DEFAULT_LISTS) {
+                createList(id, listName);
+            }
+        }
+        return Reply.json(200, board);
+    }
+
+    private void createList(String boardId, String name) {
+        String id = nextId();
+        Map<String, Object> list = new LinkedHashMap<>();
+        list.put("id", id);
+        list.put("name", name);
+        list.put("closed", false);
+        list.put("idBoard", boardId);
+        list.put("pos", nextPos());
+        cardIdsByList.put(id, ConcurrentHashMap.newKeySet());
+        lists.put(id, Collections.unmodifiableMap(list));
+        listIdsByBoard.get(boardId).add(id);
+        recordAction(boardId, "createList", "list", ref(list), "board", ref(boards.get(boardId)));
+    }
+
+    private Reply createCard(Map<String, String> query) {
+        Map<String, Object> source = null;
+        String sourceId = query.get("idCardSource");
+        if (sourceId != null) {
+            source = cards.get(sourceId);
+            if (source == null) {
+                return Reply.text(400, "invalid value for idCardSource");
+            }
+        }
+        String listId = query.get("idList");
+        Map<String, Object> list = listId == null ? null : lists.get(listId);
+        if (list == null) {
+            return Reply.text(400, "invalid value for idList");
+        }
+        String name = query.getOrDefault("name", source == null ? "" : (String) source.get("name"));
+        String desc = query.getOrDefault("desc", source == null ? "" : (String) source.get("desc"));
+        String id = nextId();
+        Map<String, Object> card = new LinkedHashMap<>();
+        card.put("id", id);
+        card.put("name", name);
+        card.put("desc", desc);
+        card.put("closed", false);
+        card.put("idList", listId);
+        card.put("idBoard", list.get("idBoard"));
+        card.put("pos", nextPos());
+        card.put("url", "https://trello.com/c/" + shortLink(id) + "/" + slug(name));
+        card.put("shortUrl", "https://trello.com/c/" + shortLink(id));
+        cards.put(id, Collections.unmodifiableMap(card));
+        Set<String> listCards = cardIdsByList.get(listId);
+        if (listCards != null) {
+            listCards.add(id);
+        }
+        String boardId = (String) list.get("idBoard");
+        if (source == null) {
+            recordAction(boardId, "createCard", "card", ref(card), "list", ref(list), "board", ref(boards.get(boardId)));
+        } else {
+            recordAction(boardId, "copyCard", "card", ref(card), "cardSource", ref(source), "list", ref(list),
+                    "board", ref(boards.get(boardId)));
+        }
+        return Reply.json(200, card);
+    }
+
+    private Reply getEntity(Map<String, Map<String, Object>> store, String id, String fields) {
+        if (!ID_PATTERN.matcher(id).matches()) {
+            return Reply.text(400, INVALID_ID);
+        }
+        Map<String, Object> entity = store.get(id);
+        return entity == null ? Reply.text(404, NOT_FOUND) : Reply.json(200, project(entity, fields));
+    }
+
+    /**
+     * Updates name, desc, closed and pos of a board, list or card. A card moves with idList, also to a list of another
+     * board, and a list moves to another board with idBoard, taking its cards along.
+     */
+    private Reply updateEntity(Map<String, Map<String, Object>> store, String id, Map<String, String> query,
+                               String actionType) {
+        if (!ID_PATTERN.matcher(id).matches()) {
+            return Reply.text(400, INVALID_ID);
+        }
+        Map<String, Object> targetList = null;
+        if (store == cards && query.containsKey("idList")) {
+            targetList = lists.get(query.get("idList"));
+            if (targetList == null) {
+                return Reply.text(400, "invalid value for idList");
+            }
+        }
+        String targetBoard = store == lists ? query.get("idBoard") : null;
+        if (targetBoard != null && !boards.containsKey(targetBoard)) {
+            return Reply.text(400, "invalid value for idBoard");
+        }
+        Double pos = null;
+        if (store != boards && query.containsKey("pos")) {
+            try {
+                pos = Double.parseDouble(query.get("pos"));
+            } catch (NumberFormatException e) {
+                return Reply.text(400, "invalid value for pos");
+            }
+        }
+        Map<String, Object> list = targetList;
+        Double newPos = pos;
+        AtomicReference<Map<String, Object>> previous = new AtomicReference<>();
+        Map<String, Object> updated = store.computeIfPresent(id, (key, current) -> {
+            previous.set(current);
+            Map<String, Object> copy = new LinkedHashMap<>(current);
+            for (String field : new String[]{"name", "desc"}) {
+                if (query.containsKey(field)) {
+                    copy.put(field, query.get(field));
+                }
+            }
+            if (query.containsKey("closed")) {
+                copy.put("closed", Boolean.parseBoolean(query.get("closed")));
+            }
+            if (newPos != null) {
+                copy.put("pos", newPos);
+            }
+            if (list != null) {
+                copy.put("idList", list.get("id"));
+                copy.put("idBoard", list.get("idBoard"));
+            }
+            if (targetBoard != null) {
+                copy.put("idBoard", targetBoard);
+            }
+            return Collections.unmodifiableMap(copy);
+        });
+        if (updated == null) {
+            return Reply.text(404, NOT_FOUND);
+        }
+        if (store == cards) {
+            moveCard(id, previous.get(), updated);
+        } else if (store == lists) {
+            moveList(id, previous.get(), updated);
+        }
+        recordUpdate(actionType, previous.get(), updated);
+        return Reply.json(200, updated);
+    }
+
+    private void moveCard(String cardId, Map<String, Object> before, Map<String, Object> after) {
+        if (!Objects.equals(before.get("idList"), after.get("idList"))) {
+            Set<String> from = cardIdsByList.get((String) before.get("idList"));
+            if (from != null) {
+                from.remove(cardId);
+            }
+            Set<String> to = cardIdsByList.get((String) after.get("idList"));
+            if (to != null) {
+                to.add(cardId);
+            }
+        }
+    }
+
+    private void moveList(String listId, Map<String, Object> before, Map<String, Object> after) {
+        String boardId = (String) after.get("idBoard");
+        if (Objects.equals(before.get("idBoard"), boardId)) {
+            return;
+        }
+        Set<String> from = listIdsByBoard.get((String) before.get("idBoard"));
+        if (from != null) {
+            from.remove(listId);
+        }
+        Set<String> to = listIdsByBoard.get(boardId);
+        if (to != null) {
+            to.add(listId);
+        }
+        Set<String> cardIds = cardIdsByList.get(listId);
+        if (cardIds != null) {
+            for (String cardId : cardIds) {
+                cards.computeIfPresent(cardId, (key, card) -> {
+                    Map<String, Object> copy = new LinkedHashMap<>(card);
+                    copy.put("idBoard", boardId);
+                    return Collections.unmodifiableMap(copy);
+                });
+            }
+        }
+    }
+
+    /**
+     * Records an update action with the changed fields in data.card, data.list or data.board and their previous
+     * values in data.old, nothing if no field changed. A card or list that changed boards gets a moveXFromBoard
+     * action on the old board and a moveXToBoard action on the new one instead.
+     */
+    private void recordUpdate(String type, Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> old = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : after.entrySet()) {
+            if (!Objects.equals(before.get(field.getKey()), field.getValue())) {
+                old.put(field.getKey(), before.get(field.getKey()));
+            }
+        }
+        if (old.isEmpty()) {
+            return;
+        }
+        // "updateCard" -> "card"
+        String entityKey = type.substring("update".length()).toLowerCase();
+        if (old.containsKey("idBoard") && !"board".equals(entityKey)) {
+            String from = (String) before.get("idBoard");
+            String to = (String) after.get("idBoard");
+            String moved = "card".equals(entityKey) ? "Card" : "List";
+            recordAction(from, "move" + moved + "FromBoard", entityKey, ref(after), "board", ref(boards.get(from)),
+                    "boardTarget", ref(boards.get(to)));
+            recordAction(to, "move" + moved + "ToBoard", entityKey, ref(after), "board", ref(boards.get(to)),
+                    "boardSource", ref(boards.get(from)));
+            return;
+        }
+        Map<String, Object> entity = ref(after);
+        for (String field : old.keySet()) {
+            entity.put(field, after.get(field));
+        }
+        String boardId = "board".equals(entityKey) ? (String) after.get("id") : (String) after.get("idBoard");
+        if ("card".equals(entityKey)) {
+            recordAction(boardId, type, "card", entity, "old", old, "list", ref(lists.get((String) after.get("idList"))),
+                    "board", ref(boards.get(boardId)));
+        } else if ("list".equals(entityKey)) {
+            recordAction(boardId, type, "list", entity, "old", old, "board", ref(boards.get(boardId)));
+        } else {
+            recordAction(boardId, type, "board", entity, "old", old);
+        }
+    }
+
+    private Reply deleteBoard(String id) {
+        if (!ID_PATTERN.matcher(id).matches()) {
+            return Reply.text(400, INVALID_ID);
+        }
+        if (boards.remove(id) == null) {
+            return Reply.text(404, NOT_FOUND);
+        }
+        actionsByBoard.remove(id);
+        Set<String> listIds = listIdsByBoard.remove(id);
+        if (listIds != null) {
+            for (String listId : listIds) {
+                lists.remove(listId);
+                Set<String> cardIds = cardIdsByList.remove(listId);
+                if (cardIds != null) {
+                    cardIds.forEach(cards::remove);
+                }
+            }
+        }
+        return deleted();
+    }
+
+    private Reply deleteCard(String id) {
+        if (!ID_PATTERN.matcher(id).matches()) {
+            return Reply.text(400, INVALID_ID);
+        }
+        Map<String, Object> card = cards.remove(id);
+        if (card == null) {
+            return Reply.text(404, NOT_FOUND);
+        }
+        Set<String> listCards = cardIdsByList.get((String) card.get("idList"));
+        if (listCards != null) {
+            listCards.remove(id);
+        }
+        String boardId = (String) card.get("idBoard");
+        recordAction(boardId, "deleteCard", "card", Collections.singletonMap("id", id),
+                "list", ref(lists.get((String) card.get("idList"))), "board", ref(boards.get(boardId)));
+        return deleted();
+    }
+
+    private Reply boardLists(String boardId, String fields) {
+        Set<String> listIds = listIdsByBoard.get(boardId);
+        if (listIds == null) {
+            return ID_PATTERN.matcher(boardId).matches() ? Reply.text(404, NOT_FOUND) : Reply.text(400, INVALID_ID);
+        }
+        List<Map<String, Object>> open = new ArrayList<>();
+        for (String listId : listIds) {
+            Map<String, Object> list = lists.get(listId);
+            if (list != null && !Boolean.TRUE.equals(list.get("closed"))) {
+                open.add(list);
+            }
+        }
+        return Reply.json(200, project(sortByPos(open), fields));
+    }
+
+    private Reply memberBoards(String filter, String fields) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> board : boards.values()) {
+            boolean closed = Boolean.TRUE.equals(board.get("closed"));
+            if ("all".equals(filter) || ("open".equals(filter) && !closed) || ("closed".equals(filter) && closed)) {
+                result.add(board);
+            }
+        }
+        result.sort(Comparator.comparing(board -> (String) board.get("id")));
+        return Reply.json(200, project(result, fields));
+    }
+
+    /**
+     * Lists the cards of a board, open ones unless filter says otherwise.
+     * With before or limit the cards come newest first and only those created before the given id, like Trello's
+     * paging; fields trims every card to the given fields plus its id.
+     */
+    private Reply boardCards(String boardId, Map<String, String> query) {
+        Set<String> listIds = listIdsByBoard.get(boardId);
+        if (listIds == null) {
+            return ID_PATTERN.matcher(boardId).matches() ? Reply.text(404, NOT_FOUND) : Reply.text(400, INVALID_ID);
+        }
+        String filter = query.getOrDefault("filter", "open");
+        if (!"open".equals(filter) && !"closed".equals(filter) && !"all".equals(filter) && !"visible".equals(filter)) {
+            return Reply.text(400, "invalid value for filter");
+        }
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (String listId : listIds) {
+            result.addAll(cardsOf(listId, filter));
+        }
+        String before = query.get("before");
+        String limit = query.get("limit");
+        if (before == null && limit == null) {
+            sortByPos(result);
+        } else {
+            int max;
+            try {
+                max = limit == null ? Config.CARDS_MAX_PAGE_SIZE : Integer.parseInt(limit);
+            } catch (NumberFormatException e) {
+                max = -1;
+            }
+            if (max < 1 || max > Config.CARDS_MAX_PAGE_SIZE) {
+                return Reply.text(400, "invalid value for limit");
+            }
+            if (before != null && !ID_PATTERN.matcher(before).matches()) {
+                return Reply.text(400, "invalid value for before");
+            }
+            result.removeIf(card -> before != null && ((String) card.get("id")).compareTo(before) >= 0);
+            result.sort(Comparator.comparing((Map<String, Object> card) -> (String) card.get("id")).reversed());
+            result = new ArrayList<>(result.subList(0, Math.min(max, result.size())));
+        }
+        return Reply.json(200, project(result, query.get("fields")));
+    }
+
+    /**
+     * Lists the actions of a board newest first, like Trello: since and before take action IDs and are exclusive,
+     * filter takes comma separated action types, limit defaults to 50
+     */
+    private Reply boardActions(String boardId, Map<String, String> query) {
+        List<Map<String, Object>> log = actionsByBoard.get(boardId);
+        if (log == null) {
+            return ID_PATTERN.matcher(boardId).matches() ? Reply.text(404, NOT_FOUND) : Reply.text(400, INVALID_ID);
+        }
+        int max;
+        try {
+            max = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : ACTIONS_DEFAULT_LIMIT;
+        } catch (NumberFormatException e) {
+            max = -1;
+        }
+        if (max < 1 || max > Config.ACTIONS_MAX_PAGE_SIZE) {
+            return Reply.text(400, "invalid value for limit");
+        }
+        String since = query.get("since");
+        String before = query.get("before");
+        if (since != null && !ID_PATTERN.matcher(since).matches()) {
+            return Reply.text(400, "invalid value for since");
+        }
+        if (before != null && !ID_PATTERN.matcher(before).matches()) {
+            return Reply.text(400, "invalid value for before");
+        }
+        String filter = query.getOrDefault("filter", "all");
+        Set<String> types = "all".equals(filter) ? null : new HashSet<>(Arrays.asList(filter.split(",")));
+        List<Map<String, Object>> actions;
+        synchronized (log) {
+            actions = new ArrayList<>(log);
+        }
+        // Action IDs of the same second are not ordered, positions in the feed are
+        int from = since == null ? 0 : indexOfAction(actions, since) + 1;
+        int to = before == null ? actions.size() : indexOfAction(actions, before);
+        if (to < 0) {
+            to = actions.size();
+        }
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (int i = to - 1; i >= from && result.size() < max; i--) {
+            if (types == null || types.contains((String) actions.get(i).get("type"))) {
+                result.add(actions.get(i));
+            }
+        }
+        return Reply.json(200, result);
+    }
+
+    private static int indexOfAction(List<Map<String, Object>> actions, String actionId) {
+        for (int i = actions.size() - 1; i >= 0; i--) {
+            if (actionId.equals(actions.get(i).get("id"))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends an action to the feed of a board
+     * @param data Keys and values of the action's data, alternating
+     */
+    private void recordAction(String boardId, String type, Object... data) {
+        List<Map<String, Object>> log = boardId == null ? null : actionsByBoard.get(boardId);
+        if (log == null) {
+            return;
+        }
+        Map<String, Object> entities = new LinkedHashMap<>();
+        for (int i = 0; i < data.length; i += 2) {
+            if (data[i + 1] != null) {
+                entities.put((String) data[i], data[i + 1]);
+            }
+        }
+        Map<String, Object> action = new LinkedHashMap<>();
+        action.put("id", null);
+        action.put("idMemberCreator", MEMBER_ID);
+        action.put("type", type);
+        action.put("date", Instant.now().toString());
+        action.put("data", entities);
+        synchronized (log) {
+            // The ID is taken under the lock so the feed order matches the creation order
+            action.put("id", nextId());
+            log.add(Collections.unmodifiableMap(action));
+        }
+    }
+
+    /**
+     * Reference to an entity inside action data: its id and name, like Trello's
+     */
+    private static Map<String, Object> ref(Map<String, Object> entity) {
+        if (entity == null) {
+            return null;
+        }
+        Map<String, Object> ref = new LinkedHashMap<>();
+        ref.put("id", entity.get("id"));
+        if (entity.containsKey("name")) {
+            ref.put("name", entity.get("name"));
+        }
+        return ref;
+    }
+
+    /**
+     * Trims entities to the given comma separated fields plus their id, like Trello's fields parameter
+     */
+    private static List<Map<String, Object>> project(List<Map<String, Object>> entities, String fields) {
+        if (fields == null || "all".equals(fields)) {
+            return entities;
+        }
+        List<Map<String, Object>> projected = new ArrayList<>(entities.size());
+        for (Map<String, Object> entity : entities) {
+            projected.add(project(entity, fields));
+        }
+        return projected;
+    }
+
+    private static Map<String, Object> project(Map<String, Object> entity, String fields) {
+        if (fields == null || "all".equals(fields)) {
+            return entity;
+        }
+        Map<String, Object> slim = new LinkedHashMap<>();
+        slim.put("id", entity.get("id"));
+        for (String field : fields.split(",")) {
+            if (entity.containsKey(field)) {
+                slim.put(field, entity.get(field));
+            }
+        }
+        return slim;
+    }
+
+    private Reply listCards(String listId, String fields) {
+        if (!cardIdsByList.containsKey(listId)) {
+            return ID_PATTERN.matcher(listId).matches() ? Reply.text(404, NOT_FOUND) : Reply.text(400, INVALID_ID);
+        }
+        return Reply.json(200, project(sortByPos(openCards(listId)), fields));
+    }
+
+    private List<Map<String, Object>> openCards(String listId) {
+        return cardsOf(listId, "open");
+    }
+
+    private List<Map<String, Object>> cardsOf(String listId, String filter) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        Set<String> cardIds = cardIdsByList.get(listId);
+        if (cardIds != null) {
+            for (String cardId : cardIds) {
+                Map<String, Object> card = cards.get(cardId);
+                if (card == null) {
+                    continue;
+                }
+                boolean closed = Boolean.TRUE.equals(card.get("closed"));
+                if ("all".equals(filter) || ("closed".equals(filter) == closed)) {
+                    result.add(card);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<Map<String, Object>> sortByPos(List<Map<String, Object>> entities) {
+        entities.sort(Comparator.comparingDouble(entity -> (Double) entity.get("pos")));
+        return entities;
+    }
+
+    private static Reply deleted() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("_value", null);
+        return Reply.json(200, body);
+    }
+
+    private static Reply cannot(String method, String path) {
+        return Reply.text(404, "Cannot " + method + " " + path);
+    }
+
+    /**
+     * Generates an id shaped like Trello's (a MongoDB ObjectId): 4 bytes of seconds, 5 random bytes, 3 bytes counter
+     */
+    private String nextId() {
+        long seconds = System.currentTimeMillis() / 1000;
+        long random = ThreadLocalRandom.current().nextLong() & 0xFFFFFFFFFFL;
+        int counter = idCounter.incrementAndGet() & 0xFFFFFF;
+        return String.format("%08x%010x%06x", seconds, random, counter);
+    }
+
+    private double nextPos() {
+        return posCounter.incrementAndGet() * POS_STEP;
+    }
+
+    private static String shortLink(String id) {
+        return id.substring(16);
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod()) && reply.status == Config.OK_STATUS) {
+            // Weak validator of the body, like Trello's; a matching If-None-Match gets 304 without a body
+            String etag = etag(reply.body);
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", reply.contentType);
+        exchange.sendResponseHeaders(reply.status, reply.body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(reply.body);
+        }
+    }
+
+    private static String etag(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+    }
+
+    private static class Reply {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        Reply(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Reply json(int status, Object value) {
+            try {
+                return new Reply(status, "application/json; charset=utf-8", JsonUtils.getMapper().writeValueAsBytes(value));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        static Reply text(int status, String message) {
+            return new Reply(status, "text/plain; charset=utf-8", message.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Gets the body as a JSON tree, or as a string for text replies
+         */
+        Object value() {
+            if (!contentType.startsWith("application/json")) {
+                return new String(body, StandardCharsets.UTF_8);
+            }
+            try {
+                return JsonUtils.getMapper().readTree(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static class ScriptedFailure {
+        private final int status;
+        private final String body;
+
+        ScriptedFailure(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.trello.api.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Entry of a board's actions feed, e.g. a card that was created, updated or deleted
+ * The entities in the data only carry their ID, name and the fields the action changed; {@link Data#getOld()} holds
+ * the previous values of the changed fields, so its keys tell which fields of the entity are set.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Action {
+    
+    @JsonProperty("id")
+    private TrelloId id;
+    
+    @JsonProperty("type")
+    private String type;
+    
+    @JsonProperty("date")
+    private String date;
+    
+    @JsonProperty("data")
+    private Data data;
+    
+    public Action() {}
+    
+    public String getId() {
+        return TrelloId.toStringOrNull(id);
+    }
+    
+    @JsonIgnore
+    public TrelloId getTrelloId() {
+        return id;
+    }
+    
+    @JsonIgnore
+    public void setId(String id) {
+        this.id = TrelloId.parseNullable(id);
+    }
+    
+    /**
+     * Gets the action type
+     * @return Type, e.g. "createCard", "updateCard" or "deleteCard"
+     */
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getDate() {
+        return date;
+    }
+    
+    public void setDate(String date) {
+        this.date = date;
+    }
+    
+    public Data getData() {
+        return data;
+    }
+    
+    public void setData(Data data) {
+        this.data = data;
+    }
+    
+    @Override
+    public String toString() {
+        return "Action{" +
+                "id='" + id + '\'' +
+                ", type='" + type + '\'' +
+                ", date='" + date + '\'' +
+                '}';
+    }
+    
+    /**
+     * Entities an action refers to
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Data {
+        
+        @JsonProperty("board")
+        private Board board;
+        
+        @JsonProperty("list")
+        private List list;
+        
+        @JsonProperty("card")
+        private Card card;
+        
+        @JsonProperty("old")
+        private Map<String, Object> old;
+        
+        public Board getBoard() {
+            return board;
+        }
+        
+        public void setBoard(Board board) {
+            this.board = board;
+        }
+        
+        public List getList() {
+            return list;
+        }
+        
+        public void setList(List list) {
+            this.list = list;
+        }
+        
+        public Card getCard() {
+            return card;
+        }
+        
+        public void setCard(Card card) {
+            this.card = card;
+        }
+        
+        /**
+         * Gets the previous values of the fields an update changed
+         * @return Field name to previous value, empty for actions that are not updates
+         */
+        public Map<String, Object> getOld() {
+            return old == null ? Collections.emptyMap() : old;
+        }
+        
+        public void setOld(Map<String, Object> old) {
+            this.old = old;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.trello.api.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -8,7 +9,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class Board {
     
     @JsonProperty("id")
-    private String id;
+    private TrelloId id;
     
     @JsonProperty("name")
     private String name;
@@ -20,7 +21,7 @@ public class Board {
     private boolean closed;
     
     @JsonProperty("idOrganization")
-    private String idOrganization;
+    private TrelloId idOrganization;
     
     @JsonProperty("pinned")
     private boolean pinned;
@@ -43,11 +44,17 @@ public class Board {
     }
 
     public String getId() {
+        return TrelloId.toStringOrNull(id);
+    }
+    
+    @JsonIgnore
+    public TrelloId getTrelloId() {
         return id;
     }
     
+    @JsonIgnore
     public void setId(String id) {
-        this.id = id;
+        this.id = TrelloId.parseNullable(id);
     }
     
     public String getName() {
@@ -75,11 +82,12 @@ public class Board {
     }
     
     public String getIdOrganization() {
-        return idOrganization;
+        return TrelloId.toStringOrNull(idOrganization);
     }
     
+    @JsonIgnore
     public void setIdOrganization(String idOrganization) {
-        this.idOrganization = idOrganization;
+        this.idOrganization = TrelloId.parseNullable(idOrganization);
     }
     
     public boolean isPinned() {
@@ -1,5 +1,6 @@
 package com.trello.api.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -8,7 +9,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class Card {
     
     @JsonProperty("id")
-    private String id;
+    private TrelloId id;
     
     @JsonProperty("name")
     private String name;
@@ -17,10 +18,10 @@ public class Card {
     private String desc;
     
     @JsonProperty("idList")
-    private String idList;
+    private TrelloId idList;
     
     @JsonProperty("idBoard")
-    private String idBoard;
+    private TrelloId idBoard;
     
     @JsonProperty("closed")
     private boolean closed;
@@ -38,20 +39,31 @@ public class Card {
 
     public Card(String name, String idList) {
         this.name = name;
-        this.idList = idList;
+        this.idList = TrelloId.parseNullable(idList);
     }
 
     public Card(String name, String desc, String idList) {
         this.name = name;
         this.desc = desc;
-        this.idList = idList;
+        this.idList = TrelloId.parseNullable(idList);
     }
 
     public String getId() {
+        return TrelloId.toStringOrNull(id);
+    }
+    
+    @JsonIgnore
+    public TrelloId getTrelloId() {
         return id;
     }
     
+    @JsonIgnore
     public void setId(String id) {
+        this.id = TrelloId.parseNullable(id);
+    }
+    
+    @JsonIgnore
+    public void setTrelloId(TrelloId id) {
         this.id = id;
     }
     
@@ -72,18 +84,40 @@ public class Card {
     }
     
     public String getIdList() {
+        return TrelloId.toStringOrNull(idList);
+    }
+    
+    @JsonIgnore
+    public TrelloId getTrelloIdList() {
         return idList;
     }
     
+    @JsonIgnore
     public void setIdList(String idList) {
+        this.idList = TrelloId.parseNullable(idList);
+    }
+    
+    @JsonIgnore
+    public void setTrelloIdList(TrelloId idList) {
         this.idList = idList;
     }
     
     public String getIdBoard() {
+        return TrelloId.toStringOrNull(idBoard);
+    }
+    
+    @JsonIgnore
+    public TrelloId getTrelloIdBoard() {
         return idBoard;
     }
     
+    @JsonIgnore
     public void setIdBoard(String idBoard) {
+        this.idBoard = TrelloId.parseNullable(idBoard);
+    }
+    
+    @JsonIgnore
+    public void setTrelloIdBoard(TrelloId idBoard) {
         this.idBoard = idBoard;
     }
     
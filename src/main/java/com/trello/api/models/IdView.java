@@ -0,0 +1,46 @@
+package com.trello.api.models;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+/**
+ * ID-only view of a board, list or card, read with {@link Projection#ID}
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class IdView {
+    
+    private final TrelloId id;
+    
+    @JsonCreator
+    public IdView(@JsonProperty("id") TrelloId id) {
+        this.id = id;
+    }
+    
+    public String getId() {
+        return TrelloId.toStringOrNull(id);
+    }
+    
+    @JsonIgnore
+    public TrelloId getTrelloId() {
+        return id;
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof IdView && Objects.equals(id, ((IdView) other).id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+    
+    @Override
+    public String toString() {
+        return "IdView{id='" + id + "'}";
+    }
+}
@@ -1,5 +1,6 @@
 package com.trello.api.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -8,13 +9,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class List {
     
     @JsonProperty("id")
-    private String id;
+    private TrelloId id;
     
     @JsonProperty("name")
     private String name;
     
     @JsonProperty("idBoard")
-    private String idBoard;
+    private TrelloId idBoard;
     
     @JsonProperty("closed")
     private boolean closed;
@@ -27,15 +28,21 @@ public class List {
 
     public List(String name, String idBoard) {
         this.name = name;
-        this.idBoard = idBoard;
+        this.idBoard = TrelloId.parseNullable(idBoard);
     }
 
     public String getId() {
+        return TrelloId.toStringOrNull(id);
+    }
+    
+    @JsonIgnore
+    public TrelloId getTrelloId() {
         return id;
     }
     
+    @JsonIgnore
     public void setId(String id) {
-        this.id = id;
+        this.id = TrelloId.parseNullable(id);
     }
     
     public String getName() {
@@ -47,11 +54,17 @@ public class List {
     }
     
     public String getIdBoard() {
+        return TrelloId.toStringOrNull(idBoard);
+    }
+    
+    @JsonIgnore
+    public TrelloId getTrelloIdBoard() {
         return idBoard;
     }
     
+    @JsonIgnore
     public void setIdBoard(String idBoard) {
-        this.idBoard = idBoard;
+        this.idBoard = TrelloId.parseNullable(idBoard);
     }
     
     public boolean isClosed() {
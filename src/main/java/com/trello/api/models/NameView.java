@@ -0,0 +1,56 @@
+package com.trello.api.models;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+/**
+ * ID and name view of a board, list or card, read with {@link Projection#NAME}
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class NameView {
+    
+    private final TrelloId id;
+    private final String name;
+    
+    @JsonCreator
+    public NameView(@JsonProperty("id") TrelloId id, @JsonProperty("name") String name) {
+        this.id = id;
+        this.name = name;
+    }
+    
+    public String getId() {
+        return TrelloId.toStringOrNull(id);
+    }
+    
+    @JsonIgnore
+    public TrelloId getTrelloId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof NameView)) {
+            return false;
+        }
+        NameView view = (NameView) other;
+        return Objects.equals(id, view.id) && Objects.equals(name, view.name);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name);
+    }
+    
+    @Override
+    public String toString() {
+        return "NameView{id='" + id + "', name='" + name + "'}";
+    }
+}
@@ -0,0 +1,87 @@
+package com.trello.api.models;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Outcome of a single item in a bulk operation
+ * Holds either the resulting model object or the error that item failed with
+ * @param <T> Type of the resulting model object
+ */
+public class OperationResult<T> {
+    
+    private final T value;
+    private final Throwable error;
+    
+    private OperationResult(T value, Throwable error) {
+        this.value = value;
+        this.error = error;
+    }
+    
+    /**
+     * Creates a successful result
+     * @param value Resulting model object
+     * @param <T> Type of the model object
+     * @return Successful result
+     */
+    public static <T> OperationResult<T> success(T value) {
+        return new OperationResult<>(value, null);
+    }
+    
+    /**
+     * Creates a failed result
+     * @param error Error the item failed with
+     * @param <T> Type of the model object
+     * @return Failed result
+     */
+    public static <T> OperationResult<T> failure(Throwable error) {
+        return new OperationResult<>(null, error);
+    }
+    
+    /**
+     * Waits for a future and captures its outcome instead of throwing
+     * @param future Future of a single item
+     * @param <T> Type of the model object
+     * @return Successful result with the value, or failed result with the unwrapped cause
+     */
+    public static <T> OperationResult<T> of(CompletableFuture<T> future) {
+        try {
+            return success(future.join());
+        } catch (CompletionException e) {
+            return failure(e.getCause() != null ? e.getCause() : e);
+        } catch (RuntimeException e) {
+            return failure(e);
+        }
+    }
+    
+    public boolean isSuccess() {
+        return error == null;
+    }
+    
+    public T getValue() {
+        return value;
+    }
+    
+    public Throwable getError() {
+        return error;
+    }
+    
+    /**
+     * Gets the value or throws the error of a failed item
+     * @return Resulting model object
+     * @throws IllegalStateException wrapping the error if the item failed
+     */
+    public T getOrThrow() {
+        if (error != null) {
+            throw new IllegalStateException("Operation failed: " + error.getMessage(), error);
+        }
+        return value;
+    }
+    
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? "OperationResult{success, value=" + value + '}'
+                : "OperationResult{failure, error=" + error + '}';
+    }
+}
@@ -0,0 +1,61 @@
+package com.trello.api.models;
+
+/**
+ * Typed projection of a read: the fields the server sends and the model they are decoded into
+ * Reads with a projection transfer and allocate only what the model holds, e.g. IDs for bulk verification.
+ * @param <T> Model type the fields are decoded into
+ */
+public final class Projection<T> {
+    
+    /**
+     * Only the ID
+     */
+    public static final Projection<IdView> ID = new Projection<>("id", IdView.class);
+    
+    /**
+     * ID and name
+     */
+    public static final Projection<NameView> NAME = new Projection<>("id,name", NameView.class);
+    
+    private final String fields;
+    private final Class<T> type;
+    
+    private Projection(String fields, Class<T> type) {
+        this.fields = fields;
+        this.type = type;
+    }
+    
+    /**
+     * Creates a projection into another model, e.g. one of the full models with a few fields filled in
+     * @param type Model type, unknown fields are ignored
+     * @param fields Fields to request, id is always included
+     * @param <T> Model type
+     * @return Projection
+     */
+    public static <T> Projection<T> of(Class<T> type, String... fields) {
+        StringBuilder selected = new StringBuilder("id");
+        for (String field : fields) {
+            if (!"id".equals(field)) {
+                selected.append(',').append(field);
+            }
+        }
+        return new Projection<>(selected.toString(), type);
+    }
+    
+    /**
+     * Gets the value of the fields query parameter
+     * @return Comma separated fields
+     */
+    public String getFields() {
+        return fields;
+    }
+    
+    public Class<T> getType() {
+        return type;
+    }
+    
+    @Override
+    public String toString() {
+        return "Projection{" + type.getSimpleName() + ", fields=" + fields + '}';
+    }
+}
@@ -0,0 +1,238 @@
+package com.trello.api.models;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+
+/**
+ * Trello ID (a MongoDB ObjectId) held as 12 bytes instead of a 24 character string
+ * The first 8 bytes are kept in a long, the last 4 in an int. Ordering is the same as for the lowercase hex string,
+ * which starts with the creation time in seconds, so older IDs sort first.
+ * Reading and writing JSON goes through the hex characters directly, without an intermediate string.
+ */
+@JsonSerialize(using = TrelloId.Serializer.class)
+@JsonDeserialize(using = TrelloId.Deserializer.class)
+public final class TrelloId implements Comparable<TrelloId> {
+
+    /**
+     * Number of hex characters of an ID
+     */
+    public static final int LENGTH = 24;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long high;
+    private final int low;
+
+    /**
+     * Creates an ID from its two halves
+     * @param high First 8 bytes
+     * @param low Last 4 bytes
+     */
+    public TrelloId(long high, int low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Parses an ID
+     * @param hex 24 hex characters
+     * @return ID
+     * @throws IllegalArgumentException if the text is not a Trello ID
+     */
+    public static TrelloId parse(CharSequence hex) {
+        if (hex == null || hex.length() != LENGTH) {
+            throw new IllegalArgumentException("Not a Trello ID: " + hex);
+        }
+        long high = 0;
+        for (int i = 0; i < 16; i++) {
+            high = high << 4 | digit(hex.charAt(i), hex);
+        }
+        int low = 0;
+        for (int i = 16; i < LENGTH; i++) {
+            low = low << 4 | digit(hex.charAt(i), hex);
+        }
+        return new TrelloId(high, low);
+    }
+
+    /**
+     * Parses an ID from a character buffer, e.g. the one of a JSON parser
+     * @param chars Buffer
+     * @param offset Position of the first hex character
+     * @param length Number of characters, must be 24
+     * @return ID
+     * @throws IllegalArgumentException if the characters are not a Trello ID
+     */
+    public static TrelloId parse(char[] chars, int offset, int length) {
+        if (length != LENGTH) {
+            throw new IllegalArgumentException("Not a Trello ID: " + new String(chars, offset, length));
+        }
+        long high = 0;
+        for (int i = 0; i < 16; i++) {
+            high = high << 4 | digit(chars[offset + i], chars, offset);
+        }
+        int low = 0;
+        for (int i = 16; i < LENGTH; i++) {
+            low = low << 4 | digit(chars[offset + i], chars, offset);
+        }
+        return new TrelloId(high, low);
+    }
+
+    /**
+     * Parses an ID that may be missing, for model setters
+     * @param hex 24 hex characters, null or empty
+     * @return ID, or null if there is none
+     */
+    public static TrelloId parseNullable(String hex) {
+        return hex == null || hex.isEmpty() ? null : parse(hex);
+    }
+
+    /**
+     * Converts an ID that may be missing back to text, for model getters
+     * @param id ID or null
+     * @return 24 lowercase hex characters, or null
+     */
+    public static String toStringOrNull(TrelloId id) {
+        return id == null ? null : id.toString();
+    }
+
+    /**
+     * Tells whether a text is a Trello ID
+     * @param hex Text to check
+     * @return true for 24 hex characters
+     */
+    public static boolean isValid(CharSequence hex) {
+        if (hex == null || hex.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            if (Character.digit(hex.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public int getLow() {
+        return low;
+    }
+
+    /**
+     * Gets the creation time stored in the first 4 bytes
+     * @return Seconds since the epoch
+     */
+    public long getCreatedSeconds() {
+        return high >>> 32;
+    }
+
+    @Override
+    public int compareTo(TrelloId other) {
+        int result = Long.compareUnsigned(high, other.high);
+        return result != 0 ? result : Integer.compareUnsigned(low, other.low);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof TrelloId)) {
+            return false;
+        }
+        TrelloId id = (TrelloId) other;
+        return high == id.high && low == id.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(high, low);
+    }
+
+    /**
+     * Writes the 24 lowercase hex characters into a buffer
+     * @param chars Buffer with room for 24 characters
+     * @param offset Position of the first character
+     */
+    public void writeHex(char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (high >>> ((15 - i) * 4)) & 0xf];
+        }
+        for (int i = 7; i >= 0; i--) {
+            chars[offset + 16 + i] = HEX[(low >>> ((7 - i) * 4)) & 0xf];
+        }
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[LENGTH];
+        writeHex(chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Hash of an ID given by its halves, used by {@link TrelloIdMap} without creating the ID
+     */
+    static int hash(long high, int low) {
+        // Low bits of the creation time and the counter vary most, mix everything into them
+        long h = high * 0x9E3779B97F4A7C15L ^ (low & 0xffffffffL) * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ h >>> 32);
+    }
+
+    private static int digit(char c, Object source) {
+        int digit = Character.digit(c, 16);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Not a Trello ID: " + source);
+        }
+        return digit;
+    }
+
+    private static int digit(char c, char[] chars, int offset) {
+        int digit = Character.digit(c, 16);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Not a Trello ID: " + new String(chars, offset, LENGTH));
+        }
+        return digit;
+    }
+
+    /**
+     * Writes an ID as its hex string
+     */
+    public static class Serializer extends JsonSerializer<TrelloId> {
+        @Override
+        public void serialize(TrelloId id, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] chars = new char[LENGTH];
+            id.writeHex(chars, 0);
+            generator.writeString(chars, 0, LENGTH);
+        }
+    }
+
+    /**
+     * Reads an ID from its hex string straight out of the parser's buffer
+     */
+    public static class Deserializer extends JsonDeserializer<TrelloId> {
+        @Override
+        public TrelloId deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                return (TrelloId) context.handleUnexpectedToken(TrelloId.class, parser);
+            }
+            int length = parser.getTextLength();
+            if (length == 0) {
+                return null;
+            }
+            try {
+                return parse(parser.getTextCharacters(), parser.getTextOffset(), length);
+            } catch (IllegalArgumentException e) {
+                return (TrelloId) context.handleWeirdStringValue(TrelloId.class, parser.getText(), e.getMessage());
+            }
+        }
+    }
+}
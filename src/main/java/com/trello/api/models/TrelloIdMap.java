@@ -0,0 +1,211 @@
+package com.trello.api.models;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Map from Trello IDs to models with primitive keys
+ * Keys are kept in a long and an int array with open addressing, so an entry costs 16 bytes plus the value
+ * instead of a map node, a boxed key and a 24 character string. Values must not be null.
+ * Not thread-safe.
+ * @param <V> Value type, e.g. Card
+ */
+public class TrelloIdMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] highs;
+    private int[] lows;
+    private Object[] values;
+    private int size;
+
+    public TrelloIdMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a map that holds the given number of entries without resizing
+     * @param expectedSize Expected number of entries
+     */
+    public TrelloIdMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Adds or replaces an entry
+     * @param id Key
+     * @param value Value, not null
+     * @return Previous value or null
+     */
+    public V put(TrelloId id, V value) {
+        return put(id.getHigh(), id.getLow(), value);
+    }
+
+    /**
+     * Adds or replaces an entry
+     * @param id Key as 24 hex characters
+     * @param value Value, not null
+     * @return Previous value or null
+     */
+    public V put(String id, V value) {
+        return put(TrelloId.parse(id), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(long high, int low, V value) {
+        if (value == null) {
+            throw new NullPointerException("TrelloIdMap does not hold null values");
+        }
+        int slot = find(high, low);
+        if (slot >= 0) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        if ((size + 1) * 4 > values.length * 3) {
+            resize(values.length * 2);
+            slot = find(high, low);
+        }
+        slot = ~slot;
+        highs[slot] = high;
+        lows[slot] = low;
+        values[slot] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Gets the value of an ID
+     * @param id Key
+     * @return Value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(TrelloId id) {
+        int slot = find(id.getHigh(), id.getLow());
+        return slot >= 0 ? (V) values[slot] : null;
+    }
+
+    /**
+     * Gets the value of an ID given as text
+     * @param id Key as 24 hex characters
+     * @return Value or null, also for text that is not a Trello ID
+     */
+    public V get(String id) {
+        return TrelloId.isValid(id) ? get(TrelloId.parse(id)) : null;
+    }
+
+    public boolean containsKey(TrelloId id) {
+        return find(id.getHigh(), id.getLow()) >= 0;
+    }
+
+    /**
+     * Removes the entry of an ID
+     * @param id Key
+     * @return Removed value or null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(TrelloId id) {
+        int slot = find(id.getHigh(), id.getLow());
+        if (slot < 0) {
+            return null;
+        }
+        V removed = (V) values[slot];
+        shiftBack(slot);
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Calls the action for every entry, in no particular order
+     * @param action Gets the ID and the value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<TrelloId, V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(new TrelloId(highs[i], lows[i]), (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Finds the slot of a key
+     * @return Slot index if present, otherwise the complement of the free slot it would go into
+     */
+    private int find(long high, int low) {
+        int mask = values.length - 1;
+        int slot = TrelloId.hash(high, low) & mask;
+        while (values[slot] != null) {
+            if (highs[slot] == high && lows[slot] == low) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ~slot;
+    }
+
+    /**
+     * Empties a slot and moves later entries of the same probe run back, so lookups need no tombstones
+     */
+    private void shiftBack(int gap) {
+        int mask = values.length - 1;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int home = TrelloId.hash(highs[slot], lows[slot]) & mask;
+            // Move the entry if its home is not between the gap and its slot (cyclically)
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                highs[gap] = highs[slot];
+                lows[gap] = lows[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHighs = highs;
+        int[] oldLows = lows;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = ~find(oldHighs[i], oldLows[i]);
+                highs[slot] = oldHighs[i];
+                lows[slot] = oldLows[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        highs = new long[capacity];
+        lows = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expectedSize * 4) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -1,34 +1,626 @@
 package com.trello.api.pages;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.trello.api.config.ApiCredentials;
 import com.trello.api.config.Config;
+import com.trello.api.http.ConnectionReleaseFilter;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.http.JsonArrayStream;
+import com.trello.api.http.OutboundRequestLimiter;
+import com.trello.api.http.RateLimiter;
+import com.trello.api.http.RequestDispatcher;
+import com.trello.api.http.ResponseCache;
+import com.trello.api.http.ResponseLogger;
+import com.trello.api.http.RetryExecutor;
+import com.trello.api.http.RetryPolicy;
+import com.trello.api.http.SingleFlight;
+import com.trello.api.metrics.MetricsRegistry;
+import com.trello.api.models.Card;
+import com.trello.api.models.OperationResult;
+import com.trello.api.models.TrelloId;
+import com.trello.api.utils.JsonUtils;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
 /**
  * Base Page Object class for Trello API
  * Contains common functionality for all API operations
  */
 public abstract class BasePage {
     
-    protected RequestSpecification requestSpec;
+    private static final RetryPolicy BATCH_POLICY = idempotentRetryPolicy().build();
+    
+    private final HttpTransport transport;
+    private final String baseUrl;
+    private final RateLimiter rateLimiter;
+    private final RequestSpecification baseTemplate;
+    private final RequestSpecification streamingBaseTemplate;
+    private final RequestSpecification batchTemplate;
+    private volatile RequestDispatcher dispatcher = RequestDispatcher.getDefault();
+    private volatile RetryExecutor retryExecutor = RetryExecutor.getDefault();
+    private volatile ResponseLogger responseLogger = ResponseLogger.getDefault();
+    private volatile MetricsRegistry metricsRegistry = MetricsRegistry.getDefault();
+    private volatile ResponseCache responseCache = ResponseCache.getDefault();
+    private volatile SingleFlight singleFlight = SingleFlight.getDefault();
+    private final java.util.List<ResourceListener> resourceListeners = new CopyOnWriteArrayList<>();
     
     /**
-     * Constructor initializes the base request specification
+     * Constructor initializes the base request template on the shared HTTP transport
      */
     public BasePage() {
-        initializeRequestSpec();
+        this(HttpTransport.getDefault());
+    }
+    
+    /**
+     * Constructor initializes the base request template on the given HTTP transport
+     * @param transport Connection pool used for all calls of this page object
+     */
+    public BasePage(HttpTransport transport) {
+        this(transport, Config.BASE_URL);
+    }
+    
+    /**
+     * Constructor initializes the base request template for another API server, e.g. the mock server
+     * @param transport Connection pool used for all calls of this page object
+     * @param baseUrl Base URL including the API version, e.g. http://localhost:8089/1
+     */
+    public BasePage(HttpTransport transport, String baseUrl) {
+        this.transport = transport;
+        this.baseUrl = baseUrl;
+        this.rateLimiter = RateLimiter.forCredentials(ApiCredentials.getApiKey(), ApiCredentials.getApiToken());
+        baseTemplate = buildBaseTemplate(true);
+        streamingBaseTemplate = buildBaseTemplate(false);
+        batchTemplate = endpointTemplate(Config.BATCH_ENDPOINT);
+    }
+    
+    /**
+     * Builds the base request template with common parameters.
+     * The template is never modified afterwards, every call starts from a fresh copy of it.
+     * @param bufferBody true to read the body right away and hand the connection back,
+     *                   false to leave it unread for streaming
+     * @return Base request template
+     */
+    private RequestSpecification buildBaseTemplate(boolean bufferBody) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setConfig(transport.getRestAssuredConfig())
+                .addFilter(rateLimiter);
+        if (bufferBody) {
+            // A streaming request holds its slot until the stream is closed, see streamArray
+            builder.addFilter(transport.getRequestLimiter())
+                    .addFilter(new ConnectionReleaseFilter());
+        }
+        if (ApiCredentials.areCredentialsLoaded()) {
+            builder.addQueryParam(Config.KEY_PARAM, ApiCredentials.getApiKey())
+                    .addQueryParam(Config.TOKEN_PARAM, ApiCredentials.getApiToken());
+        }
+        return builder.build();
+    }
+    
+    /**
+     * Builds a pre-configured request template for an endpoint
+     * @param basePath Endpoint path relative to the base URL (e.g. Config.BOARDS_ENDPOINT)
+     * @return Request template, only to be used through {@link #request(String, RequestSpecification)}
+     */
+    protected RequestSpecification endpointTemplate(String basePath) {
+        return new RequestSpecBuilder()
+                .addRequestSpecification(baseTemplate)
+                .setBasePath(basePath)
+                .build();
+    }
+    
+    /**
+     * Builds a request template for an endpoint whose response body is left unread, to be parsed while it arrives.
+     * The connection stays leased until the body is fully read or closed, so requests are sent through
+     * {@link #streamArray(Supplier, Class)}, which holds a slot of the transport's request limiter until then.
+     * @param basePath Endpoint path relative to the base URL (e.g. Config.BOARDS_ENDPOINT)
+     * @return Streaming request template, only to be used through {@link #streamingRequest(String, RequestSpecification)}
+     */
+    protected RequestSpecification streamingEndpointTemplate(String basePath) {
+        return new RequestSpecBuilder()
+                .addRequestSpecification(streamingBaseTemplate)
+                .setBasePath(basePath)
+                .build();
+    }
+    
+    /**
+     * Starts a new request from a template.
+     * Parameters added to the returned request only live for a single call, so a page object
+     * can be shared between calls and threads without state leaking from one request to another.
+     * Latency, limiter wait, traffic and errors of the request are recorded under the operation name.
+     * @param operation Operation name for the metrics, e.g. "createCard"
+     * @param template Template created with {@link #endpointTemplate(String)}
+     * @return Fresh request specification for a single call
+     */
+    protected RequestSpecification request(String operation, RequestSpecification template) {
+        return RestAssured.given().spec(template).filters(metricsRegistry.filtersFor(operation, true));
+    }
+    
+    /**
+     * Starts a new request from a streaming template, see {@link #request(String, RequestSpecification)}
+     * @param operation Operation name for the metrics, e.g. "streamCardsInBoard"
+     * @param template Template created with {@link #streamingEndpointTemplate(String)}
+     * @return Fresh request specification for a single call
+     */
+    protected RequestSpecification streamingRequest(String operation, RequestSpecification template) {
+        return RestAssured.given().spec(template).filters(metricsRegistry.filtersFor(operation, false));
+    }
+    
+    /**
+     * Sends a streaming request and reads its JSON array body element by element
+     * The request takes a slot of the transport's {@link com.trello.api.http.OutboundRequestLimiter} before it is sent
+     * and gives it back when the stream is closed, as long as its connection is leased.
+     * @param send Sends a request started with {@link #streamingRequest(String, RequestSpecification)}
+     * @param type Element type
+     * @param <T> Element type
+     * @return Lazily parsed elements, closing the stream releases the connection and the slot
+     */
+    protected <T> Stream<T> streamArray(Supplier<Response> send, Class<T> type) {
+        OutboundRequestLimiter limiter = transport.getRequestLimiter();
+        limiter.acquire();
+        try {
+            Response response = send.get();
+            // The body is not logged here, buffering it would defeat streaming
+            responseLogger.logStatus(response);
+            if (response.getStatusCode() != Config.OK_STATUS) {
+                // Reads the (small) error body, which also releases the connection
+                validateStatusCode(response, Config.OK_STATUS);
+            }
+            return JsonArrayStream.of(response, type).onClose(limiter::release);
+        } catch (RuntimeException | Error e) {
+            limiter.release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Gets the base URL this page object sends its requests to
+     * @return Base URL including the API version
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    /**
+     * Gets the HTTP transport used by this page object
+     * @return HTTP transport, e.g. to read connection pool statistics
+     */
+    public HttpTransport getTransport() {
+        return transport;
+    }
+    
+    /**
+     * Gets the rate limiter shared by all page objects using the same API key and token
+     * @return Rate limiter, e.g. to read how long the last call waited with getLastWaitMillis()
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+    
+    /**
+     * Gets the dispatcher used by the asynchronous operations of this page object
+     * @return Request dispatcher
+     */
+    public RequestDispatcher getDispatcher() {
+        return dispatcher;
+    }
+    
+    /**
+     * Sets the dispatcher used by the asynchronous operations of this page object
+     * @param dispatcher Request dispatcher with its own executor and in-flight limit
+     */
+    public void setDispatcher(RequestDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+    
+    /**
+     * Runs a blocking operation of this page object on its dispatcher
+     * @param operation The blocking operation
+     * @param <T> Result type
+     * @return Future completed with the result of the operation
+     */
+    protected <T> CompletableFuture<T> async(Supplier<T> operation) {
+        return dispatcher.submit(operation);
+    }
+    
+    /**
+     * Gets the retry executor that keeps the retry budgets of this page object's operations
+     * @return Retry executor
+     */
+    public RetryExecutor getRetryExecutor() {
+        return retryExecutor;
+    }
+    
+    /**
+     * Sets the retry executor that keeps the retry budgets of this page object's operations
+     * @param retryExecutor Retry executor
+     */
+    public void setRetryExecutor(RetryExecutor retryExecutor) {
+        this.retryExecutor = retryExecutor;
+    }
+    
+    /**
+     * Starts a retry policy for idempotent calls (GET, PUT, DELETE) that retries all transient errors
+     * @return Policy builder with the configured attempts and backoff, page objects can add their own retry conditions
+     */
+    protected static RetryPolicy.Builder idempotentRetryPolicy() {
+        return RetryPolicy.builder()
+                .maxAttempts(Config.RETRY_MAX_ATTEMPTS)
+                .backoff(Config.RETRY_BASE_DELAY_MS, Config.RETRY_MAX_DELAY_MS)
+                .retryOnTransientErrors();
+    }
+    
+    /**
+     * Starts a retry policy for calls that create something (POST) that only retries requests the server did not process
+     * @return Policy builder with the configured attempts and backoff, page objects can add their own retry conditions
+     */
+    protected static RetryPolicy.Builder nonIdempotentRetryPolicy() {
+        return RetryPolicy.builder()
+                .maxAttempts(Config.RETRY_MAX_ATTEMPTS)
+                .backoff(Config.RETRY_BASE_DELAY_MS, Config.RETRY_MAX_DELAY_MS)
+                .retryOnUnprocessedRequests();
+    }
+    
+    /**
+     * Sends a call, retrying on the calling thread
+     * The call is timed as one operation, its attempts as requests.
+     * @param operation Operation name, used for the retry budget and the metrics
+     * @param policy Retry policy
+     * @param attempt Sends one attempt, gets the attempt number starting at 1
+     * @return Response of the last attempt
+     */
+    protected Response withRetry(String operation, RetryPolicy policy, IntFunction<Response> attempt) {
+        return metricsRegistry.recordOperation(operation, () -> retryExecutor.execute(operation, policy, n -> {
+            recordRetry(operation, n);
+            return attempt.apply(n);
+        }));
+    }
+    
+    /**
+     * Sends a call without blocking the caller. Every attempt runs on the dispatcher,
+     * waiting between attempts is done by a timer and does not hold a thread.
+     * The call is timed as one operation until the future completes, its attempts as requests.
+     * @param operation Operation name, used for the retry budget and the metrics
+     * @param policy Retry policy
+     * @param attempt Sends one attempt, gets the attempt number starting at 1
+     * @return Future with the response of the last attempt
+     */
+    protected CompletableFuture<Response> withRetryAsync(String operation, RetryPolicy policy, IntFunction<Response> attempt) {
+        MetricsRegistry metrics = metricsRegistry;
+        return metrics.recordOperationAsync(operation, () -> retryExecutor.executeAsync(operation, policy, n -> async(() -> {
+            validateCredentials();
+            recordRetry(operation, n);
+            return metrics.withinOperation(() -> attempt.apply(n));
+        })));
+    }
+    
+    private void recordRetry(String operation, int attempt) {
+        if (attempt > 1) {
+            metricsRegistry.recordRetry(operation);
+        }
+    }
+    
+    /**
+     * Gets the logger that writes the responses of this page object
+     * @return Response logger
+     */
+    public ResponseLogger getResponseLogger() {
+        return responseLogger;
+    }
+    
+    /**
+     * Sets the logger that writes the responses of this page object
+     * @param responseLogger Response logger with its own mode and body size limit
+     */
+    public void setResponseLogger(ResponseLogger responseLogger) {
+        this.responseLogger = responseLogger;
     }
     
     /**
-     * Initializes the base request specification with common parameters
+     * Gets the registry that records the latency, retries, traffic and errors of this page object's operations
+     * @return Metrics registry
      */
-    private void initializeRequestSpec() {
-        requestSpec = RestAssured.given()
-                .baseUri(Config.BASE_URL)
-                .queryParam(Config.KEY_PARAM, ApiCredentials.getApiKey())
-                .queryParam(Config.TOKEN_PARAM, ApiCredentials.getApiToken());
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+    
+    /**
+     * Sets the registry that records the latency, retries, traffic and errors of this page object's operations
+     * @param metricsRegistry Metrics registry
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+    
+    /**
+     * Gets the cache that serves repeated GETs of this page object
+     * @return Response cache, disabled unless -Dtrello.cache.enabled=true
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+    
+    /**
+     * Sets the cache that serves repeated GETs of this page object.
+     * Page objects that change the same resources should share a cache, so their changes invalidate each other's entries.
+     * @param responseCache Response cache
+     */
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+    
+    /**
+     * Sends an idempotent GET through the response cache
+     * The call is timed as one operation; a call answered without a request is counted as a cache hit.
+     * @param operation Operation name for the metrics, the same the request was started with
+     * @param key Cache key of the resource, e.g. "board/{id}/lists"
+     * @param request Request started with {@link #request(String, RequestSpecification)}
+     * @param send Sends the request
+     * @param tags IDs of the resources a successful response depends on, see {@link #tag(String)}
+     * @return Cached, revalidated or fresh response
+     */
+    protected Response cachedGet(String operation, String key, RequestSpecification request,
+                                 Function<RequestSpecification, Response> send, Function<Response, ? extends Collection<?>> tags) {
+        return metricsRegistry.recordOperation(operation, () -> {
+            boolean[] sent = new boolean[1];
+            Response response = responseCache.get(key, request, spec -> {
+                sent[0] = true;
+                return send.apply(spec);
+            }, tags);
+            if (!sent[0]) {
+                metricsRegistry.recordCacheHit(operation);
+            }
+            return response;
+        });
+    }
+    
+    /**
+     * Drops the cached responses and detaches the reads in flight that depend on changed resources
+     * @param ids IDs of created, updated or deleted resources
+     */
+    protected void invalidate(String... ids) {
+        for (String id : ids) {
+            responseCache.invalidate(tag(id));
+            singleFlight.forget(id);
+        }
+    }
+    
+    /**
+     * Drops the cached responses and detaches the reads in flight that depend on changed resources
+     * @param ids IDs of created, updated or deleted resources as the models hold them, null IDs are skipped
+     */
+    protected void invalidate(TrelloId... ids) {
+        for (TrelloId id : ids) {
+            if (id != null) {
+                responseCache.invalidate(id);
+                singleFlight.forget(id);
+            }
+        }
+    }
+    
+    /**
+     * Gets the cache tag of a resource ID
+     * Responses are tagged with the {@link TrelloId}s of the models they hold, so tagging them does not build a string
+     * per model; anything that is not a Trello ID is tagged as it is.
+     * @param id Resource ID
+     * @return TrelloId of the ID, or the ID itself
+     */
+    protected static Object tag(String id) {
+        return TrelloId.isValid(id) ? TrelloId.parse(id) : id;
+    }
+    
+    /**
+     * Gets the group that coalesces concurrent identical reads of this page object
+     * @return Single-flight group
+     */
+    public SingleFlight getSingleFlight() {
+        return singleFlight;
+    }
+    
+    /**
+     * Sets the group that coalesces concurrent identical reads of this page object
+     * @param singleFlight Single-flight group, page objects sharing it share their reads
+     */
+    public void setSingleFlight(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+    
+    /**
+     * Runs a read, or waits for the same read of the same resource that is already in flight
+     * Coalesce the buffered response, not the models read from it, so every caller deserializes its own copy.
+     * Every caller is timed as one operation, also the ones that shared another caller's request.
+     * @param operation Operation name, e.g. "getCard"
+     * @param id ID of the resource read
+     * @param read The read
+     * @param <T> Result type
+     * @return Result, shared with the callers that were coalesced with this one
+     */
+    protected <T> T coalesce(String operation, String id, Supplier<T> read) {
+        return metricsRegistry.recordOperation(operation, () -> singleFlight.execute(baseUrl + " " + operation, id, read));
+    }
+    
+    /**
+     * Starts a non-blocking read, or joins the same read of the same resource that is already in flight
+     * @param operation Operation name, e.g. "getBoardLists"
+     * @param id ID of the resource read
+     * @param read Starts the read
+     * @param <T> Result type
+     * @return Future of the result, shared with the callers that were coalesced with this one
+     */
+    protected <T> CompletableFuture<T> coalesceAsync(String operation, String id, Supplier<CompletableFuture<T>> read) {
+        return metricsRegistry.recordOperationAsync(operation, () -> singleFlight.executeAsync(baseUrl + " " + operation, id, read));
+    }
+    
+    /**
+     * Registers a listener that is told about every board and card this page object creates, changes or deletes
+     * @param listener Listener, e.g. a cleanup engine
+     */
+    public void addResourceListener(ResourceListener listener) {
+        resourceListeners.add(listener);
+    }
+    
+    /**
+     * Removes a listener registered with {@link #addResourceListener(ResourceListener)}
+     * @param listener Listener to remove
+     */
+    public void removeResourceListener(ResourceListener listener) {
+        resourceListeners.remove(listener);
+    }
+    
+    /**
+     * Tells the resource listeners about a created resource
+     * @param type Kind of resource
+     * @param id ID of the new resource
+     * @param boardId ID of the board the resource belongs to, null for boards
+     */
+    protected void fireCreated(ResourceType type, String id, String boardId) {
+        for (ResourceListener listener : resourceListeners) {
+            listener.onCreated(type, id, boardId);
+        }
+    }
+    
+    /**
+     * Tells the resource listeners about a created, copied or updated card
+     * @param card Card as the server returned it
+     */
+    protected void fireCardSaved(Card card) {
+        for (ResourceListener listener : resourceListeners) {
+            listener.onCardSaved(card);
+        }
+    }
+    
+    /**
+     * Tells the resource listeners about a deleted resource
+     * @param type Kind of resource
+     * @param id ID of the deleted resource
+     */
+    protected void fireDeleted(ResourceType type, String id) {
+        for (ResourceListener listener : resourceListeners) {
+            listener.onDeleted(type, id);
+        }
+    }
+    
+    /**
+     * Reads many resources through Trello's /batch endpoint, {@link Config#BATCH_MAX_URLS} per request.
+     * The requests run concurrently on the dispatcher; a resource that cannot be read, or a request that fails,
+     * only fails its own results.
+     * Blocks the caller until every request finished. Code that runs on the dispatcher must use
+     * {@link #batchGetAsync(String, java.util.List, Class)}, a blocked dispatcher thread cannot run the requests it waits for.
+     * @param operation Operation name for the metrics and the retry budget, e.g. "getCards"
+     * @param paths Resource paths relative to the API version, e.g. "/cards/{id}"
+     * @param type Model type of the resources
+     * @param <T> Model type
+     * @return One result per path, in the same order
+     */
+    protected <T> java.util.List<OperationResult<T>> batchGet(String operation, java.util.List<String> paths, Class<T> type) {
+        return batchGetAsync(operation, paths, type).join();
+    }
+    
+    /**
+     * Reads many resources through Trello's /batch endpoint without blocking the caller
+     * @param operation Operation name for the metrics and the retry budget, e.g. "getCards"
+     * @param paths Resource paths relative to the API version, e.g. "/cards/{id}"
+     * @param type Model type of the resources
+     * @param <T> Model type
+     * @return Future with one result per path, in the same order; it does not complete exceptionally
+     */
+    protected <T> CompletableFuture<java.util.List<OperationResult<T>>> batchGetAsync(String operation,
+                                                                                     java.util.List<String> paths, Class<T> type) {
+        validateCredentials();
+        java.util.List<CompletableFuture<java.util.List<OperationResult<T>>>> futures = new ArrayList<>();
+        for (int from = 0; from < paths.size(); from += Config.BATCH_MAX_URLS) {
+            java.util.List<String> chunk = paths.subList(from, Math.min(from + Config.BATCH_MAX_URLS, paths.size()));
+            futures.add(withRetryAsync(operation, BATCH_POLICY, attempt -> sendBatch(operation, chunk))
+                    .thenApply(response -> toBatchResults(response, chunk.size(), type))
+                    .exceptionally(e -> failures(e, chunk.size())));
+        }
+        
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            java.util.List<OperationResult<T>> results = new ArrayList<>(paths.size());
+            for (CompletableFuture<java.util.List<OperationResult<T>>> future : futures) {
+                // Already completed, allOf only runs this once every chunk is done
+                results.addAll(future.join());
+            }
+            return results;
+        });
+    }
+    
+    private static <T> java.util.List<OperationResult<T>> failures(Throwable e, int count) {
+        Throwable error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        java.util.List<OperationResult<T>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(OperationResult.failure(error));
+        }
+        return results;
+    }
+    
+    private Response sendBatch(String operation, java.util.List<String> paths) {
+        Response response = request(operation, batchTemplate)
+                .queryParam(Config.URLS_PARAM, String.join(",", paths))
+                .when()
+                .get();
+        
+        logResponse(response);
+        return response;
+    }
+    
+    private <T> java.util.List<OperationResult<T>> toBatchResults(Response response, int expected, Class<T> type) {
+        validateStatusCode(response, Config.OK_STATUS);
+        JsonNode root;
+        try {
+            root = JsonUtils.getMapper().readTree(response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read batch response", e);
+        }
+        if (!root.isArray() || root.size() != expected) {
+            throw new IllegalStateException("Expected " + expected + " batch results but got: " + response.asString());
+        }
+        java.util.List<OperationResult<T>> results = new ArrayList<>(expected);
+        for (JsonNode item : root) {
+            results.add(toBatchResult(item, type));
+        }
+        return results;
+    }
+    
+    /**
+     * Converts one batch item, which is either the body keyed by its status code, e.g. {"200": {...}},
+     * or an error object with a statusCode field
+     */
+    private static <T> OperationResult<T> toBatchResult(JsonNode item, Class<T> type) {
+        Iterator<Map.Entry<String, JsonNode>> fields = item.fields();
+        Map.Entry<String, JsonNode> first = fields.hasNext() ? fields.next() : null;
+        if (first == null || !first.getKey().matches("\\d{3}") || fields.hasNext()) {
+            int status = item.path("statusCode").asInt(0);
+            return OperationResult.failure(new AssertionError("Expected status code " + Config.OK_STATUS
+                    + " but got " + status + ". Response: " + item));
+        }
+        int status = Integer.parseInt(first.getKey());
+        JsonNode body = first.getValue();
+        if (status != Config.OK_STATUS) {
+            return OperationResult.failure(new AssertionError("Expected status code " + Config.OK_STATUS
+                    + " but got " + status + ". Response: " + (body.isTextual() ? body.asText() : body.toString())));
+        }
+        try {
+            return OperationResult.success(JsonUtils.readerFor(type).readValue(body));
+        } catch (IOException e) {
+            return OperationResult.failure(new UncheckedIOException("Could not read " + type.getSimpleName() + " from batch result", e));
+        }
     }
     
     /**
@@ -42,12 +634,12 @@ public abstract class BasePage {
     }
     
     /**
-     * Logs the response for debugging purposes
+     * Logs the response for debugging purposes.
+     * The body is only read if its log level is enabled and is written on a background thread.
      * @param response The response to log
      */
     protected void logResponse(Response response) {
-        System.out.println("Response Status: " + response.getStatusCode());
-        System.out.println("Response Body: " + response.getBody().asString());
+        responseLogger.log(response);
     }
     
     /**
@@ -1,11 +1,21 @@
 package com.trello.api.pages;
 
 import com.trello.api.config.Config;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.http.RetryPolicy;
+import com.trello.api.models.Action;
 import com.trello.api.models.Board;
 import com.trello.api.models.List;
+import com.trello.api.models.OperationResult;
+import com.trello.api.models.Projection;
+import com.trello.api.utils.JsonUtils;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Page Object class for Trello Board API operations
@@ -13,6 +23,40 @@ import java.util.Arrays;
  */
 public class BoardPage extends BasePage {
     
+    // The default lists of a new board can show up a moment after the board itself
+    private static final RetryPolicy LISTS_READY_POLICY = idempotentRetryPolicy()
+            .backoff(Config.RETRY_CONSISTENCY_DELAY_MS, Config.RETRY_MAX_DELAY_MS)
+            .retryIf(response -> response.getStatusCode() == Config.OK_STATUS && "[]".equals(response.asString().trim()))
+            .build();
+    private static final RetryPolicy ACTIONS_POLICY = idempotentRetryPolicy().build();
+    
+    private final RequestSpecification boardsTemplate = endpointTemplate(Config.BOARDS_ENDPOINT);
+    private final RequestSpecification membersTemplate = endpointTemplate(Config.MEMBERS_ENDPOINT);
+    
+    /**
+     * Creates a page object on the shared HTTP transport
+     */
+    public BoardPage() {
+        super();
+    }
+    
+    /**
+     * Creates a page object on the given HTTP transport
+     * @param transport Connection pool used for all calls of this page object
+     */
+    public BoardPage(HttpTransport transport) {
+        super(transport);
+    }
+    
+    /**
+     * Creates a page object for another API server, e.g. the mock server
+     * @param transport Connection pool used for all calls of this page object
+     * @param baseUrl Base URL including the API version
+     */
+    public BoardPage(HttpTransport transport, String baseUrl) {
+        super(transport, baseUrl);
+    }
+    
     /**
      * Creates a new board
      * @param boardName Name of the board to create
@@ -21,16 +65,16 @@ public class BoardPage extends BasePage {
     public Board createBoard(String boardName) {
         validateCredentials();
         
-        Response response = requestSpec
+        Response response = request("createBoard", boardsTemplate)
                 .queryParam(Config.NAME_PARAM, boardName)
                 .when()
-                .post(Config.BOARDS_ENDPOINT);
+                .post();
         
         logResponse(response);
         // Trello API returns 200 for board creation, not 201
         validateStatusCode(response, Config.OK_STATUS);
         
-        return response.as(Board.class);
+        return toCreatedBoard(response);
     }
     
     /**
@@ -42,17 +86,23 @@ public class BoardPage extends BasePage {
     public Board createBoard(String boardName, String description) {
         validateCredentials();
         
-        Response response = requestSpec
+        Response response = request("createBoard", boardsTemplate)
                 .queryParam(Config.NAME_PARAM, boardName)
                 .queryParam(Config.DESC_PARAM, description)
                 .when()
-                .post(Config.BOARDS_ENDPOINT);
+                .post();
         
         logResponse(response);
         // Trello API returns 200 for board creation, not 201
         validateStatusCode(response, Config.OK_STATUS);
         
-        return response.as(Board.class);
+        return toCreatedBoard(response);
+    }
+    
+    private Board toCreatedBoard(Response response) {
+        Board board = JsonUtils.read(response, Board.class);
+        fireCreated(ResourceType.BOARD, board.getId(), null);
+        return board;
     }
     
     /**
@@ -63,14 +113,48 @@ public class BoardPage extends BasePage {
     public Board getBoard(String boardId) {
         validateCredentials();
         
-        Response response = requestSpec
+        Response response = cachedGet("getBoard", "board/" + boardId, request("getBoard", boardsTemplate),
+                request -> request.when().get("/{id}", boardId),
+                cached -> Collections.singleton(tag(boardId)));
+        
+        logResponse(response);
+        validateStatusCode(response, Config.OK_STATUS);
+        
+        return JsonUtils.read(response, Board.class);
+    }
+    
+    /**
+     * Gets only some fields of a board
+     * @param boardId ID of the board to retrieve
+     * @param projection Fields to request and the view they are read into, e.g. {@link Projection#NAME}
+     * @param <T> View type
+     * @return Board view
+     */
+    public <T> T getBoard(String boardId, Projection<T> projection) {
+        validateCredentials();
+        
+        Response response = request("getBoard", boardsTemplate)
+                .queryParam(Config.FIELDS_PARAM, projection.getFields())
                 .when()
-                .get(Config.BOARDS_ENDPOINT + "/" + boardId);
+                .get("/{id}", boardId);
         
         logResponse(response);
         validateStatusCode(response, Config.OK_STATUS);
         
-        return response.as(Board.class);
+        return JsonUtils.read(response, projection.getType());
+    }
+    
+    /**
+     * Gets many boards with a few batch requests instead of one request per board
+     * @param boardIds IDs of the boards to retrieve
+     * @return One result per ID, in the same order; a board that does not exist fails its own result only
+     */
+    public java.util.List<OperationResult<Board>> getBoards(Collection<String> boardIds) {
+        java.util.List<String> paths = new ArrayList<>(boardIds.size());
+        for (String boardId : boardIds) {
+            paths.add(Config.BOARDS_ENDPOINT + "/" + boardId);
+        }
+        return batchGet("getBoards", paths, Board.class);
     }
     
     /**
@@ -83,16 +167,17 @@ public class BoardPage extends BasePage {
     public Board updateBoard(String boardId, String boardName, String description) {
         validateCredentials();
         
-        Response response = requestSpec
+        Response response = request("updateBoard", boardsTemplate)
                 .queryParam(Config.NAME_PARAM, boardName)
                 .queryParam(Config.DESC_PARAM, description)
                 .when()
-                .put(Config.BOARDS_ENDPOINT + "/" + boardId);
+                .put("/{id}", boardId);
         
         logResponse(response);
         validateStatusCode(response, Config.OK_STATUS);
+        invalidate(boardId);
         
-        return response.as(Board.class);
+        return JsonUtils.read(response, Board.class);
     }
     
     /**
@@ -103,44 +188,91 @@ public class BoardPage extends BasePage {
     public Response deleteBoard(String boardId) {
         validateCredentials();
         
-        Response response = requestSpec
+        Response response = request("deleteBoard", boardsTemplate)
                 .when()
-                .delete(Config.BOARDS_ENDPOINT + "/" + boardId);
+                .delete("/{id}", boardId);
         
         logResponse(response);
         validateStatusCode(response, Config.OK_STATUS);
+        invalidate(boardId);
+        fireDeleted(ResourceType.BOARD, boardId);
         
         return response;
     }
     
+    /**
+     * Gets the boards of the member the API token belongs to, with their name and description only
+     * @param filter Trello board filter, e.g. "open" or "all"
+     * @return Boards of the member
+     */
+    public java.util.List<Board> getMyBoards(String filter) {
+        validateCredentials();
+        
+        Response response = request("getMyBoards", membersTemplate)
+                .queryParam(Config.FILTER_PARAM, filter)
+                .queryParam(Config.FIELDS_PARAM, "name,desc,closed")
+                .when()
+                .get("/me" + Config.BOARDS_ENDPOINT);
+        
+        logResponse(response);
+        validateStatusCode(response, Config.OK_STATUS);
+        
+        return JsonUtils.readList(response, Board.class);
+    }
+    
     /**
      * Gets all lists in a board
+     * Concurrent calls for the same board share one request, each caller gets its own list.
      * @param boardId ID of the board
      * @return List of List objects
      */
     public java.util.List<List> getBoardLists(String boardId) {
         validateCredentials();
-        int attempts = 0;
-        while (true) {
-            attempts++;
-            Response response = requestSpec
-                    .when()
-                    .get(Config.BOARDS_ENDPOINT + "/" + boardId + Config.LISTS_ENDPOINT);
-
-            logResponse(response);
-            validateStatusCode(response, Config.OK_STATUS);
-
-            java.util.List<List> lists = Arrays.asList(response.as(List[].class));
-            if (!lists.isEmpty() || attempts >= 3) {
-                return lists;
-            }
-            try {
-                Thread.sleep(500L * attempts);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return lists;
-            }
+        
+        return toLists(coalesce("getBoardLists", boardId,
+                () -> withRetry("getBoardLists", LISTS_READY_POLICY, attempt -> sendGetBoardLists(boardId, attempt))));
+    }
+    
+    private Response sendGetBoardLists(String boardId, int attempt) {
+        String key = "board/" + boardId + "/lists";
+        if (attempt > 1) {
+            // A retry must not be answered with the cached response that made it retry
+            getResponseCache().evict(key);
         }
+        Response response = cachedGet("getBoardLists", key, request("getBoardLists", boardsTemplate),
+                request -> request.when().get("/{id}" + Config.LISTS_ENDPOINT, boardId),
+                cached -> Collections.singleton(tag(boardId)));
+        
+        logResponse(response);
+        return response;
+    }
+    
+    private java.util.List<List> toLists(Response response) {
+        validateStatusCode(response, Config.OK_STATUS);
+        return JsonUtils.readList(response, List.class);
+    }
+    
+    /**
+     * Gets only some fields of the lists in a board
+     * @param boardId ID of the board
+     * @param projection Fields to request and the view they are read into, e.g. {@link Projection#ID}
+     * @param <T> View type
+     * @return List views
+     */
+    public <T> java.util.List<T> getBoardLists(String boardId, Projection<T> projection) {
+        validateCredentials();
+        
+        Response response = withRetry("getBoardLists", LISTS_READY_POLICY, attempt -> {
+            Response attemptResponse = request("getBoardLists", boardsTemplate)
+                    .queryParam(Config.FIELDS_PARAM, projection.getFields())
+                    .when()
+                    .get("/{id}" + Config.LISTS_ENDPOINT, boardId);
+            logResponse(attemptResponse);
+            return attemptResponse;
+        });
+        validateStatusCode(response, Config.OK_STATUS);
+        
+        return JsonUtils.readList(response, projection.getType());
     }
     
     /**
@@ -152,4 +284,108 @@ public class BoardPage extends BasePage {
         java.util.List<List> lists = getBoardLists(boardId);
         return lists.isEmpty() ? null : lists.get(0);
     }
+    
+    /**
+     * Reads the actions of a board page by page, newest first
+     * The feed is never cached, so it can be polled for changes: with the newest action seen so far as since, the
+     * requests only carry what happened after it.
+     * @param boardId ID of the board
+     * @param since ID of an action, only newer actions are returned; null for the whole feed
+     * @param filter Comma separated action types, e.g. "createCard,updateCard"; null for the server default
+     * @param pageSize Actions per request, at most {@link Config#ACTIONS_MAX_PAGE_SIZE}
+     * @return Iterator over the pages
+     */
+    public PageIterator<Action> iterateBoardActions(String boardId, String since, String filter, int pageSize) {
+        validateCredentials();
+        if (pageSize < 1 || pageSize > Config.ACTIONS_MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + Config.ACTIONS_MAX_PAGE_SIZE
+                    + " but was " + pageSize);
+        }
+        return new PageIterator<>(
+                before -> withRetryAsync("getBoardActions", ACTIONS_POLICY,
+                        attempt -> sendGetBoardActions(boardId, since, before, filter, pageSize))
+                        .thenApply(response -> {
+                            validateStatusCode(response, Config.OK_STATUS);
+                            return JsonUtils.readList(response, Action.class);
+                        }),
+                // Pages are newest first, the last action is the cursor of the next (older) page
+                page -> page.get(page.size() - 1).getId(), pageSize, false);
+    }
+    
+    private Response sendGetBoardActions(String boardId, String since, String before, String filter, int pageSize) {
+        RequestSpecification spec = request("getBoardActions", boardsTemplate)
+                .queryParam(Config.LIMIT_PARAM, pageSize);
+        if (since != null) {
+            spec = spec.queryParam(Config.SINCE_PARAM, since);
+        }
+        if (before != null) {
+            spec = spec.queryParam(Config.BEFORE_PARAM, before);
+        }
+        if (filter != null) {
+            spec = spec.queryParam(Config.FILTER_PARAM, filter);
+        }
+        Response response = spec.when().get("/{id}" + Config.ACTIONS_ENDPOINT, boardId);
+        
+        logResponse(response);
+        return response;
+    }
+    
+    /**
+     * Creates a new board without blocking the caller
+     * @param boardName Name of the board to create
+     * @return Future with the created board details
+     */
+    public CompletableFuture<Board> createBoardAsync(String boardName) {
+        return async(() -> createBoard(boardName));
+    }
+    
+    /**
+     * Creates a new board with description without blocking the caller
+     * @param boardName Name of the board to create
+     * @param description Description of the board
+     * @return Future with the created board details
+     */
+    public CompletableFuture<Board> createBoardAsync(String boardName, String description) {
+        return async(() -> createBoard(boardName, description));
+    }
+    
+    /**
+     * Gets board details by ID without blocking the caller
+     * @param boardId ID of the board to retrieve
+     * @return Future with the board details
+     */
+    public CompletableFuture<Board> getBoardAsync(String boardId) {
+        return async(() -> getBoard(boardId));
+    }
+    
+    /**
+     * Updates a board without blocking the caller
+     * @param boardId ID of the board to update
+     * @param boardName New name for the board
+     * @param description New description for the board
+     * @return Future with the updated board details
+     */
+    public CompletableFuture<Board> updateBoardAsync(String boardId, String boardName, String description) {
+        return async(() -> updateBoard(boardId, boardName, description));
+    }
+    
+    /**
+     * Deletes a board without blocking the caller
+     * @param boardId ID of the board to delete
+     * @return Future with the response
+     */
+    public CompletableFuture<Response> deleteBoardAsync(String boardId) {
+        return async(() -> deleteBoard(boardId));
+    }
+    
+    /**
+     * Gets all lists in a board without blocking the caller
+     * @param boardId ID of the board
+     * @return Future with the lists of the board
+     */
+    public CompletableFuture<java.util.List<List>> getBoardListsAsync(String boardId) {
+        return coalesceAsync("getBoardLists", boardId, () ->
+                withRetryAsync("getBoardLists", LISTS_READY_POLICY, attempt -> sendGetBoardLists(boardId, attempt)))
+                .thenApply(this::toLists);
+    }
 }
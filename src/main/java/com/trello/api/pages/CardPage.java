@@ -1,10 +1,24 @@
 package com.trello.api.pages;
 
 import com.trello.api.config.Config;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.http.RetryPolicy;
 import com.trello.api.models.Card;
+import com.trello.api.models.OperationResult;
+import com.trello.api.models.Projection;
+import com.trello.api.models.TrelloId;
+import com.trello.api.utils.JsonUtils;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Page Object class for Trello Card API operations
@@ -12,6 +26,47 @@ import java.util.Arrays;
  */
 public class CardPage extends BasePage {
     
+    // Trello sometimes rejects a list or card it has only just created with one of these 400s
+    private static final RetryPolicy CREATE_CARD_POLICY = nonIdempotentRetryPolicy()
+            .backoff(Config.RETRY_CONSISTENCY_DELAY_MS, Config.RETRY_MAX_DELAY_MS)
+            .retryOnStatusWithBody(Config.BAD_REQUEST_STATUS,
+                    "invalid value for idList", "invalid idList", "invalid id", "error parsing body")
+            .build();
+    private static final RetryPolicy UPDATE_CARD_POLICY = idempotentRetryPolicy()
+            .retryOnStatusWithBody(Config.BAD_REQUEST_STATUS, "invalid id")
+            .build();
+    private static final RetryPolicy READ_POLICY = idempotentRetryPolicy().build();
+    
+    private final RequestSpecification cardsTemplate = endpointTemplate(Config.CARDS_ENDPOINT);
+    private final RequestSpecification listsTemplate = endpointTemplate(Config.LISTS_ENDPOINT);
+    private final RequestSpecification boardsTemplate = endpointTemplate(Config.BOARDS_ENDPOINT);
+    private final RequestSpecification streamingListsTemplate = streamingEndpointTemplate(Config.LISTS_ENDPOINT);
+    private final RequestSpecification streamingBoardsTemplate = streamingEndpointTemplate(Config.BOARDS_ENDPOINT);
+    
+    /**
+     * Creates a page object on the shared HTTP transport
+     */
+    public CardPage() {
+        super();
+    }
+    
+    /**
+     * Creates a page object on the given HTTP transport
+     * @param transport Connection pool used for all calls of this page object
+     */
+    public CardPage(HttpTransport transport) {
+        super(transport);
+    }
+    
+    /**
+     * Creates a page object for another API server, e.g. the mock server
+     * @param transport Connection pool used for all calls of this page object
+     * @param baseUrl Base URL including the API version
+     */
+    public CardPage(HttpTransport transport, String baseUrl) {
+        super(transport, baseUrl);
+    }
+    
     /**
      * Creates a new card
      * @param cardName Name of the card to create
@@ -36,61 +91,125 @@ public class CardPage extends BasePage {
     }
 
     private Card createCardWithRetry(String cardName, String description, String listId) {
-        int attempts = 0;
-        while (true) {
-            attempts++;
-            io.restassured.specification.RequestSpecification spec = requestSpec
+        Response response = withRetry("createCard", CREATE_CARD_POLICY, createCardAttempts(cardName, description, listId));
+        return toCreatedCard(response);
+    }
+    
+    private IntFunction<Response> createCardAttempts(String cardName, String description, String listId) {
+        AtomicBoolean sendDescription = new AtomicBoolean(description != null);
+        return attempt -> {
+            RequestSpecification spec = request("createCard", cardsTemplate)
                     .queryParam(Config.NAME_PARAM, cardName)
                     .queryParam(Config.ID_LIST_PARAM, listId);
 
-            if (description != null) {
+            if (sendDescription.get()) {
                 spec = spec.queryParam(Config.DESC_PARAM, description);
             }
 
-            Response response = spec.when().post(Config.CARDS_ENDPOINT);
+            Response response = spec.when().post();
 
             logResponse(response);
 
-            if (response.getStatusCode() == Config.OK_STATUS) {
-                return response.as(Card.class);
-            }
-
-            String body = response.getBody() == null ? "" : response.getBody().asString();
-            boolean retryable = response.getStatusCode() == 400 && (body.contains("invalid value for idList") || body.contains("invalid idList") || body.contains("invalid id") || body.toLowerCase().contains("error parsing body"));
-            if (!retryable || attempts >= 3) {
-                validateStatusCode(response, Config.OK_STATUS);
-                return response.as(Card.class);
-            }
-
             // On first retry, try without description to avoid parsing issues
-            if (attempts == 1 && description != null) {
-                description = null;
-            }
-
-            try {
-                Thread.sleep(800L * attempts);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            if (attempt == 1 && response.getStatusCode() == Config.BAD_REQUEST_STATUS && CREATE_CARD_POLICY.shouldRetry(response)) {
+                sendDescription.set(false);
             }
-        }
+            return response;
+        };
+    }
+    
+    private Card toCard(Response response) {
+        validateStatusCode(response, Config.OK_STATUS);
+        return JsonUtils.read(response, Card.class);
+    }
+    
+    private Card toCreatedCard(Response response) {
+        Card card = toCard(response);
+        invalidate(card.getTrelloIdBoard());
+        fireCreated(ResourceType.CARD, card.getId(), card.getIdBoard());
+        fireCardSaved(card);
+        return card;
+    }
+    
+    private Card toChangedCard(Response response) {
+        Card card = toCard(response);
+        invalidate(card.getTrelloId(), card.getTrelloIdBoard());
+        fireCardSaved(card);
+        return card;
+    }
+    
+    /**
+     * Creates many cards in a list at once.
+     * Cards are submitted concurrently through the page object's dispatcher and share the pooled connections,
+     * a failing card does not stop the others.
+     * Blocks the caller until every card is created. Code that runs on the dispatcher must use
+     * {@link #createCardsAsync(String, Collection)}, a blocked dispatcher thread cannot run the requests it waits for.
+     * @param listId ID of the list to create the cards in
+     * @param cards Cards to create, only name and description are used
+     * @return One result per card, in the same order as the input
+     */
+    public java.util.List<OperationResult<Card>> createCards(String listId, Collection<Card> cards) {
+        return createCardsAsync(listId, cards).join();
     }
     
     /**
      * Gets card details by ID
+     * Concurrent calls for the same card share one request, each caller gets its own card.
      * @param cardId ID of the card to retrieve
      * @return Card object with card details
      */
     public Card getCard(String cardId) {
         validateCredentials();
         
-        Response response = requestSpec
+        Response response = coalesce("getCard", cardId, () -> {
+            Response read = request("getCard", cardsTemplate)
+                    .when()
+                    .get("/{id}", cardId);
+            
+            logResponse(read);
+            return read;
+        });
+        validateStatusCode(response, Config.OK_STATUS);
+        
+        return JsonUtils.read(response, Card.class);
+    }
+    
+    /**
+     * Gets only some fields of a card
+     * @param cardId ID of the card to retrieve
+     * @param projection Fields to request and the view they are read into, e.g. {@link Projection#NAME}
+     * @param <T> View type
+     * @return Card view
+     */
+    public <T> T getCard(String cardId, Projection<T> projection) {
+        validateCredentials();
+        
+        Response response = request("getCard", cardsTemplate)
+                .queryParam(Config.FIELDS_PARAM, projection.getFields())
                 .when()
-                .get(Config.CARDS_ENDPOINT + "/" + cardId);
+                .get("/{id}", cardId);
         
         logResponse(response);
         validateStatusCode(response, Config.OK_STATUS);
         
-        return response.as(Card.class);
+        return JsonUtils.read(response, projection.getType());
+    }
+    
+    /**
+     * Gets many cards with a few batch requests instead of one request per card
+     * @param cardIds IDs of the cards to retrieve
+     * @return One result per ID, in the same order; a card that does not exist fails its own result only
+     */
+    public java.util.List<OperationResult<Card>> getCards(Collection<String> cardIds) {
+        return batchGet("getCards", cardPaths(cardIds), Card.class);
+    }
+    
+    private static java.util.List<String> cardPaths(Collection<String> cardIds) {
+        java.util.List<String> paths = new ArrayList<>(cardIds.size());
+        for (String cardId : cardIds) {
+            paths.add(Config.CARDS_ENDPOINT + "/" + cardId);
+        }
+        return paths;
     }
     
     /**
@@ -103,16 +222,14 @@ public class CardPage extends BasePage {
     public Card updateCard(String cardId, String cardName, String description) {
         validateCredentials();
         
-        Response response = requestSpec
+        Response response = request("updateCard", cardsTemplate)
                 .queryParam(Config.NAME_PARAM, cardName)
                 .queryParam(Config.DESC_PARAM, description)
                 .when()
-                .put(Config.CARDS_ENDPOINT + "/" + cardId);
+                .put("/{id}", cardId);
         
         logResponse(response);
-        validateStatusCode(response, Config.OK_STATUS);
-        
-        return response.as(Card.class);
+        return toChangedCard(response);
     }
     
     /**
@@ -123,30 +240,19 @@ public class CardPage extends BasePage {
      */
     public Card updateCardDescription(String cardId, String description) {
         validateCredentials();
-        int attempts = 0;
-        while (true) {
-            attempts++;
-            Response response = requestSpec
-                    .queryParam(Config.DESC_PARAM, description)
-                    .when()
-                    .put(Config.CARDS_ENDPOINT + "/" + cardId);
-
-            logResponse(response);
-            if (response.getStatusCode() == Config.OK_STATUS) {
-                return response.as(Card.class);
-            }
-            String body = response.getBody() == null ? "" : response.getBody().asString();
-            boolean retryable = response.getStatusCode() == 400 && body.contains("invalid id");
-            if (!retryable || attempts >= 3) {
-                validateStatusCode(response, Config.OK_STATUS);
-                return response.as(Card.class);
-            }
-            try {
-                Thread.sleep(800L * attempts);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
+        
+        Response response = withRetry("updateCardDescription", UPDATE_CARD_POLICY, attempt -> sendUpdateCardDescription(cardId, description));
+        return toChangedCard(response);
+    }
+    
+    private Response sendUpdateCardDescription(String cardId, String description) {
+        Response response = request("updateCardDescription", cardsTemplate)
+                .queryParam(Config.DESC_PARAM, description)
+                .when()
+                .put("/{id}", cardId);
+        
+        logResponse(response);
+        return response;
     }
     
     /**
@@ -157,12 +263,14 @@ public class CardPage extends BasePage {
     public Response deleteCard(String cardId) {
         validateCredentials();
         
-        Response response = requestSpec
+        Response response = request("deleteCard", cardsTemplate)
                 .when()
-                .delete(Config.CARDS_ENDPOINT + "/" + cardId);
+                .delete("/{id}", cardId);
         
         logResponse(response);
         validateStatusCode(response, Config.OK_STATUS);
+        invalidate(cardId);
+        fireDeleted(ResourceType.CARD, cardId);
         
         return response;
     }
@@ -175,14 +283,56 @@ public class CardPage extends BasePage {
     public java.util.List<Card> getCardsInList(String listId) {
         validateCredentials();
         
-        Response response = requestSpec
+        Response response = request("getCardsInList", listsTemplate)
                 .when()
-                .get(Config.LISTS_ENDPOINT + "/" + listId + Config.CARDS_ENDPOINT);
+                .get("/{id}" + Config.CARDS_ENDPOINT, listId);
         
         logResponse(response);
         validateStatusCode(response, Config.OK_STATUS);
         
-        return Arrays.asList(response.as(Card[].class));
+        return JsonUtils.readList(response, Card.class);
+    }
+    
+    /**
+     * Gets only some fields of all cards in a list
+     * @param listId ID of the list
+     * @param projection Fields to request and the view they are read into, e.g. {@link Projection#ID}
+     * @param <T> View type
+     * @return Card views
+     */
+    public <T> java.util.List<T> getCardsInList(String listId, Projection<T> projection) {
+        validateCredentials();
+        
+        Response response = request("getCardsInList", listsTemplate)
+                .queryParam(Config.FIELDS_PARAM, projection.getFields())
+                .when()
+                .get("/{id}" + Config.CARDS_ENDPOINT, listId);
+        
+        logResponse(response);
+        validateStatusCode(response, Config.OK_STATUS);
+        
+        return JsonUtils.readList(response, projection.getType());
+    }
+    
+    /**
+     * Gets only some fields of all cards in a board
+     * @param boardId ID of the board
+     * @param projection Fields to request and the view they are read into, e.g. {@link Projection#ID}
+     * @param <T> View type
+     * @return Card views
+     */
+    public <T> java.util.List<T> getCardsInBoard(String boardId, Projection<T> projection) {
+        validateCredentials();
+        
+        Response response = request("getCardsInBoard", boardsTemplate)
+                .queryParam(Config.FIELDS_PARAM, projection.getFields())
+                .when()
+                .get("/{id}" + Config.CARDS_ENDPOINT, boardId);
+        
+        logResponse(response);
+        validateStatusCode(response, Config.OK_STATUS);
+        
+        return JsonUtils.readList(response, projection.getType());
     }
     
     /**
@@ -193,16 +343,103 @@ public class CardPage extends BasePage {
     public java.util.List<Card> getCardsInBoard(String boardId) {
         validateCredentials();
         
-        Response response = requestSpec
-                .when()
-                .get(Config.BOARDS_ENDPOINT + "/" + boardId + Config.CARDS_ENDPOINT);
+        Response response = cachedGet("getCardsInBoard", "board/" + boardId + "/cards",
+                request("getCardsInBoard", boardsTemplate),
+                request -> request.when().get("/{id}" + Config.CARDS_ENDPOINT, boardId),
+                cached -> boardAndCardIds(boardId, cached));
         
         logResponse(response);
         validateStatusCode(response, Config.OK_STATUS);
         
-        return Arrays.asList(response.as(Card[].class));
+        return JsonUtils.readList(response, Card.class);
     }
-
+    
+    /**
+     * Reads the cards of a board page by page, newest first, with Trello's before/limit paging.
+     * Only the requested fields are transferred and only one or two pages are in memory at a time, so huge boards
+     * can be processed with little heap, e.g. for collecting card IDs.
+     * Cards created while iterating are not returned, cards deleted while iterating may be.
+     * @param boardId ID of the board
+     * @param query Fields, filter, page size and prefetching
+     * @return Iterator over the pages, {@link PageIterator#stream()} streams the cards
+     */
+    public PageIterator<Card> iterateCardsInBoard(String boardId, CardQuery query) {
+        validateCredentials();
+        return new PageIterator<>(
+                before -> withRetryAsync("getCardsInBoardPage", READ_POLICY, attempt -> sendGetCardsInBoardPage(boardId, query, before))
+                        .thenApply(response -> {
+                            validateStatusCode(response, Config.OK_STATUS);
+                            return JsonUtils.readList(response, Card.class);
+                        }),
+                CardPage::oldestId, query.getPageSize(), query.isPrefetch());
+    }
+    
+    private Response sendGetCardsInBoardPage(String boardId, CardQuery query, String before) {
+        RequestSpecification spec = request("getCardsInBoardPage", boardsTemplate)
+                .queryParam(Config.LIMIT_PARAM, query.getPageSize());
+        if (before != null) {
+            spec = spec.queryParam(Config.BEFORE_PARAM, before);
+        }
+        if (query.getFields() != null) {
+            spec = spec.queryParam(Config.FIELDS_PARAM, query.getFields());
+        }
+        if (query.getFilter() != null) {
+            spec = spec.queryParam(Config.FILTER_PARAM, query.getFilter());
+        }
+        Response response = spec.when().get("/{id}" + Config.CARDS_ENDPOINT, boardId);
+        
+        logResponse(response);
+        return response;
+    }
+    
+    // IDs start with the creation time, the smallest one is the cursor of the next (older) page
+    private static String oldestId(java.util.List<Card> page) {
+        TrelloId oldest = null;
+        for (Card card : page) {
+            TrelloId id = card.getTrelloId();
+            if (oldest == null || id.compareTo(oldest) < 0) {
+                oldest = id;
+            }
+        }
+        return TrelloId.toStringOrNull(oldest);
+    }
+    
+    // Deleting or changing any of the cards invalidates the cached list, not only changes to the board
+    private static Set<Object> boardAndCardIds(String boardId, Response response) {
+        Set<Object> ids = JsonUtils.readList(response, Card.class).stream().map(Card::getTrelloId).collect(Collectors.toSet());
+        ids.add(tag(boardId));
+        return ids;
+    }
+    
+    /**
+     * Streams all cards in a list, parsing them one at a time while the response arrives
+     * The stream holds an HTTP connection until it is closed, use it in a try-with-resources block.
+     * @param listId ID of the list
+     * @return Stream of Card objects
+     */
+    public Stream<Card> streamCardsInList(String listId) {
+        validateCredentials();
+        
+        return streamArray(() -> streamingRequest("streamCardsInList", streamingListsTemplate)
+                .when()
+                .get("/{id}" + Config.CARDS_ENDPOINT, listId), Card.class);
+    }
+    
+    /**
+     * Streams all cards in a board, parsing them one at a time while the response arrives.
+     * Boards with tens of thousands of cards are processed in constant memory.
+     * The stream holds an HTTP connection until it is closed, use it in a try-with-resources block.
+     * @param boardId ID of the board
+     * @return Stream of Card objects
+     */
+    public Stream<Card> streamCardsInBoard(String boardId) {
+        validateCredentials();
+        
+        return streamArray(() -> streamingRequest("streamCardsInBoard", streamingBoardsTemplate)
+                .when()
+                .get("/{id}" + Config.CARDS_ENDPOINT, boardId), Card.class);
+    }
+    
     /**
      * Copies an existing card
      * @param sourceCardId The ID of the card to copy
@@ -212,16 +449,128 @@ public class CardPage extends BasePage {
      */
     public Card copyCard(String sourceCardId, String targetListId, String newName) {
         validateCredentials();
-        io.restassured.specification.RequestSpecification spec = requestSpec
+        RequestSpecification spec = request("copyCard", cardsTemplate)
                 .queryParam("idCardSource", sourceCardId)
                 .queryParam(Config.ID_LIST_PARAM, targetListId)
                 .queryParam("keepFromSource", "all");
         if (newName != null && !newName.isEmpty()) {
             spec = spec.queryParam(Config.NAME_PARAM, newName);
         }
-        Response response = spec.when().post(Config.CARDS_ENDPOINT);
+        Response response = spec.when().post();
         logResponse(response);
-        validateStatusCode(response, Config.OK_STATUS);
-        return response.as(Card.class);
+        return toCreatedCard(response);
+    }
+    
+    /**
+     * Creates a new card without blocking the caller
+     * @param cardName Name of the card to create
+     * @param listId ID of the list to create the card in
+     * @return Future with the created card details
+     */
+    public CompletableFuture<Card> createCardAsync(String cardName, String listId) {
+        return withRetryAsync("createCard", CREATE_CARD_POLICY, createCardAttempts(cardName, null, listId))
+                .thenApply(this::toCreatedCard);
+    }
+    
+    /**
+     * Creates a new card with description without blocking the caller
+     * @param cardName Name of the card to create
+     * @param description Description of the card
+     * @param listId ID of the list to create the card in
+     * @return Future with the created card details
+     */
+    public CompletableFuture<Card> createCardAsync(String cardName, String description, String listId) {
+        return withRetryAsync("createCard", CREATE_CARD_POLICY, createCardAttempts(cardName, description, listId))
+                .thenApply(this::toCreatedCard);
+    }
+    
+    /**
+     * Creates many cards in a list without blocking the caller
+     * @param listId ID of the list to create the cards in
+     * @param cards Cards to create, only name and description are used
+     * @return Future with one result per card, in the same order as the input; it does not complete exceptionally
+     */
+    public CompletableFuture<java.util.List<OperationResult<Card>>> createCardsAsync(String listId, Collection<Card> cards) {
+        validateCredentials();
+        java.util.List<CompletableFuture<Card>> futures = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            futures.add(createCardAsync(card.getName(), card.getDesc(), listId));
+        }
+        
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).handle((done, error) -> {
+            java.util.List<OperationResult<Card>> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<Card> future : futures) {
+                // Already completed, allOf only completes once every card is done
+                results.add(OperationResult.of(future));
+            }
+            return results;
+        });
+    }
+    
+    /**
+     * Gets card details by ID without blocking the caller
+     * @param cardId ID of the card to retrieve
+     * @return Future with the card details
+     */
+    public CompletableFuture<Card> getCardAsync(String cardId) {
+        return async(() -> getCard(cardId));
+    }
+    
+    /**
+     * Gets many cards with a few batch requests without blocking the caller
+     * @param cardIds IDs of the cards to retrieve
+     * @return Future with one result per ID, in the same order; it does not complete exceptionally
+     */
+    public CompletableFuture<java.util.List<OperationResult<Card>>> getCardsAsync(Collection<String> cardIds) {
+        return batchGetAsync("getCards", cardPaths(cardIds), Card.class);
+    }
+    
+    /**
+     * Updates a card without blocking the caller
+     * @param cardId ID of the card to update
+     * @param cardName New name for the card
+     * @param description New description for the card
+     * @return Future with the updated card details
+     */
+    public CompletableFuture<Card> updateCardAsync(String cardId, String cardName, String description) {
+        return async(() -> updateCard(cardId, cardName, description));
+    }
+    
+    /**
+     * Updates only the description of a card without blocking the caller
+     * @param cardId ID of the card to update
+     * @param description New description for the card
+     * @return Future with the updated card details
+     */
+    public CompletableFuture<Card> updateCardDescriptionAsync(String cardId, String description) {
+        return withRetryAsync("updateCardDescription", UPDATE_CARD_POLICY, attempt -> sendUpdateCardDescription(cardId, description))
+                .thenApply(this::toChangedCard);
+    }
+    
+    /**
+     * Deletes a card without blocking the caller
+     * @param cardId ID of the card to delete
+     * @return Future with the response
+     */
+    public CompletableFuture<Response> deleteCardAsync(String cardId) {
+        return async(() -> deleteCard(cardId));
+    }
+    
+    /**
+     * Gets all cards in a list without blocking the caller
+     * @param listId ID of the list
+     * @return Future with the cards of the list
+     */
+    public CompletableFuture<java.util.List<Card>> getCardsInListAsync(String listId) {
+        return async(() -> getCardsInList(listId));
+    }
+    
+    /**
+     * Gets all cards in a board without blocking the caller
+     * @param boardId ID of the board
+     * @return Future with the cards of the board
+     */
+    public CompletableFuture<java.util.List<Card>> getCardsInBoardAsync(String boardId) {
+        return async(() -> getCardsInBoard(boardId));
     }
 }
@@ -0,0 +1,111 @@
+package com.trello.api.pages;
+
+import com.trello.api.config.Config;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Options for reading the cards of a board page by page, see {@link CardPage#iterateCardsInBoard(String, CardQuery)}
+ * Instances are immutable and can be shared, create them with {@link #builder()}.
+ */
+public class CardQuery {
+
+    private final String fields;
+    private final String filter;
+    private final int pageSize;
+    private final boolean prefetch;
+
+    private CardQuery(Builder builder) {
+        this.fields = builder.fields;
+        this.filter = builder.filter;
+        this.pageSize = builder.pageSize;
+        this.prefetch = builder.prefetch;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the card fields the server returns
+     * @return Comma separated fields, always including id, or null for all fields
+     */
+    public String getFields() {
+        return fields;
+    }
+
+    /**
+     * Gets the Trello card filter
+     * @return Filter, e.g. "open", "closed" or "all", or null for the server default
+     */
+    public String getFilter() {
+        return filter;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Tells whether the next page is requested while the current one is processed
+     * @return true to prefetch
+     */
+    public boolean isPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Builder for {@link CardQuery}
+     */
+    public static class Builder {
+        private String fields;
+        private String filter;
+        private int pageSize = Config.CARDS_MAX_PAGE_SIZE;
+        private boolean prefetch;
+
+        /**
+         * @param fields Card fields to return, e.g. "name", "idList"; id is always returned, it is the page cursor
+         */
+        public Builder fields(String... fields) {
+            Set<String> selected = new LinkedHashSet<>();
+            selected.add("id");
+            selected.addAll(Arrays.asList(fields));
+            this.fields = String.join(",", selected);
+            return this;
+        }
+
+        /**
+         * @param filter Trello card filter: "open", "closed", "visible" or "all"
+         */
+        public Builder filter(String filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * @param pageSize Cards per request, at most {@link Config#CARDS_MAX_PAGE_SIZE}
+         */
+        public Builder pageSize(int pageSize) {
+            if (pageSize < 1 || pageSize > Config.CARDS_MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("pageSize must be between 1 and " + Config.CARDS_MAX_PAGE_SIZE
+                        + " but was " + pageSize);
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * @param prefetch true to request the next page as soon as the current one arrives
+         */
+        public Builder prefetch(boolean prefetch) {
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        public CardQuery build() {
+            return new CardQuery(this);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.trello.api.pages;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over a cursor-paged collection one page at a time
+ * Only the current page (and with prefetching the next one) is held in memory. A page shorter than the page size
+ * is the last one. Not thread-safe, every caller needs its own iterator.
+ * @param <T> Element type
+ */
+public class PageIterator<T> implements Iterator<java.util.List<T>>, AutoCloseable {
+
+    private final Function<String, CompletableFuture<java.util.List<T>>> fetch;
+    private final Function<java.util.List<T>, String> nextCursor;
+    private final int pageSize;
+    private final boolean prefetch;
+
+    private String cursor;
+    private CompletableFuture<java.util.List<T>> pending;
+    private java.util.List<T> ready;
+    private boolean exhausted;
+
+    /**
+     * Creates an iterator, the first page is requested by the first call to {@link #hasNext()}
+     * @param fetch Requests the page after a cursor, gets null for the first page
+     * @param nextCursor Gets the cursor of the page after a full page
+     * @param pageSize Elements per page
+     * @param prefetch true to request the next page as soon as the current one arrives
+     */
+    public PageIterator(Function<String, CompletableFuture<java.util.List<T>>> fetch,
+                        Function<java.util.List<T>, String> nextCursor, int pageSize, boolean prefetch) {
+        this.fetch = fetch;
+        this.nextCursor = nextCursor;
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (ready == null && !exhausted) {
+            if (pending == null) {
+                pending = fetch.apply(cursor);
+            }
+            java.util.List<T> page = await(pending);
+            pending = null;
+            if (page.size() < pageSize) {
+                exhausted = true;
+            } else {
+                cursor = nextCursor.apply(page);
+                if (prefetch) {
+                    pending = fetch.apply(cursor);
+                }
+            }
+            ready = page.isEmpty() ? null : page;
+        }
+        return ready != null;
+    }
+
+    @Override
+    public java.util.List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        java.util.List<T> page = ready;
+        ready = null;
+        return page;
+    }
+
+    /**
+     * Streams the elements of the remaining pages, requesting pages as the stream is consumed
+     * @return Stream of elements, closing it cancels a prefetched page
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(java.util.List::stream)
+                .onClose(this::close);
+    }
+
+    /**
+     * Stops iterating and cancels a prefetched page that is still in flight
+     */
+    @Override
+    public void close() {
+        exhausted = true;
+        ready = null;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
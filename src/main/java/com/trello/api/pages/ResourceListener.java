@@ -0,0 +1,32 @@
+package com.trello.api.pages;
+
+import com.trello.api.models.Card;
+
+/**
+ * Gets told about every resource a page object creates, changes or deletes, e.g. to clean up after a test run
+ * Called on the thread that made the request, implementations must be thread-safe and fast.
+ */
+public interface ResourceListener {
+
+    /**
+     * Called after a resource was created
+     * @param type Kind of resource
+     * @param id ID of the new resource
+     * @param boardId ID of the board the resource belongs to, null for boards
+     */
+    void onCreated(ResourceType type, String id, String boardId);
+
+    /**
+     * Called after a resource was deleted
+     * @param type Kind of resource
+     * @param id ID of the deleted resource
+     */
+    void onDeleted(ResourceType type, String id);
+
+    /**
+     * Called after a card was created, copied or updated, with the card the server returned
+     * @param card Saved card
+     */
+    default void onCardSaved(Card card) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.trello.api.pages;
+
+/**
+ * Kinds of Trello resources the page objects create and delete
+ */
+public enum ResourceType {
+    BOARD,
+    CARD
+}
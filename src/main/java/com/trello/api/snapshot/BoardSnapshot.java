@@ -0,0 +1,574 @@
+package com.trello.api.snapshot;
+
+import com.trello.api.config.Config;
+import com.trello.api.models.Action;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.models.List;
+import com.trello.api.models.OperationResult;
+import com.trello.api.models.Projection;
+import com.trello.api.models.TrelloId;
+import com.trello.api.models.TrelloIdMap;
+import com.trello.api.pages.BasePage;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import com.trello.api.pages.PageIterator;
+import com.trello.api.pages.ResourceListener;
+import com.trello.api.pages.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of a board's lists and cards with indexes for local queries
+ * Loaded with four requests, then kept up to date by the page objects it is attached to: cards created, copied,
+ * updated or deleted through them are applied right away. Changes made by other clients are picked up by
+ * {@link #sync()}, which reads only the board's actions since the last load or sync, or by a full {@link #reload()}.
+ * Lookups by ID are O(1), cards of a list are kept sorted by position and name prefix searches are O(log n).
+ * Only open cards of open lists are held. Cards are the objects the page objects returned and must be treated as
+ * read-only.
+ * Thread-safe, queries return copies.
+ */
+public class BoardSnapshot implements ResourceListener, AutoCloseable {
+
+    private static final Comparator<Card> BY_POSITION = Comparator.comparingDouble(Card::getPos)
+            .thenComparing(Card::getTrelloId);
+    // Actions that change the board, its lists or cards; comments, checklists etc. are not followed
+    private static final String SYNC_ACTION_TYPES = "updateBoard,createList,updateList,moveListToBoard,moveListFromBoard,"
+            + "createCard,copyCard,convertToCardFromCheckItem,moveCardToBoard,updateCard,deleteCard,moveCardFromBoard";
+    // All fields of the models; projected reads bypass the response cache and single-flight, so they are current
+    private static final Projection<Board> BOARD_FIELDS = Projection.of(Board.class, "name", "desc", "closed",
+            "idOrganization", "pinned", "url", "shortUrl");
+    private static final Projection<List> LIST_FIELDS = Projection.of(List.class, "name", "closed", "idBoard", "pos");
+    private static final Projection<Card> CARD_FIELDS = Projection.of(Card.class, "name", "desc", "idList", "idBoard",
+            "closed", "pos", "url", "shortUrl");
+
+    private final String boardId;
+    // Models are matched on TrelloIds, their string getters build a new string per call
+    private final TrelloId boardTrelloId;
+    private final BoardPage boardPage;
+    private final CardPage cardPage;
+
+    private Board board;
+    private java.util.List<List> lists = Collections.emptyList();
+    private final Map<TrelloId, List> listsById = new HashMap<>();
+    private final TrelloIdMap<Card> cardsById = new TrelloIdMap<>();
+    private final Map<TrelloId, TreeSet<Card>> cardsByList = new HashMap<>();
+    // Name to the cards with that name, by ID
+    private final NavigableMap<String, Map<TrelloId, Card>> cardsByName = new TreeMap<>();
+    private boolean deleted;
+    // Newest action already reflected in the snapshot, null if the board had none when it was loaded
+    private String actionCursor;
+
+    private BoardSnapshot(String boardId, BoardPage boardPage, CardPage cardPage) {
+        this.boardId = boardId;
+        this.boardTrelloId = key(boardId);
+        this.boardPage = boardPage;
+        this.cardPage = cardPage;
+    }
+
+    /**
+     * Loads a board and starts following the changes made through the page objects
+     * @param boardPage Board page object, used for loading and followed for board deletion
+     * @param cardPage Card page object, used for loading and followed for card changes
+     * @param boardId ID of the board
+     * @return Loaded snapshot, close it to stop following the page objects
+     */
+    public static BoardSnapshot load(BoardPage boardPage, CardPage cardPage, String boardId) {
+        BoardSnapshot snapshot = new BoardSnapshot(boardId, boardPage, cardPage);
+        // A change made by the page objects while the board is loading may be missed until the next reload
+        boardPage.addResourceListener(snapshot);
+        cardPage.addResourceListener(snapshot);
+        try {
+            snapshot.reload();
+        } catch (RuntimeException | Error e) {
+            snapshot.close();
+            throw e;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads the board, its lists and cards again and rebuilds the indexes
+     */
+    public void reload() {
+        // Read before the board: a change made while loading is replayed by the next sync rather than lost. That
+        // holds only if the reads below are sent after it, a cached or joined response could predate the cursor.
+        String cursor = latestActionId();
+        CompletableFuture<Board> boardFuture = boardPage.getDispatcher().submit(
+                () -> boardPage.getBoard(boardId, BOARD_FIELDS));
+        CompletableFuture<java.util.List<List>> listsFuture = boardPage.getDispatcher().submit(
+                () -> boardPage.getBoardLists(boardId, LIST_FIELDS));
+        CompletableFuture<java.util.List<Card>> cardsFuture = cardPage.getDispatcher().submit(
+                () -> cardPage.getCardsInBoard(boardId, CARD_FIELDS));
+        Board loadedBoard = await(boardFuture);
+        java.util.List<List> loadedLists = new ArrayList<>(await(listsFuture));
+        loadedLists.removeIf(List::isClosed);
+        java.util.List<Card> loadedCards = await(cardsFuture);
+        synchronized (this) {
+            board = loadedBoard;
+            replaceLists(loadedLists);
+            cardsById.clear();
+            cardsByList.clear();
+            cardsByName.clear();
+            for (Card card : loadedCards) {
+                save(card);
+            }
+            deleted = false;
+            actionCursor = cursor;
+        }
+    }
+
+    /**
+     * Applies the changes made to the board since the last load or sync, by any client
+     * Reads the actions newer than the stored cursor, then only the cards those actions created (in batch requests)
+     * and the lists if one of them changed; updates and deletions are applied from the actions themselves. The cost
+     * of a sync grows with the number of changes, not with the size of the board.
+     * A card that cannot be read, e.g. because it was deleted after the actions were read, stops the sync before the
+     * first action on it; the next sync continues from there.
+     * @return Number of actions applied, 0 if the board did not change
+     * @throws IllegalStateException if the card of the first new action cannot be read
+     */
+    public int sync() {
+        String since;
+        synchronized (this) {
+            since = actionCursor;
+        }
+        java.util.List<Action> actions = new ArrayList<>();
+        try (PageIterator<Action> pages = boardPage.iterateBoardActions(boardId, since, SYNC_ACTION_TYPES,
+                Config.ACTIONS_MAX_PAGE_SIZE)) {
+            pages.forEachRemaining(actions::addAll);
+        }
+        if (actions.isEmpty()) {
+            return 0;
+        }
+        // The feed is newest first
+        String newest = actions.get(0).getId();
+        int changes = actions.size();
+        actions.removeIf(action -> action.getType() == null);
+        Collections.reverse(actions);
+
+        Set<TrelloId> missingCards = new LinkedHashSet<>();
+        Set<TrelloId> createdLists = new HashSet<>();
+        boolean listsChanged = false;
+        synchronized (this) {
+            for (Action action : actions) {
+                TrelloId cardId = cardIdOf(action);
+                switch (action.getType()) {
+                    case "deleteCard":
+                    case "moveCardFromBoard":
+                        missingCards.remove(cardId);
+                        break;
+                    case "updateBoard":
+                        break;
+                    case "createList":
+                        // A new list is empty, its cards come with their own actions
+                        if (action.getData() != null && action.getData().getList() != null) {
+                            createdLists.add(action.getData().getList().getTrelloId());
+                        }
+                        listsChanged = true;
+                        break;
+                    case "updateList":
+                    case "moveListToBoard":
+                    case "moveListFromBoard":
+                        listsChanged = true;
+                        break;
+                    default:
+                        // A card the snapshot does not hold yet (e.g. created or unarchived) is read as a whole
+                        if (cardId != null && !cardsById.containsKey(cardId)) {
+                            missingCards.add(cardId);
+                        }
+                        break;
+                }
+            }
+        }
+
+        Map<TrelloId, Card> readCards = new HashMap<>();
+        Map<TrelloId, Throwable> failedCards = new HashMap<>();
+        if (!missingCards.isEmpty()) {
+            java.util.List<TrelloId> cardIds = new ArrayList<>(missingCards);
+            java.util.List<OperationResult<Card>> results = cardPage.getCards(
+                    cardIds.stream().map(TrelloId::toString).collect(Collectors.toList()));
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).isSuccess()) {
+                    readCards.put(cardIds.get(i), results.get(i).getValue());
+                } else {
+                    failedCards.put(cardIds.get(i), results.get(i).getError());
+                }
+            }
+        }
+        java.util.List<List> readLists = null;
+        // Cards of lists that were moved to the board or unarchived, no action lists them
+        java.util.List<Card> arrivedCards = new ArrayList<>();
+        if (listsChanged) {
+            readLists = new ArrayList<>(boardPage.getBoardLists(boardId, LIST_FIELDS));
+            readLists.removeIf(List::isClosed);
+            Set<TrelloId> knownLists;
+            synchronized (this) {
+                knownLists = new HashSet<>(listsById.keySet());
+            }
+            for (List list : readLists) {
+                if (!knownLists.contains(list.getTrelloId()) && !createdLists.contains(list.getTrelloId())) {
+                    arrivedCards.addAll(cardPage.getCardsInList(list.getId()));
+                }
+            }
+        }
+
+        int applicable = actions.size();
+        for (int i = 0; i < actions.size(); i++) {
+            TrelloId cardId = cardIdOf(actions.get(i));
+            if (cardId != null && failedCards.containsKey(cardId)) {
+                if (i == 0) {
+                    throw new IllegalStateException("Could not read card " + cardId + " of action "
+                            + actions.get(i).getId() + ": " + failedCards.get(cardId).getMessage(), failedCards.get(cardId));
+                }
+                applicable = i;
+                break;
+            }
+        }
+
+        synchronized (this) {
+            if (readLists != null) {
+                replaceLists(readLists);
+                // Cards of lists that were archived or moved to another board leave with their list
+                for (TrelloId listId : new ArrayList<>(cardsByList.keySet())) {
+                    if (!listsById.containsKey(listId)) {
+                        for (Card card : new ArrayList<>(cardsByList.get(listId))) {
+                            unindex(card.getTrelloId());
+                        }
+                    }
+                }
+                arrivedCards.forEach(this::save);
+            }
+            for (int i = 0; i < applicable; i++) {
+                apply(actions.get(i), readCards);
+            }
+            actionCursor = applicable == actions.size() ? newest : actions.get(applicable - 1).getId();
+        }
+        return applicable == actions.size() ? changes : applicable;
+    }
+
+    public String getBoardId() {
+        return boardId;
+    }
+
+    /**
+     * Gets the sync cursor
+     * @return ID of the newest action the snapshot reflects, null if there was none
+     */
+    public synchronized String getActionCursor() {
+        return actionCursor;
+    }
+
+    public synchronized Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Tells whether the board was deleted through one of the followed page objects
+     * @return true if the board is gone
+     */
+    public synchronized boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Gets the open lists of the board
+     * @return Lists by position
+     */
+    public synchronized java.util.List<List> getLists() {
+        return new ArrayList<>(lists);
+    }
+
+    /**
+     * Gets a list by ID
+     * @param listId ID of the list
+     * @return List, null if the board has no open list with that ID
+     */
+    public synchronized List getList(String listId) {
+        return listsById.get(key(listId));
+    }
+
+    /**
+     * Gets a card by ID
+     * @param cardId ID of the card
+     * @return Card, null if it is not on the board
+     */
+    public synchronized Card getCard(String cardId) {
+        return cardsById.get(cardId);
+    }
+
+    /**
+     * Gets the cards of a list
+     * @param listId ID of the list
+     * @return Cards by position, empty for an unknown list
+     */
+    public synchronized java.util.List<Card> getCardsInList(String listId) {
+        return cardsInList(key(listId));
+    }
+
+    /**
+     * Groups all cards by their list
+     * @return List ID to the cards of that list by position, lists in board order
+     */
+    public synchronized Map<String, java.util.List<Card>> getCardsByList() {
+        Map<String, java.util.List<Card>> grouped = new LinkedHashMap<>();
+        for (List list : lists) {
+            grouped.put(list.getId(), cardsInList(list.getTrelloId()));
+        }
+        return grouped;
+    }
+
+    /**
+     * Gets the cards with a name
+     * @param name Exact card name
+     * @return Cards with that name, empty if there are none
+     */
+    public synchronized java.util.List<Card> findCardsByName(String name) {
+        Map<TrelloId, Card> cards = cardsByName.get(name);
+        return cards == null ? new ArrayList<>() : new ArrayList<>(cards.values());
+    }
+
+    /**
+     * Gets the cards whose name starts with a prefix, e.g. "Test Card"
+     * @param prefix Case-sensitive name prefix
+     * @return Cards ordered by name
+     */
+    public synchronized java.util.List<Card> findCardsByNamePrefix(String prefix) {
+        java.util.List<Card> found = new ArrayList<>();
+        for (Map.Entry<String, Map<TrelloId, Card>> named : cardsByName.tailMap(prefix, true).entrySet()) {
+            if (!named.getKey().startsWith(prefix)) {
+                break;
+            }
+            found.addAll(named.getValue().values());
+        }
+        return found;
+    }
+
+    /**
+     * Gets the number of cards on the board
+     * @return Cards
+     */
+    public synchronized int getCardCount() {
+        return cardsById.size();
+    }
+
+    /**
+     * Stops following the page objects, the snapshot keeps its last state
+     */
+    @Override
+    public void close() {
+        detach(boardPage);
+        detach(cardPage);
+    }
+
+    @Override
+    public void onCreated(ResourceType type, String id, String boardId) {
+        // Cards arrive with their content through onCardSaved
+    }
+
+    @Override
+    public synchronized void onCardSaved(Card card) {
+        save(card);
+    }
+
+    @Override
+    public synchronized void onDeleted(ResourceType type, String id) {
+        if (type == ResourceType.CARD && TrelloId.isValid(id)) {
+            unindex(TrelloId.parse(id));
+        } else if (type == ResourceType.BOARD && boardId.equals(id)) {
+            deleted = true;
+        }
+    }
+
+    private String latestActionId() {
+        try (PageIterator<Action> newest = boardPage.iterateBoardActions(boardId, null, SYNC_ACTION_TYPES, 1)) {
+            return newest.hasNext() ? newest.next().get(0).getId() : null;
+        }
+    }
+
+    private static TrelloId cardIdOf(Action action) {
+        Card card = action.getData() == null ? null : action.getData().getCard();
+        return card == null ? null : card.getTrelloId();
+    }
+
+    /**
+     * Parses an ID given to a query, anything that is not a Trello ID matches nothing
+     */
+    private static TrelloId key(String id) {
+        return TrelloId.isValid(id) ? TrelloId.parse(id) : null;
+    }
+
+    private java.util.List<Card> cardsInList(TrelloId listId) {
+        TreeSet<Card> cards = cardsByList.get(listId);
+        return cards == null ? new ArrayList<>() : new ArrayList<>(cards);
+    }
+
+    /**
+     * Applies one action of a sync, oldest first
+     * @param readCards Cards read for the sync by ID, in their state after all of the actions
+     */
+    private void apply(Action action, Map<TrelloId, Card> readCards) {
+        Action.Data data = action.getData();
+        if (data == null) {
+            return;
+        }
+        TrelloId cardId = cardIdOf(action);
+        switch (action.getType()) {
+            case "deleteCard":
+            case "moveCardFromBoard":
+                if (cardId != null) {
+                    unindex(cardId);
+                }
+                break;
+            case "updateBoard":
+                if (board != null && data.getBoard() != null) {
+                    board = updated(board, data.getBoard(), data.getOld());
+                }
+                break;
+            case "createList":
+            case "updateList":
+            case "moveListToBoard":
+            case "moveListFromBoard":
+                // The lists are replaced after all actions are applied
+                break;
+            default:
+                if (cardId == null) {
+                    break;
+                }
+                Card read = readCards.remove(cardId);
+                if (read != null) {
+                    save(read);
+                } else if ("updateCard".equals(action.getType())) {
+                    Card cached = cardsById.get(cardId);
+                    if (cached != null) {
+                        save(updated(cached, data.getCard(), data.getOld()));
+                    }
+                }
+                break;
+        }
+    }
+
+    /**
+     * Copies a card with the fields an update changed, cached cards are never modified
+     */
+    private static Card updated(Card cached, Card changed, Map<String, Object> old) {
+        Card card = new Card();
+        card.setTrelloId(cached.getTrelloId());
+        card.setName(cached.getName());
+        card.setDesc(cached.getDesc());
+        card.setTrelloIdList(cached.getTrelloIdList());
+        card.setTrelloIdBoard(cached.getTrelloIdBoard());
+        card.setClosed(cached.isClosed());
+        card.setPos(cached.getPos());
+        card.setUrl(cached.getUrl());
+        card.setShortUrl(cached.getShortUrl());
+        for (String field : old.keySet()) {
+            switch (field) {
+                case "name": card.setName(changed.getName()); break;
+                case "desc": card.setDesc(changed.getDesc()); break;
+                case "idList": card.setTrelloIdList(changed.getTrelloIdList()); break;
+                case "closed": card.setClosed(changed.isClosed()); break;
+                case "pos": card.setPos(changed.getPos()); break;
+                default: break;
+            }
+        }
+        return card;
+    }
+
+    private static Board updated(Board cached, Board changed, Map<String, Object> old) {
+        Board board = new Board(cached.getName(), cached.getDesc());
+        board.setId(cached.getId());
+        board.setClosed(cached.isClosed());
+        board.setIdOrganization(cached.getIdOrganization());
+        board.setPinned(cached.isPinned());
+        board.setUrl(cached.getUrl());
+        board.setShortUrl(cached.getShortUrl());
+        for (String field : old.keySet()) {
+            switch (field) {
+                case "name": board.setName(changed.getName()); break;
+                case "desc": board.setDesc(changed.getDesc()); break;
+                case "closed": board.setClosed(changed.isClosed()); break;
+                default: break;
+            }
+        }
+        return board;
+    }
+
+    // Moves, renames and archiving all come down to taking the card out of the indexes and putting it back
+    private void save(Card card) {
+        if (card.getTrelloId() == null) {
+            return;
+        }
+        unindex(card.getTrelloId());
+        if (boardTrelloId != null && boardTrelloId.equals(card.getTrelloIdBoard()) && !card.isClosed()
+                && listsById.containsKey(card.getTrelloIdList())) {
+            index(card);
+        }
+    }
+
+    private void replaceLists(Collection<List> updated) {
+        java.util.List<List> sorted = new ArrayList<>(updated);
+        sorted.sort(Comparator.comparingDouble(List::getPos));
+        lists = sorted;
+        listsById.clear();
+        for (List list : sorted) {
+            listsById.put(list.getTrelloId(), list);
+        }
+    }
+
+    private void index(Card card) {
+        cardsById.put(card.getTrelloId(), card);
+        cardsByList.computeIfAbsent(card.getTrelloIdList(), key -> new TreeSet<>(BY_POSITION)).add(card);
+        if (card.getName() != null) {
+            cardsByName.computeIfAbsent(card.getName(), key -> new LinkedHashMap<>()).put(card.getTrelloId(), card);
+        }
+    }
+
+    private void unindex(TrelloId cardId) {
+        Card removed = cardsById.remove(cardId);
+        if (removed == null) {
+            return;
+        }
+        TreeSet<Card> listCards = cardsByList.get(removed.getTrelloIdList());
+        if (listCards != null && listCards.remove(removed) && listCards.isEmpty()) {
+            cardsByList.remove(removed.getTrelloIdList());
+        }
+        Map<TrelloId, Card> named = removed.getName() == null ? null : cardsByName.get(removed.getName());
+        if (named != null && named.remove(removed.getTrelloId()) != null && named.isEmpty()) {
+            cardsByName.remove(removed.getName());
+        }
+    }
+
+    private void detach(BasePage page) {
+        page.removeResourceListener(this);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
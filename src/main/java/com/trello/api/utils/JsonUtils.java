@@ -0,0 +1,107 @@
+package com.trello.api.utils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.trello.api.config.Config;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utility class for JSON mapping
+ * Holds one shared, configured ObjectMapper and caches an ObjectReader per model type, so deserializers are
+ * built once instead of being looked up for every response. Blackbird (generated accessors instead of
+ * reflection) can be switched on with -Dtrello.json.blackbird=true.
+ */
+public final class JsonUtils {
+
+    private static final ObjectMapper MAPPER = createMapper(Config.JSON_BLACKBIRD);
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectReader> LIST_READERS = new ConcurrentHashMap<>();
+
+    private JsonUtils() {
+    }
+
+    /**
+     * Creates a mapper configured for the Trello models
+     * @param blackbird true to register the Blackbird module
+     * @return New mapper, use {@link #getMapper()} for the shared one
+     */
+    public static ObjectMapper createMapper(boolean blackbird) {
+        ObjectMapper mapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        if (blackbird) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        return mapper;
+    }
+
+    /**
+     * Gets the shared mapper
+     * @return Shared ObjectMapper, must not be reconfigured
+     */
+    public static ObjectMapper getMapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Gets the cached reader for a model type
+     * @param type Model type, e.g. Card.class
+     * @return Reader for single objects of that type
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    /**
+     * Gets the cached reader for a JSON array of a model type
+     * @param type Element type, e.g. Card.class
+     * @return Reader producing a List of that type
+     */
+    public static ObjectReader listReaderFor(Class<?> type) {
+        return LIST_READERS.computeIfAbsent(type, key -> {
+            JavaType listType = MAPPER.getTypeFactory().constructCollectionType(ArrayList.class, key);
+            return MAPPER.readerFor(listType);
+        });
+    }
+
+    /**
+     * Deserializes the body of a response
+     * @param response Response with a JSON object body
+     * @param type Model type
+     * @param <T> Model type
+     * @return Deserialized object
+     * @throws UncheckedIOException if the body is not valid JSON for the type
+     */
+    public static <T> T read(Response response, Class<T> type) {
+        try {
+            return readerFor(type).readValue(response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + type.getSimpleName() + " from response", e);
+        }
+    }
+
+    /**
+     * Deserializes a JSON array body of a response
+     * @param response Response with a JSON array body
+     * @param type Element type
+     * @param <T> Element type
+     * @return Deserialized elements
+     * @throws UncheckedIOException if the body is not a valid JSON array of the type
+     */
+    public static <T> List<T> readList(Response response, Class<T> type) {
+        try {
+            return listReaderFor(type).readValue(response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read a list of " + type.getSimpleName() + " from response", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.trello.api.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the JMH benchmarks
+ * Run with: mvn -Pbenchmark test-compile exec:exec [-Dbenchmark.include=ExecutionMode]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        Options options = new OptionsBuilder()
+                .include(BenchmarkRunner.class.getPackage().getName() + "\\..*" + include)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-results.json")
+                .build();
+        new Runner(options).run();
+    }
+}
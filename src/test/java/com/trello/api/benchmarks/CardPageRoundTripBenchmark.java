@@ -0,0 +1,101 @@
+package com.trello.api.benchmarks;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.models.List;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Full CardPage round-trips against the in-process mock server on a free local port.
+ * The mock answers without injected latency, so the numbers are the client's own cost per call:
+ * request building, filters, the pooled connection, and mapping the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Dtrello.rateLimit.perSecond=1000000", "-Dtrello.log.mode=off"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CardPageRoundTripBenchmark {
+
+    /**
+     * Cards in the list that is read back
+     */
+    @Param({"100"})
+    public int cards;
+
+    private TrelloMockServer mockServer;
+    private CardPage cardPage;
+    private String readListId;
+    private String writeListId;
+    private String cardId;
+
+    @Setup
+    public void setUp() {
+        mockServer = new TrelloMockServer(0).start();
+        ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        BoardPage boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        cardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+
+        Board board = boardPage.createBoard("Benchmark Board");
+        java.util.List<List> lists = boardPage.getBoardLists(board.getId());
+        readListId = lists.get(0).getId();
+        // Created cards go to a separate list so the list that is read keeps its size
+        writeListId = lists.get(1).getId();
+        for (int i = 0; i < cards; i++) {
+            Card card = cardPage.createCard("Card " + i, "Benchmark card description " + i, readListId);
+            cardId = card.getId();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mockServer.stop();
+    }
+
+    @Benchmark
+    public Card createCard() {
+        return cardPage.createCard("Benchmark card", writeListId);
+    }
+
+    @Benchmark
+    public Card getCard() {
+        return cardPage.getCard(cardId);
+    }
+
+    @Benchmark
+    public Card updateCardDescription() {
+        return cardPage.updateCardDescription(cardId, "Updated description");
+    }
+
+    @Benchmark
+    public java.util.List<Card> getCardsInList() {
+        return cardPage.getCardsInList(readListId);
+    }
+
+    @Benchmark
+    public long streamCardsInList() {
+        try (Stream<Card> stream = cardPage.streamCardsInList(readListId)) {
+            return stream.count();
+        }
+    }
+}
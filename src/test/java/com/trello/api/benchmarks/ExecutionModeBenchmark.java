@@ -0,0 +1,114 @@
+package com.trello.api.benchmarks;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.config.Config;
+import com.trello.api.http.ExecutionMode;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.http.RequestDispatcher;
+import com.trello.api.http.VirtualThreads;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.models.Board;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares fixture provisioning throughput of the blocking path against the async dispatcher
+ * on platform threads and on virtual threads.
+ * Each operation creates a card through CardPage against the in-process mock server, which answers after
+ * {@code latencyMs}. The numbers show how each thread model copes with network wait rather than client CPU cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Dtrello.rateLimit.perSecond=1000000", "-Dtrello.log.mode=off"})
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class ExecutionModeBenchmark {
+
+    private static final int OPERATIONS = 500;
+
+    /**
+     * BLOCKING is the current path: one call after the other on the calling thread
+     */
+    @Param({"BLOCKING", "PLATFORM_THREADS", "VIRTUAL_THREADS"})
+    public String mode;
+
+    @Param({"20"})
+    public long latencyMs;
+
+    @Param({"64"})
+    public int maxConcurrentRequests;
+
+    private TrelloMockServer mockServer;
+    private HttpTransport transport;
+    private CardPage cardPage;
+    private String listId;
+
+    @Setup
+    public void setUp() {
+        mockServer = new TrelloMockServer(0).start();
+        ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        // A transport of its own, so maxConcurrentRequests bounds the requests on the wire
+        transport = new HttpTransport(maxConcurrentRequests, maxConcurrentRequests, Config.HTTP_CONNECT_TIMEOUT_MS,
+                Config.HTTP_READ_TIMEOUT_MS, Config.HTTP_KEEP_ALIVE_MS, maxConcurrentRequests);
+        BoardPage boardPage = new BoardPage(transport, mockServer.getBaseUrl());
+        cardPage = new CardPage(transport, mockServer.getBaseUrl());
+
+        Board board = boardPage.createBoard("Benchmark Board");
+        listId = boardPage.getFirstList(board.getId()).getId();
+        // Only the calls that are measured wait for the latency
+        mockServer.setLatency(latencyMs, 0);
+
+        if ("BLOCKING".equals(mode)) {
+            return;
+        }
+        ExecutionMode executionMode = ExecutionMode.valueOf(mode);
+        if (executionMode == ExecutionMode.VIRTUAL_THREADS) {
+            if (!VirtualThreads.isSupported()) {
+                throw new IllegalStateException("VIRTUAL_THREADS needs JDK 21+, running on " + System.getProperty("java.version"));
+            }
+            cardPage.setDispatcher(RequestDispatcher.virtualThreads(OPERATIONS));
+        } else {
+            // The same pool size the default dispatcher uses
+            cardPage.setDispatcher(RequestDispatcher.platformThreads(32, 32));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mockServer.stop();
+        transport.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void provisionFixtures() {
+        if ("BLOCKING".equals(mode)) {
+            for (int i = 0; i < OPERATIONS; i++) {
+                cardPage.createCard("Fixture card " + i, listId);
+            }
+            return;
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            futures[i] = cardPage.createCardAsync("Fixture card " + i, listId);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
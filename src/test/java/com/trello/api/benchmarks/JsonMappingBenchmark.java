@@ -0,0 +1,102 @@
+package com.trello.api.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.trello.api.models.Card;
+import com.trello.api.utils.JsonUtils;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares deserializing a buffered card list response through RestAssured's {@code response.as(...)}
+ * against the shared, pre-built readers of {@link JsonUtils}, with and without Blackbird.
+ * No network is involved, the numbers are pure parsing cost per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonMappingBenchmark {
+
+    /**
+     * Cards in the response: a small list, a large board and a very large export
+     */
+    @Param({"10", "1000", "10000"})
+    public int cards;
+
+    private Response response;
+    private ObjectReader reflectionReader;
+    private ObjectReader blackbirdReader;
+
+    @Setup
+    public void setUp() {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < cards; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            // Shaped like a real card, including fields the model ignores
+            body.append("{\"id\":\"5f1a2b3c4d5e6f708192").append(String.format("%04x", i)).append('"')
+                    .append(",\"name\":\"Card ").append(i).append('"')
+                    .append(",\"desc\":\"Benchmark card description ").append(i).append('"')
+                    .append(",\"idList\":\"5f1a2b3c4d5e6f708192a0b1\",\"idBoard\":\"5f1a2b3c4d5e6f708192a0b2\"")
+                    .append(",\"closed\":false,\"pos\":").append(65536 * (i + 1))
+                    .append(",\"idLabels\":[],\"badges\":{\"votes\":0,\"comments\":").append(i % 5).append("}}");
+        }
+        body.append(']');
+        response = new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType(ContentType.JSON)
+                .setBody(body.toString())
+                .build();
+
+        reflectionReader = JsonUtils.createMapper(false).readerFor(Card[].class);
+        ObjectMapper blackbird = JsonUtils.createMapper(true);
+        blackbirdReader = blackbird.readerFor(Card[].class);
+    }
+
+    /**
+     * Previous path: RestAssured picks a mapper and builds the deserializer lookup on every call
+     */
+    @Benchmark
+    public List<Card> responseAs() {
+        return Arrays.asList(response.as(Card[].class));
+    }
+
+    @Benchmark
+    public List<Card> sharedReader() throws IOException {
+        return Arrays.asList(reflectionReader.<Card[]>readValue(response.asByteArray()));
+    }
+
+    @Benchmark
+    public List<Card> sharedReaderBlackbird() throws IOException {
+        return Arrays.asList(blackbirdReader.<Card[]>readValue(response.asByteArray()));
+    }
+
+    /**
+     * What the page objects call now, with the mapper configured by -Dtrello.json.blackbird
+     */
+    @Benchmark
+    public List<Card> jsonUtils() {
+        return JsonUtils.readList(response, Card.class);
+    }
+}
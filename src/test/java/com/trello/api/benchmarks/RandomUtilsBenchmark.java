@@ -0,0 +1,43 @@
+package com.trello.api.benchmarks;
+
+import com.trello.api.utils.RandomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RandomUtils#getRandomString(int)}, used for every generated board and card name.
+ * The contended variant calls it from several threads at once, as parallel tests and the load driver do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RandomUtilsBenchmark {
+
+    @Param({"8", "64"})
+    public int length;
+
+    @Benchmark
+    public String randomString() {
+        return RandomUtils.getRandomString(length);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String randomStringContended() {
+        return RandomUtils.getRandomString(length);
+    }
+}
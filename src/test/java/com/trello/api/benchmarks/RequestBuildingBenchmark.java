@@ -0,0 +1,81 @@
+package com.trello.api.benchmarks;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.config.Config;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.pages.BasePage;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the client-side cost of preparing a createCard request, without sending it.
+ * Compares starting from the page objects' shared endpoint template against building the
+ * base URI and credentials from scratch on every call, as the page objects used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RequestBuildingBenchmark {
+
+    private ProbePage page;
+
+    @Setup
+    public void setUp() {
+        if (!ApiCredentials.areCredentialsLoaded()) {
+            ApiCredentials.setCredentials("benchmark-key", "benchmark-token");
+        }
+        page = new ProbePage();
+    }
+
+    @Benchmark
+    public RequestSpecification endpointTemplate() {
+        return page.createCardRequest("Benchmark card", "5f1a2b3c4d5e6f708192a0b1");
+    }
+
+    /**
+     * Previous path: a new specification with base URI and credentials for every call
+     */
+    @Benchmark
+    public RequestSpecification adHoc() {
+        return RestAssured.given()
+                .baseUri(Config.BASE_URL)
+                .queryParam(Config.KEY_PARAM, ApiCredentials.getApiKey())
+                .queryParam(Config.TOKEN_PARAM, ApiCredentials.getApiToken())
+                .basePath(Config.CARDS_ENDPOINT)
+                .queryParam(Config.NAME_PARAM, "Benchmark card")
+                .queryParam(Config.ID_LIST_PARAM, "5f1a2b3c4d5e6f708192a0b1");
+    }
+
+    /**
+     * Exposes the request building of {@link BasePage} the way CardPage uses it
+     */
+    static class ProbePage extends BasePage {
+
+        private final RequestSpecification cardsTemplate = endpointTemplate(Config.CARDS_ENDPOINT);
+
+        ProbePage() {
+            super(HttpTransport.getDefault());
+        }
+
+        RequestSpecification createCardRequest(String cardName, String listId) {
+            return request("createCard", cardsTemplate)
+                    .queryParam(Config.NAME_PARAM, cardName)
+                    .queryParam(Config.ID_LIST_PARAM, listId);
+        }
+    }
+}
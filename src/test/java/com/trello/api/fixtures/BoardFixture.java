@@ -0,0 +1,87 @@
+package com.trello.api.fixtures;
+
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.models.List;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+/**
+ * A board owned by a single test, together with its lists and the cards created for it
+ * Nothing else works on the board, so tests holding different fixtures can run in parallel.
+ * Closing the fixture hands the board back to where it came from: a board created for the test is deleted,
+ * a board leased from a {@link BoardPool} is emptied and returned to the pool.
+ */
+public class BoardFixture implements AutoCloseable {
+
+    private final Board board;
+    private final java.util.List<List> lists;
+    private final java.util.List<Card> cards;
+    private final Consumer<BoardFixture> onClose;
+    private volatile boolean deleted;
+    private volatile boolean closed;
+
+    BoardFixture(Board board, java.util.List<List> lists, java.util.List<Card> cards, Consumer<BoardFixture> onClose) {
+        this.board = board;
+        this.lists = Collections.unmodifiableList(new ArrayList<>(lists));
+        this.cards = Collections.unmodifiableList(new ArrayList<>(cards));
+        this.onClose = onClose;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public String getBoardId() {
+        return board.getId();
+    }
+
+    /**
+     * Gets the lists of the board as they were when the fixture was created
+     * @return Lists, e.g. To Do, Doing, Done
+     */
+    public java.util.List<List> getLists() {
+        return lists;
+    }
+
+    /**
+     * Gets the first list (To Do list), where the fixture's cards are created
+     * @return First list
+     */
+    public List getFirstList() {
+        return lists.get(0);
+    }
+
+    /**
+     * Gets the cards the fixture was created with
+     * @return Cards in creation order
+     */
+    public java.util.List<Card> getCards() {
+        return cards;
+    }
+
+    /**
+     * Records that the test deleted the board itself, so closing the fixture does not delete or reuse it
+     */
+    public void markDeleted() {
+        deleted = true;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Hands the board back, only the first call has an effect
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        onClose.accept(this);
+    }
+}
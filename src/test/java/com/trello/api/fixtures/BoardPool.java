@@ -0,0 +1,249 @@
+package com.trello.api.fixtures;
+
+import com.trello.api.config.Config;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.models.List;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of boards created in the background and leased to tests
+ * Every board is checked to have its default lists before it is handed out. A returned board is reset by
+ * deleting its cards and goes back into the pool; a board the test deleted is replaced by a new one.
+ * Resetting only removes cards, a test that renames the board or archives its lists should delete it instead.
+ */
+public class BoardPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoardPool.class);
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final BoardPage boardPage;
+    private final CardPage cardPage;
+    private final int size;
+    private final long leaseTimeoutMillis;
+
+    private final BlockingQueue<PooledBoard> available = new LinkedBlockingQueue<>();
+    private final Set<String> ownedBoardIds = ConcurrentHashMap.newKeySet();
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger boardCounter = new AtomicInteger();
+    private volatile Throwable lastFailure;
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool, call {@link #start()} to begin creating boards
+     * @param boardPage Board page object, its dispatcher runs the background work
+     * @param cardPage Card page object
+     * @param size Number of boards in the pool, also the number of tests that can hold one at the same time
+     * @param leaseTimeoutMillis How long {@link #lease(int)} waits for a free board
+     */
+    public BoardPool(BoardPage boardPage, CardPage cardPage, int size, long leaseTimeoutMillis) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, got " + size);
+        }
+        this.boardPage = boardPage;
+        this.cardPage = cardPage;
+        this.size = size;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+    }
+
+    /**
+     * Creates a pool with the size and lease timeout in {@link Config}
+     * @param boardPage Board page object
+     * @param cardPage Card page object
+     * @return Pool, not started yet
+     */
+    public static BoardPool fromConfig(BoardPage boardPage, CardPage cardPage) {
+        return new BoardPool(boardPage, cardPage, Config.FIXTURE_POOL_SIZE,
+                TimeUnit.SECONDS.toMillis(Config.FIXTURE_LEASE_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * Starts creating the boards in the background, returns right away
+     * @return This pool
+     */
+    public BoardPool start() {
+        for (int i = 0; i < size; i++) {
+            provision();
+        }
+        return this;
+    }
+
+    /**
+     * Leases an empty board and creates cards in its first list
+     * @param cardCount Number of cards to create, named like {@link Fixtures#createBoardWithCards(int)} does
+     * @return Board fixture, closing it returns the board to the pool
+     * @throws IllegalStateException if no board became free within the lease timeout
+     */
+    public BoardFixture lease(int cardCount) {
+        PooledBoard pooled = take();
+        try {
+            java.util.List<Card> cards = Fixtures.createCards(cardPage, pooled.lists.get(0).getId(), cardCount);
+            return new BoardFixture(pooled.board, pooled.lists, cards, fixture -> giveBack(pooled, fixture));
+        } catch (RuntimeException | AssertionError e) {
+            reset(pooled);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of boards ready to be leased
+     * @return Free boards
+     */
+    public int getAvailable() {
+        return available.size();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Waits for returned boards to be reset and deletes every board of the pool
+     */
+    @Override
+    public void close() {
+        closed = true;
+        awaitPending();
+        java.util.List<CompletableFuture<?>> deletions = new ArrayList<>();
+        for (String boardId : ownedBoardIds) {
+            deletions.add(boardPage.deleteBoardAsync(boardId).exceptionally(e -> {
+                LOGGER.warn("Could not delete pooled board {}: {}", boardId, e.getMessage());
+                return null;
+            }));
+        }
+        await(CompletableFuture.allOf(deletions.toArray(new CompletableFuture[0])));
+        ownedBoardIds.clear();
+        available.clear();
+    }
+
+    private PooledBoard take() {
+        if (closed) {
+            throw new IllegalStateException("Board pool is closed");
+        }
+        PooledBoard pooled;
+        try {
+            pooled = available.poll(leaseTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled board", e);
+        }
+        if (pooled == null) {
+            throw new IllegalStateException("No pooled board became free within " + leaseTimeoutMillis
+                    + " ms (pool size " + size + ")", lastFailure);
+        }
+        return pooled;
+    }
+
+    private void giveBack(PooledBoard pooled, BoardFixture fixture) {
+        if (fixture.isDeleted()) {
+            ownedBoardIds.remove(pooled.board.getId());
+            provision();
+        } else {
+            reset(pooled);
+        }
+    }
+
+    private void provision() {
+        if (closed) {
+            return;
+        }
+        String boardName = Config.DEFAULT_BOARD_NAME + " (pool " + boardCounter.incrementAndGet() + ")";
+        CompletableFuture<PooledBoard> provisioning = boardPage.createBoardAsync(boardName, Config.DEFAULT_BOARD_DESC)
+                .thenCompose(board -> {
+                    ownedBoardIds.add(board.getId());
+                    return boardPage.getBoardListsAsync(board.getId()).thenApply(lists -> {
+                        if (lists.isEmpty()) {
+                            discard(board.getId());
+                            throw new IllegalStateException("Board " + board.getId() + " has no lists");
+                        }
+                        return new PooledBoard(board, lists);
+                    });
+                });
+        track(provisioning.whenComplete((pooled, error) -> {
+            if (error != null) {
+                lastFailure = error;
+                LOGGER.warn("Could not provision pooled board: {}", error.getMessage());
+            } else {
+                offer(pooled);
+            }
+        }));
+    }
+
+    private void reset(PooledBoard pooled) {
+        String boardId = pooled.board.getId();
+        CompletableFuture<Void> reset = cardPage.getCardsInBoardAsync(boardId).thenCompose(cards -> {
+            java.util.List<CompletableFuture<?>> deletions = new ArrayList<>(cards.size());
+            for (Card card : cards) {
+                deletions.add(cardPage.deleteCardAsync(card.getId()));
+            }
+            return CompletableFuture.allOf(deletions.toArray(new CompletableFuture[0]));
+        });
+        track(reset.whenComplete((ignored, error) -> {
+            if (error != null) {
+                // The board is in an unknown state, do not hand it out again
+                lastFailure = error;
+                discard(boardId);
+                provision();
+            } else {
+                offer(pooled);
+            }
+        }));
+    }
+
+    private void offer(PooledBoard pooled) {
+        if (closed) {
+            // close() deletes it through ownedBoardIds
+            return;
+        }
+        available.add(pooled);
+    }
+
+    private void discard(String boardId) {
+        ownedBoardIds.remove(boardId);
+        boardPage.deleteBoardAsync(boardId).exceptionally(e -> null);
+    }
+
+    private void track(CompletableFuture<?> future) {
+        pending.add(future);
+        future.whenComplete((result, error) -> pending.remove(future));
+    }
+
+    private void awaitPending() {
+        await(CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])));
+    }
+
+    private static void await(CompletableFuture<?> future) {
+        try {
+            future.get(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            LOGGER.warn("Board pool did not finish within {} s", CLOSE_TIMEOUT_SECONDS);
+        } catch (Exception e) {
+            // Failures were already reported per board
+        }
+    }
+
+    private static class PooledBoard {
+        final Board board;
+        final java.util.List<List> lists;
+
+        PooledBoard(Board board, java.util.List<List> lists) {
+            this.board = board;
+            this.lists = lists;
+        }
+    }
+}
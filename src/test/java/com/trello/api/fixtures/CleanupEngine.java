@@ -0,0 +1,213 @@
+package com.trello.api.fixtures;
+
+import com.trello.api.config.Config;
+import com.trello.api.models.Board;
+import com.trello.api.pages.BasePage;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import com.trello.api.pages.ResourceListener;
+import com.trello.api.pages.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects every board and card created through the page objects it is attached to and deletes what is left
+ * Deletion runs in parallel batches in dependency order: cards on boards that are not deleted first, then boards,
+ * whose lists and cards go with them. The result is verified with one query for the boards and one per board
+ * for the cards, instead of reading every deleted resource back.
+ * Lists are not tracked, the page objects only use the default lists, which are removed with their board.
+ */
+public class CleanupEngine implements ResourceListener {
+
+    private final BoardPage boardPage;
+    private final CardPage cardPage;
+    private final int batchSize;
+
+    private final Set<String> boardIds = ConcurrentHashMap.newKeySet();
+    // Card ID to the ID of its board
+    private final ConcurrentMap<String, String> cardBoards = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cleanup engine, attach it to the page objects whose resources it should clean up
+     * @param boardPage Board page object used for deleting and verifying
+     * @param cardPage Card page object used for deleting and verifying
+     * @param batchSize Number of deletions in flight at the same time
+     */
+    public CleanupEngine(BoardPage boardPage, CardPage cardPage, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, got " + batchSize);
+        }
+        this.boardPage = boardPage;
+        this.cardPage = cardPage;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates a cleanup engine with the batch size in {@link Config}, attached to its own page objects
+     * @param boardPage Board page object
+     * @param cardPage Card page object
+     * @return Cleanup engine
+     */
+    public static CleanupEngine fromConfig(BoardPage boardPage, CardPage cardPage) {
+        return new CleanupEngine(boardPage, cardPage, Config.CLEANUP_BATCH_SIZE).attach(boardPage, cardPage);
+    }
+
+    /**
+     * Starts tracking the resources created through the page objects
+     * @param pages Page objects
+     * @return This engine
+     */
+    public CleanupEngine attach(BasePage... pages) {
+        for (BasePage page : pages) {
+            page.addResourceListener(this);
+        }
+        return this;
+    }
+
+    @Override
+    public void onCreated(ResourceType type, String id, String boardId) {
+        if (type == ResourceType.BOARD) {
+            boardIds.add(id);
+        } else if (type == ResourceType.CARD && boardId != null) {
+            cardBoards.put(id, boardId);
+        }
+    }
+
+    @Override
+    public void onDeleted(ResourceType type, String id) {
+        if (type == ResourceType.BOARD) {
+            boardIds.remove(id);
+            cardBoards.values().removeIf(id::equals);
+        } else if (type == ResourceType.CARD) {
+            cardBoards.remove(id);
+        }
+    }
+
+    /**
+     * Gets the number of tracked boards and cards that have not been deleted yet
+     * @return Boards plus cards
+     */
+    public int getTrackedResources() {
+        return boardIds.size() + cardBoards.size();
+    }
+
+    /**
+     * Deletes every tracked board and card that is still there and verifies they are gone
+     * @return What was deleted and what could not be
+     */
+    public CleanupReport cleanUp() {
+        long start = System.nanoTime();
+        Set<String> boards = new HashSet<>(boardIds);
+        // Cards on a board that is deleted anyway go with it
+        Map<String, String> looseCards = new HashMap<>();
+        cardBoards.forEach((cardId, boardId) -> {
+            if (!boards.contains(boardId)) {
+                looseCards.put(cardId, boardId);
+            }
+        });
+
+        deleteInBatches(looseCards.keySet(), cardPage::deleteCardAsync);
+        deleteInBatches(boards, boardPage::deleteBoardAsync);
+
+        java.util.List<String> remaining = new ArrayList<>();
+        remaining.addAll(remainingBoards(boards));
+        remaining.addAll(remainingCards(looseCards));
+        // Whatever failed to delete but is gone anyway, e.g. deleted by the test itself, needs no more tracking
+        boards.stream().filter(id -> !remaining.contains(id)).forEach(id -> onDeleted(ResourceType.BOARD, id));
+        looseCards.keySet().stream().filter(id -> !remaining.contains(id)).forEach(id -> onDeleted(ResourceType.CARD, id));
+
+        return new CleanupReport(boards.size(), looseCards.size(), remaining,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Deletes boards left behind by earlier runs that crashed before cleaning up
+     * A board counts as orphaned if it has the default test board name and description and is older than
+     * the given age, which keeps the boards of runs still in progress.
+     * @param minAgeMinutes Minimum age in minutes, read from the creation time in the board ID
+     * @return Number of orphaned boards deleted
+     */
+    public int sweepOrphans(long minAgeMinutes) {
+        long cutoffSeconds = (System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(minAgeMinutes)) / 1000;
+        java.util.List<String> orphans = new ArrayList<>();
+        for (Board board : boardPage.getMyBoards("open")) {
+            if (isTestBoard(board) && !boardIds.contains(board.getId()) && createdSeconds(board) < cutoffSeconds) {
+                orphans.add(board.getId());
+            }
+        }
+        return orphans.size() - deleteInBatches(orphans, boardPage::deleteBoardAsync);
+    }
+
+    private java.util.List<String> remainingBoards(Set<String> boards) {
+        if (boards.isEmpty()) {
+            return Collections.emptyList();
+        }
+        java.util.List<String> remaining = new ArrayList<>();
+        for (Board board : boardPage.getMyBoards("all")) {
+            if (boards.contains(board.getId())) {
+                remaining.add(board.getId());
+            }
+        }
+        return remaining;
+    }
+
+    private java.util.List<String> remainingCards(Map<String, String> cards) {
+        Map<String, Set<String>> cardsByBoard = new HashMap<>();
+        cards.forEach((cardId, boardId) -> cardsByBoard.computeIfAbsent(boardId, key -> new HashSet<>()).add(cardId));
+        java.util.List<String> remaining = new ArrayList<>();
+        cardsByBoard.forEach((boardId, cardIds) -> {
+            try {
+                cardPage.getCardsInBoard(boardId).stream()
+                        .filter(card -> cardIds.contains(card.getId()))
+                        .forEach(card -> remaining.add(card.getId()));
+            } catch (RuntimeException | AssertionError e) {
+                // The board itself is gone (or unreadable), so are its cards
+            }
+        });
+        return remaining;
+    }
+
+    /**
+     * Runs the deletions with at most batchSize in flight, each batch waits for the previous one
+     * @return Number of deletions that failed
+     */
+    private int deleteInBatches(java.util.Collection<String> ids, Function<String, CompletableFuture<?>> delete) {
+        java.util.List<String> all = new ArrayList<>(ids);
+        int failures = 0;
+        for (int from = 0; from < all.size(); from += batchSize) {
+            java.util.List<CompletableFuture<?>> batch = new ArrayList<>();
+            for (String id : all.subList(from, Math.min(from + batchSize, all.size()))) {
+                batch.add(delete.apply(id));
+            }
+            for (CompletableFuture<?> future : batch) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    failures++;
+                }
+            }
+        }
+        return failures;
+    }
+
+    private static boolean isTestBoard(Board board) {
+        return board.getName() != null && board.getName().startsWith(Config.DEFAULT_BOARD_NAME)
+                && Config.DEFAULT_BOARD_DESC.equals(board.getDesc());
+    }
+
+    // A board without an ID is never old enough to sweep
+    private static long createdSeconds(Board board) {
+        return board.getTrelloId() == null ? Long.MAX_VALUE : board.getTrelloId().getCreatedSeconds();
+    }
+}
@@ -0,0 +1,59 @@
+package com.trello.api.fixtures;
+
+import java.util.Collections;
+
+/**
+ * Outcome of {@link CleanupEngine#cleanUp()}
+ */
+public class CleanupReport {
+
+    private final int boards;
+    private final int cards;
+    private final java.util.List<String> remaining;
+    private final long elapsedMillis;
+
+    CleanupReport(int boards, int cards, java.util.List<String> remaining, long elapsedMillis) {
+        this.boards = boards;
+        this.cards = cards;
+        this.remaining = Collections.unmodifiableList(remaining);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Gets the number of boards that were left and deleted, including their lists and cards
+     * @return Boards
+     */
+    public int getBoards() {
+        return boards;
+    }
+
+    /**
+     * Gets the number of cards deleted on their own, because their board was not deleted
+     * @return Cards
+     */
+    public int getCards() {
+        return cards;
+    }
+
+    /**
+     * Gets the IDs of boards and cards that still exist after the clean-up
+     * @return Remaining IDs, empty if everything was deleted
+     */
+    public java.util.List<String> getRemaining() {
+        return remaining;
+    }
+
+    public boolean isClean() {
+        return remaining.isEmpty();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "Cleanup: " + boards + " boards, " + cards + " cards in " + elapsedMillis + " ms"
+                + (remaining.isEmpty() ? "" : ", still present: " + remaining);
+    }
+}
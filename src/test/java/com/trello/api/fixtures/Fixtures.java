@@ -0,0 +1,110 @@
+package com.trello.api.fixtures;
+
+import com.trello.api.config.Config;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.models.List;
+import com.trello.api.models.OperationResult;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Creates isolated board fixtures, one per test
+ * With a {@link BoardPool} the boards are leased from the pool instead of being created, which turns the
+ * create-and-wait-for-lists set-up into a queue poll.
+ * The page objects are thread-safe, so one instance can serve every test thread.
+ */
+public class Fixtures {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Fixtures.class);
+
+    private final BoardPage boardPage;
+    private final CardPage cardPage;
+    private final BoardPool pool;
+
+    public Fixtures(BoardPage boardPage, CardPage cardPage) {
+        this(boardPage, cardPage, null);
+    }
+
+    /**
+     * Creates fixtures backed by a pool of pre-created boards
+     * @param boardPage Board page object
+     * @param cardPage Card page object
+     * @param pool Started pool to lease boards from, null to create a board for every fixture
+     */
+    public Fixtures(BoardPage boardPage, CardPage cardPage, BoardPool pool) {
+        this.boardPage = boardPage;
+        this.cardPage = cardPage;
+        this.pool = pool;
+    }
+
+    /**
+     * Creates an empty board with its default lists
+     * @return Board fixture, close it when the test is done
+     */
+    public BoardFixture createBoard() {
+        return createBoardWithCards(0);
+    }
+
+    /**
+     * Creates a board with cards in its first list, named like Config.DEFAULT_CARD_NAME_1, Config.DEFAULT_CARD_NAME_2, ...
+     * The cards are created concurrently.
+     * @param cardCount Number of cards to create
+     * @return Board fixture, close it when the test is done
+     */
+    public BoardFixture createBoardWithCards(int cardCount) {
+        if (pool != null) {
+            return pool.lease(cardCount);
+        }
+        Board board = boardPage.createBoard(Config.DEFAULT_BOARD_NAME, Config.DEFAULT_BOARD_DESC);
+        try {
+            java.util.List<List> lists = boardPage.getBoardLists(board.getId());
+            if (lists.isEmpty()) {
+                throw new IllegalStateException("Board " + board.getId() + " has no lists");
+            }
+            java.util.List<Card> cards = createCards(cardPage, lists.get(0).getId(), cardCount);
+            return new BoardFixture(board, lists, cards, this::deleteBoard);
+        } catch (RuntimeException | AssertionError e) {
+            adopt(board).close();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes over a board the test created itself, so it is deleted with the fixture
+     * @param board Board created by the test
+     * @return Board fixture without lists or cards, close it when the test is done
+     */
+    public BoardFixture adopt(Board board) {
+        return new BoardFixture(board, Collections.emptyList(), Collections.emptyList(), this::deleteBoard);
+    }
+
+    private void deleteBoard(BoardFixture fixture) {
+        if (fixture.isDeleted()) {
+            return;
+        }
+        try {
+            boardPage.deleteBoard(fixture.getBoardId());
+        } catch (RuntimeException | AssertionError e) {
+            // A failed clean-up must not hide the outcome of the test
+            LOGGER.warn("Could not delete fixture board {}: {}", fixture.getBoardId(), e.getMessage());
+        }
+    }
+
+    static java.util.List<Card> createCards(CardPage cardPage, String listId, int cardCount) {
+        java.util.List<Card> requested = new ArrayList<>(cardCount);
+        for (int i = 1; i <= cardCount; i++) {
+            requested.add(new Card("Test Card " + i, Config.DEFAULT_CARD_DESC, listId));
+        }
+        java.util.List<Card> cards = new ArrayList<>(cardCount);
+        for (OperationResult<Card> result : cardPage.createCards(listId, requested)) {
+            cards.add(result.getOrThrow());
+        }
+        return cards;
+    }
+}
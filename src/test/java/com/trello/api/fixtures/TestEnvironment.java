@@ -0,0 +1,120 @@
+package com.trello.api.fixtures;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.config.Config;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared set-up of the target API for test classes that may run at the same time
+ * The first class to acquire the environment starts the in-process mock server (with -Dtrello.target=mock),
+ * sweeps up boards orphaned by crashed runs and starts the board pool. The last one to release it deletes the
+ * pooled boards and everything else created through the shared page objects, then stops the server. Parallel
+ * classes therefore share one server and one pool instead of fighting over the port or creating boards of their own.
+ */
+public final class TestEnvironment {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestEnvironment.class);
+
+    private static TrelloMockServer mockServer;
+    private static BoardPage boardPage;
+    private static CardPage cardPage;
+    private static CleanupEngine cleanupEngine;
+    private static BoardPool pool;
+    private static Fixtures fixtures;
+    private static int users;
+
+    private TestEnvironment() {
+    }
+
+    /**
+     * Prepares the target API for a test class, call once from its class set-up
+     * @return true if API credentials are available
+     */
+    public static synchronized boolean acquire() {
+        if (users == 0) {
+            if (Config.USE_MOCK_SERVER) {
+                mockServer = TrelloMockServer.fromConfig().start();
+                ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+            }
+            if (ApiCredentials.areCredentialsLoaded()) {
+                boardPage = new BoardPage();
+                cardPage = new CardPage();
+                cleanupEngine = CleanupEngine.fromConfig(boardPage, cardPage);
+                if (Config.CLEANUP_SWEEP_ORPHANS) {
+                    sweepOrphans();
+                }
+                pool = Config.FIXTURE_POOL_SIZE > 0 ? BoardPool.fromConfig(boardPage, cardPage).start() : null;
+                fixtures = new Fixtures(boardPage, cardPage, pool);
+            }
+        }
+        users++;
+        return ApiCredentials.areCredentialsLoaded();
+    }
+
+    /**
+     * Gets the board page object shared by all test classes, everything created through it is cleaned up
+     * @return Board page object, null if the environment was not acquired or credentials are missing
+     */
+    public static synchronized BoardPage getBoardPage() {
+        return boardPage;
+    }
+
+    /**
+     * Gets the card page object shared by all test classes, everything created through it is cleaned up
+     * @return Card page object, null if the environment was not acquired or credentials are missing
+     */
+    public static synchronized CardPage getCardPage() {
+        return cardPage;
+    }
+
+    /**
+     * Gets the fixtures shared by all test classes, leased from the board pool unless it is disabled
+     * @return Fixtures, null if the environment was not acquired or credentials are missing
+     */
+    public static synchronized Fixtures getFixtures() {
+        return fixtures;
+    }
+
+    /**
+     * Releases the target API after a test class, call once from its class tear-down
+     */
+    public static synchronized void release() {
+        if (users == 0) {
+            return;
+        }
+        users--;
+        if (users > 0) {
+            return;
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+        if (cleanupEngine != null) {
+            LOGGER.info("{}", cleanupEngine.cleanUp());
+            cleanupEngine = null;
+        }
+        fixtures = null;
+        boardPage = null;
+        cardPage = null;
+        if (mockServer != null) {
+            mockServer.stop();
+            mockServer = null;
+        }
+    }
+
+    private static void sweepOrphans() {
+        try {
+            int swept = cleanupEngine.sweepOrphans(Config.CLEANUP_ORPHAN_AGE_MINUTES);
+            if (swept > 0) {
+                LOGGER.info("Deleted {} boards left behind by earlier runs", swept);
+            }
+        } catch (RuntimeException | AssertionError e) {
+            LOGGER.warn("Could not sweep orphaned boards: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.trello.api.tests;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.config.Config;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.models.OperationResult;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch reads against the mock server: chunking, result order and failures limited to their item or chunk
+ * The methods share the mock's request count and scripted failures, so they run one after the other.
+ */
+@DisplayName("Batch Get Tests")
+@Execution(ExecutionMode.SAME_THREAD)
+public class BatchGetTest {
+
+    private static final int CARDS = 3 * Config.BATCH_MAX_URLS;
+
+    private static TrelloMockServer mockServer;
+    private static BoardPage boardPage;
+    private static CardPage cardPage;
+    private static Board board;
+    private static List<String> cardIds;
+
+    @BeforeAll
+    static void setUp() {
+        mockServer = new TrelloMockServer(0).start();
+        // The mock accepts any credentials, real ones another test class is using are kept
+        if (!ApiCredentials.areCredentialsLoaded()) {
+            ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        }
+        boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        cardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+
+        board = boardPage.createBoard("Batch Board");
+        String listId = boardPage.getFirstList(board.getId()).getId();
+        cardIds = new ArrayList<>();
+        for (int i = 0; i < CARDS; i++) {
+            cardIds.add(cardPage.createCard("Card " + i, listId).getId());
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockServer.stop();
+    }
+
+    @Test
+    @DisplayName("IDs are read in chunks and the results keep the input order")
+    void testChunking() {
+        long before = mockServer.getRequestCount();
+
+        List<OperationResult<Card>> results = cardPage.getCards(cardIds.subList(0, 2 * Config.BATCH_MAX_URLS + 5));
+
+        assertEquals(3, mockServer.getRequestCount() - before, "25 IDs should take 3 batch requests");
+        assertEquals(2 * Config.BATCH_MAX_URLS + 5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("Card " + i, results.get(i).getOrThrow().getName());
+        }
+    }
+
+    @Test
+    @DisplayName("A card that cannot be read fails only its own result")
+    void testItemFailure() {
+        List<String> ids = new ArrayList<>(cardIds.subList(0, 4));
+        ids.add(1, "5f1a2b3c4d5e6f7081929394");
+        ids.add(3, "not-an-id");
+
+        List<OperationResult<Card>> results = cardPage.getCards(ids);
+
+        assertEquals(6, results.size());
+        assertFalse(results.get(1).isSuccess(), "A missing card should fail");
+        assertTrue(results.get(1).getError().getMessage().contains("404"));
+        assertFalse(results.get(3).isSuccess(), "An invalid ID should fail");
+        assertEquals("Card 0", results.get(0).getValue().getName());
+        assertEquals("Card 1", results.get(2).getValue().getName());
+        assertEquals("Card 3", results.get(5).getValue().getName());
+    }
+
+    @Test
+    @DisplayName("A batch request that fails fails only the results of its chunk")
+    void testChunkFailure() {
+        // A 400 is not retried, so exactly one of the three chunk requests fails
+        mockServer.failNext(1, 400, "invalid request");
+
+        List<OperationResult<Card>> results = cardPage.getCards(cardIds);
+
+        assertEquals(CARDS, results.size());
+        int failedChunks = 0;
+        for (int chunk = 0; chunk < 3; chunk++) {
+            List<OperationResult<Card>> chunkResults =
+                    results.subList(chunk * Config.BATCH_MAX_URLS, (chunk + 1) * Config.BATCH_MAX_URLS);
+            boolean failed = !chunkResults.get(0).isSuccess();
+            for (OperationResult<Card> result : chunkResults) {
+                assertEquals(failed, !result.isSuccess(), "A chunk should fail or succeed as a whole");
+            }
+            failedChunks += failed ? 1 : 0;
+        }
+        assertEquals(1, failedChunks);
+    }
+
+    @Test
+    @DisplayName("The async variant returns the same results")
+    void testAsync() {
+        List<OperationResult<Card>> results = cardPage.getCardsAsync(cardIds).join();
+
+        assertEquals(CARDS, results.size());
+        assertEquals("Card " + (CARDS - 1), results.get(CARDS - 1).getOrThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Boards are read in batches too")
+    void testGetBoards() {
+        List<OperationResult<Board>> results =
+                boardPage.getBoards(Arrays.asList(board.getId(), "5f1a2b3c4d5e6f7081929394"));
+
+        assertEquals("Batch Board", results.get(0).getOrThrow().getName());
+        assertFalse(results.get(1).isSuccess());
+    }
+
+    @Test
+    @DisplayName("No IDs send no request")
+    void testEmpty() {
+        long before = mockServer.getRequestCount();
+
+        assertTrue(cardPage.getCards(Collections.emptyList()).isEmpty());
+        assertEquals(0, mockServer.getRequestCount() - before);
+    }
+}
@@ -0,0 +1,269 @@
+package com.trello.api.tests;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.http.ResponseCache;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.models.List;
+import com.trello.api.models.OperationResult;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import com.trello.api.snapshot.BoardSnapshot;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Syncing a board snapshot with changes made by another client, checked against a full reload
+ * The snapshot follows its own page objects, the changes are made through separate ones it does not see.
+ * Every test works on its own boards.
+ */
+@DisplayName("Board Snapshot Sync Tests")
+public class BoardSnapshotSyncTest {
+
+    private static TrelloMockServer mockServer;
+    private static BoardPage boardPage;
+    private static CardPage cardPage;
+    private static BoardPage otherBoardPage;
+    private static CardPage otherCardPage;
+
+    @BeforeAll
+    static void setUp() {
+        mockServer = new TrelloMockServer(0).start();
+        // The mock accepts any credentials, real ones another test class is using are kept
+        if (!ApiCredentials.areCredentialsLoaded()) {
+            ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        }
+        boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        cardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        otherBoardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        otherCardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockServer.stop();
+    }
+
+    @Test
+    @DisplayName("A sync after mixed card changes matches a reload")
+    void testSyncMatchesReload() {
+        Board board = otherBoardPage.createBoard("Sync Board");
+        Board other = otherBoardPage.createBoard("Neighbour Board");
+        java.util.List<List> lists = otherBoardPage.getBoardLists(board.getId());
+        String otherListId = otherBoardPage.getFirstList(other.getId()).getId();
+        java.util.List<Card> cards = new java.util.ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            cards.add(otherCardPage.createCard("Card " + i, lists.get(i % 3).getId()));
+        }
+        Card incoming = otherCardPage.createCard("Incoming", otherListId);
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(boardPage, cardPage, board.getId())) {
+            otherBoardPage.updateBoard(board.getId(), "Renamed Board", "desc");
+            Card created = otherCardPage.createCard("Created", lists.get(0).getId());
+            otherCardPage.updateCard(cards.get(0).getId(), "Renamed", "new desc");
+            otherCardPage.updateCardDescription(created.getId(), "described");
+            put("/cards/" + cards.get(1).getId(), "idList", lists.get(2).getId());
+            put("/cards/" + cards.get(2).getId(), "pos", "1");
+            put("/cards/" + cards.get(3).getId(), "closed", "true");
+            otherCardPage.deleteCard(cards.get(4).getId());
+            otherCardPage.copyCard(cards.get(5).getId(), lists.get(1).getId(), "Copied");
+            put("/cards/" + cards.get(6).getId(), "idList", otherListId);
+            put("/cards/" + incoming.getId(), "idList", lists.get(1).getId());
+            Card shortLived = otherCardPage.createCard("Short-lived", lists.get(2).getId());
+            otherCardPage.deleteCard(shortLived.getId());
+
+            assertTrue(snapshot.sync() > 0);
+            String synced = state(snapshot);
+            assertEquals("Renamed Board", snapshot.getBoard().getName());
+            assertNull(snapshot.getCard(cards.get(3).getId()), "An archived card should leave the snapshot");
+            assertNull(snapshot.getCard(cards.get(6).getId()), "A card moved away should leave the snapshot");
+            assertEquals("Incoming", snapshot.getCard(incoming.getId()).getName());
+
+            snapshot.reload();
+            assertEquals(state(snapshot), synced);
+            assertEquals(0, snapshot.sync(), "Nothing changed since the reload");
+        }
+    }
+
+    @Test
+    @DisplayName("A sync without changes keeps the state and the cursor")
+    void testSyncWithoutChanges() {
+        Board board = otherBoardPage.createBoard("Quiet Board");
+        otherCardPage.createCard("Card", otherBoardPage.getFirstList(board.getId()).getId());
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(boardPage, cardPage, board.getId())) {
+            String loaded = state(snapshot);
+            String cursor = snapshot.getActionCursor();
+
+            assertEquals(0, snapshot.sync());
+            assertEquals(loaded, state(snapshot));
+            assertEquals(cursor, snapshot.getActionCursor());
+        }
+    }
+
+    @Test
+    @DisplayName("A load does not use cached reads older than its action cursor")
+    void testLoadBypassesCache() {
+        Board board = otherBoardPage.createBoard("Cached Board");
+        String listId = otherBoardPage.getFirstList(board.getId()).getId();
+        otherCardPage.createCard("Before", listId);
+        ResponseCache cache = new ResponseCache(100, 60000);
+        BoardPage cachedBoardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        CardPage cachedCardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        cachedBoardPage.setResponseCache(cache);
+        cachedCardPage.setResponseCache(cache);
+        cachedBoardPage.getBoard(board.getId());
+        cachedBoardPage.getBoardLists(board.getId());
+        cachedCardPage.getCardsInBoard(board.getId());
+
+        // Made by a client that does not share the cache, so the cached reads do not show it
+        otherBoardPage.updateBoard(board.getId(), "Renamed Board", "desc");
+        Card after = otherCardPage.createCard("After", listId);
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(cachedBoardPage, cachedCardPage, board.getId())) {
+            assertEquals("Renamed Board", snapshot.getBoard().getName());
+            assertEquals("After", snapshot.getCard(after.getId()).getName());
+            assertEquals(2, snapshot.getCardCount());
+            assertEquals(0, snapshot.sync());
+        }
+    }
+
+    @Test
+    @DisplayName("Archived and moved lists take their cards along, arriving lists bring theirs")
+    void testListMoveAndArchive() {
+        Board board = otherBoardPage.createBoard("List Board");
+        Board other = otherBoardPage.createBoard("Other List Board");
+        java.util.List<List> lists = otherBoardPage.getBoardLists(board.getId());
+        java.util.List<List> otherLists = otherBoardPage.getBoardLists(other.getId());
+        for (int i = 0; i < 12; i++) {
+            otherCardPage.createCard("Card " + i, lists.get(i % 3).getId());
+        }
+        for (int i = 0; i < 4; i++) {
+            otherCardPage.createCard("Other " + i, otherLists.get(0).getId());
+        }
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(boardPage, cardPage, board.getId())) {
+            put("/lists/" + lists.get(0).getId(), "closed", "true");
+            put("/lists/" + lists.get(1).getId(), "idBoard", other.getId());
+            put("/lists/" + otherLists.get(0).getId(), "idBoard", board.getId());
+
+            snapshot.sync();
+            String synced = state(snapshot);
+            assertNull(snapshot.getList(lists.get(0).getId()));
+            assertTrue(snapshot.getCardsInList(lists.get(0).getId()).isEmpty(), "Cards of an archived list should leave");
+            assertTrue(snapshot.getCardsInList(lists.get(1).getId()).isEmpty(), "Cards of a moved list should leave");
+            assertEquals(4, snapshot.getCardsInList(otherLists.get(0).getId()).size(), "An arriving list brings its cards");
+            assertEquals(8, snapshot.getCardCount());
+            snapshot.reload();
+            assertEquals(state(snapshot), synced);
+
+            put("/lists/" + lists.get(0).getId(), "closed", "false");
+            snapshot.sync();
+            synced = state(snapshot);
+            assertEquals(4, snapshot.getCardsInList(lists.get(0).getId()).size(), "An unarchived list brings its cards back");
+            snapshot.reload();
+            assertEquals(state(snapshot), synced);
+        }
+    }
+
+    @Test
+    @DisplayName("A card that cannot be read stops the sync before its first action, the next sync continues")
+    void testUnreadableCard() {
+        Board board = otherBoardPage.createBoard("Unreadable Board");
+        String listId = otherBoardPage.getFirstList(board.getId()).getId();
+        AtomicReference<String> deleteBeforeRead = new AtomicReference<>();
+        CardPage racingCardPage = racingCardPage(deleteBeforeRead);
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(boardPage, racingCardPage, board.getId())) {
+            Card readable = otherCardPage.createCard("Readable", listId);
+            Card deleted = otherCardPage.createCard("Deleted", listId);
+            deleteBeforeRead.set(deleted.getId());
+
+            assertEquals(1, snapshot.sync(), "Only the action before the unreadable card should be applied");
+            assertEquals("Readable", snapshot.getCard(readable.getId()).getName());
+            assertNull(snapshot.getCard(deleted.getId()));
+
+            assertTrue(snapshot.sync() > 0, "The next sync should continue with the deletion");
+            String synced = state(snapshot);
+            snapshot.reload();
+            assertEquals(state(snapshot), synced);
+        }
+    }
+
+    @Test
+    @DisplayName("A sync whose first action is on an unreadable card fails and keeps its cursor")
+    void testUnreadableFirstCard() {
+        Board board = otherBoardPage.createBoard("Failing Board");
+        String listId = otherBoardPage.getFirstList(board.getId()).getId();
+        AtomicReference<String> deleteBeforeRead = new AtomicReference<>();
+        CardPage racingCardPage = racingCardPage(deleteBeforeRead);
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(boardPage, racingCardPage, board.getId())) {
+            String cursor = snapshot.getActionCursor();
+            Card deleted = otherCardPage.createCard("Deleted", listId);
+            deleteBeforeRead.set(deleted.getId());
+
+            assertThrows(IllegalStateException.class, snapshot::sync);
+            assertEquals(cursor, snapshot.getActionCursor());
+
+            snapshot.sync();
+            assertEquals(0, snapshot.getCardCount());
+            assertNotEquals(cursor, snapshot.getActionCursor());
+        }
+    }
+
+    /**
+     * A card page that deletes the given card after the sync read the actions and before it reads the cards
+     */
+    private static CardPage racingCardPage(AtomicReference<String> deleteBeforeRead) {
+        return new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl()) {
+            @Override
+            public java.util.List<OperationResult<Card>> getCards(Collection<String> cardIds) {
+                String cardId = deleteBeforeRead.getAndSet(null);
+                if (cardId != null) {
+                    otherCardPage.deleteCard(cardId);
+                }
+                return super.getCards(cardIds);
+            }
+        };
+    }
+
+    private static void put(String path, String param, String value) {
+        RestAssured.given()
+                .baseUri(mockServer.getBaseUrl())
+                .queryParam("key", ApiCredentials.getApiKey())
+                .queryParam("token", ApiCredentials.getApiToken())
+                .queryParam(param, value)
+                .when()
+                .put(path)
+                .then()
+                .statusCode(200);
+    }
+
+    /**
+     * Everything a query can return, in a form that can be compared
+     */
+    private static String state(BoardSnapshot snapshot) {
+        StringBuilder state = new StringBuilder(snapshot.getBoard().getName()).append('\n');
+        for (Map.Entry<String, java.util.List<Card>> list : snapshot.getCardsByList().entrySet()) {
+            state.append(list.getKey()).append(' ').append(snapshot.getList(list.getKey()).getName()).append(": ");
+            state.append(list.getValue().stream()
+                    .map(card -> card.getId() + "/" + card.getName() + "/" + card.getDesc() + "/" + card.getIdList())
+                    .collect(Collectors.joining(", ")));
+            state.append('\n');
+        }
+        return state.append(snapshot.getCardCount()).toString();
+    }
+}
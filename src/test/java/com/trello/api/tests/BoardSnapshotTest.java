@@ -0,0 +1,193 @@
+package com.trello.api.tests;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.models.List;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import com.trello.api.snapshot.BoardSnapshot;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loading a board snapshot from the mock server, its indexes and the changes it follows through the page objects
+ * Every test works on its own board.
+ */
+@DisplayName("Board Snapshot Tests")
+public class BoardSnapshotTest {
+
+    private static TrelloMockServer mockServer;
+    private static BoardPage boardPage;
+    private static CardPage cardPage;
+
+    @BeforeAll
+    static void setUp() {
+        mockServer = new TrelloMockServer(0).start();
+        // The mock accepts any credentials, real ones another test class is using are kept
+        if (!ApiCredentials.areCredentialsLoaded()) {
+            ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        }
+        boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        cardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockServer.stop();
+    }
+
+    @Test
+    @DisplayName("A loaded snapshot indexes the lists and cards by ID, list and name")
+    void testLoadIndexes() {
+        Board board = boardPage.createBoard("Snapshot Board");
+        java.util.List<List> lists = boardPage.getBoardLists(board.getId());
+        java.util.List<Card> created = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            created.add(cardPage.createCard("Card " + (char) ('a' + i), lists.get(i % 3).getId()));
+        }
+        Card duplicate = cardPage.createCard("Card a", lists.get(2).getId());
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(boardPage, cardPage, board.getId())) {
+            assertEquals("Snapshot Board", snapshot.getBoard().getName());
+            assertEquals(ids(lists), ids(snapshot.getLists()));
+            assertEquals(13, snapshot.getCardCount());
+            assertEquals(created.get(5).getName(), snapshot.getCard(created.get(5).getId()).getName());
+            assertNull(snapshot.getCard("5f1a2b3c4d5e6f7081929394"));
+            assertNull(snapshot.getCard("not-an-id"));
+            assertEquals(lists.get(1).getName(), snapshot.getList(lists.get(1).getId()).getName());
+
+            for (List list : lists) {
+                assertEquals(cardIds(cardPage.getCardsInList(list.getId())), cardIds(snapshot.getCardsInList(list.getId())),
+                        "Cards of a list should be held by position");
+            }
+            Map<String, java.util.List<Card>> byList = snapshot.getCardsByList();
+            assertEquals(ids(lists), new ArrayList<>(byList.keySet()), "Lists should be in board order");
+            assertTrue(snapshot.getCardsInList("5f1a2b3c4d5e6f7081929394").isEmpty());
+
+            assertEquals(new HashSet<>(Arrays.asList(created.get(0).getId(), duplicate.getId())),
+                    new HashSet<>(cardIds(snapshot.findCardsByName("Card a"))));
+            assertTrue(snapshot.findCardsByName("Card").isEmpty(), "The name lookup should be exact");
+            java.util.List<String> names = snapshot.findCardsByNamePrefix("Card ").stream()
+                    .map(Card::getName).collect(Collectors.toList());
+            assertEquals(13, names.size());
+            java.util.List<String> sorted = new ArrayList<>(names);
+            sorted.sort(null);
+            assertEquals(sorted, names, "Prefix matches should be ordered by name");
+            assertEquals(1, snapshot.findCardsByNamePrefix("Card l").size());
+            assertTrue(snapshot.findCardsByNamePrefix("Karte").isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("A reload picks up new positions")
+    void testPositionOrder() {
+        Board board = boardPage.createBoard("Position Board");
+        String listId = boardPage.getFirstList(board.getId()).getId();
+        Card first = cardPage.createCard("First", listId);
+        Card second = cardPage.createCard("Second", listId);
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(boardPage, cardPage, board.getId())) {
+            assertEquals(Arrays.asList(first.getId(), second.getId()), cardIds(snapshot.getCardsInList(listId)));
+
+            put("/cards/" + second.getId(), "pos", "0.5");
+            snapshot.reload();
+
+            assertEquals(Arrays.asList(second.getId(), first.getId()), cardIds(snapshot.getCardsInList(listId)));
+        }
+    }
+
+    @Test
+    @DisplayName("Cards created, changed, copied and deleted through the page objects are applied right away")
+    void testFollowsPageObjects() {
+        Board board = boardPage.createBoard("Follow Board");
+        java.util.List<List> lists = boardPage.getBoardLists(board.getId());
+        String listId = lists.get(0).getId();
+        Card kept = cardPage.createCard("Kept", listId);
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(boardPage, cardPage, board.getId())) {
+            Card created = cardPage.createCard("Created", "desc", listId);
+            assertEquals("Created", snapshot.getCard(created.getId()).getName());
+            assertEquals(2, snapshot.getCardsInList(listId).size());
+
+            cardPage.updateCard(created.getId(), "Renamed", "desc");
+            assertTrue(snapshot.findCardsByName("Created").isEmpty(), "The old name should be unindexed");
+            assertEquals(created.getId(), snapshot.findCardsByName("Renamed").get(0).getId());
+
+            Card copy = cardPage.copyCard(kept.getId(), lists.get(1).getId(), "Copy");
+            assertEquals(copy.getId(), snapshot.getCardsInList(lists.get(1).getId()).get(0).getId());
+
+            cardPage.deleteCard(created.getId());
+            assertNull(snapshot.getCard(created.getId()));
+            assertTrue(snapshot.findCardsByName("Renamed").isEmpty());
+            assertEquals(Arrays.asList(kept.getId()), cardIds(snapshot.getCardsInList(listId)));
+            assertEquals(2, snapshot.getCardCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Cards of other boards are not indexed")
+    void testIgnoresOtherBoards() {
+        Board board = boardPage.createBoard("Own Board");
+        Board other = boardPage.createBoard("Other Board");
+
+        try (BoardSnapshot snapshot = BoardSnapshot.load(boardPage, cardPage, board.getId())) {
+            Card foreign = cardPage.createCard("Foreign", boardPage.getFirstList(other.getId()).getId());
+
+            assertNull(snapshot.getCard(foreign.getId()));
+            assertEquals(0, snapshot.getCardCount());
+        }
+    }
+
+    @Test
+    @DisplayName("A closed snapshot keeps its state and stops following, board deletion is noticed")
+    void testCloseAndDelete() {
+        Board board = boardPage.createBoard("Closed Board");
+        String listId = boardPage.getFirstList(board.getId()).getId();
+
+        BoardSnapshot snapshot = BoardSnapshot.load(boardPage, cardPage, board.getId());
+        cardPage.createCard("Before close", listId);
+        snapshot.close();
+        cardPage.createCard("After close", listId);
+        assertEquals(1, snapshot.getCardCount());
+        assertFalse(snapshot.isDeleted());
+
+        try (BoardSnapshot followed = BoardSnapshot.load(boardPage, cardPage, board.getId())) {
+            boardPage.deleteBoard(board.getId());
+            assertTrue(followed.isDeleted());
+        }
+    }
+
+    private static void put(String path, String param, String value) {
+        RestAssured.given()
+                .baseUri(mockServer.getBaseUrl())
+                .queryParam("key", ApiCredentials.getApiKey())
+                .queryParam("token", ApiCredentials.getApiToken())
+                .queryParam(param, value)
+                .when()
+                .put(path)
+                .then()
+                .statusCode(200);
+    }
+
+    private static java.util.List<String> ids(java.util.List<List> lists) {
+        return lists.stream().map(List::getId).collect(Collectors.toList());
+    }
+
+    private static java.util.List<String> cardIds(java.util.List<Card> cards) {
+        return cards.stream().map(Card::getId).collect(Collectors.toList());
+    }
+}
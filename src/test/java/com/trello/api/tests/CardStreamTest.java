@@ -0,0 +1,95 @@
+package com.trello.api.tests;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.http.OutboundRequestLimiter;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.models.Card;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streaming card reads against the mock server and the request slot they hold until the stream is closed
+ * Every test uses its own transport, so the slots it counts are its own.
+ */
+@DisplayName("Card Stream Tests")
+public class CardStreamTest {
+
+    private static TrelloMockServer mockServer;
+    private static String boardId;
+    private static String listId;
+    private static Set<String> cardIds;
+
+    @BeforeAll
+    static void setUp() {
+        mockServer = new TrelloMockServer(0).start();
+        // The mock accepts any credentials, real ones another test class is using are kept
+        if (!ApiCredentials.areCredentialsLoaded()) {
+            ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        }
+        BoardPage boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        CardPage cardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+
+        boardId = boardPage.createBoard("Stream Board").getId();
+        listId = boardPage.getFirstList(boardId).getId();
+        cardIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            cardIds.add(cardPage.createCard("Card " + i, listId).getId());
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockServer.stop();
+    }
+
+    @Test
+    @DisplayName("A stream holds its request slot until it is closed")
+    void testSlotHeldUntilClose() {
+        HttpTransport transport = new HttpTransport(4, 4, 5000, 5000, 30000, 2);
+        try {
+            CardPage cardPage = new CardPage(transport, mockServer.getBaseUrl());
+            OutboundRequestLimiter limiter = transport.getRequestLimiter();
+
+            Stream<Card> cards = cardPage.streamCardsInBoard(boardId);
+            assertEquals(1, limiter.getActiveRequests(), "The connection is leased while the stream is open");
+            assertEquals(cardIds, cards.map(Card::getId).collect(Collectors.toSet()));
+            cards.close();
+            cards.close();
+
+            assertEquals(0, limiter.getActiveRequests(), "Closing the stream, also twice, gives the slot back once");
+        } finally {
+            transport.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A failed stream request gives its slot back right away")
+    void testSlotReleasedOnFailure() {
+        HttpTransport transport = new HttpTransport(4, 4, 5000, 5000, 30000, 2);
+        try {
+            CardPage cardPage = new CardPage(transport, mockServer.getBaseUrl());
+
+            assertThrows(Throwable.class, () -> cardPage.streamCardsInBoard("5f1a2b3c4d5e6f7081929394"));
+
+            assertEquals(0, transport.getRequestLimiter().getActiveRequests());
+            try (Stream<Card> cards = cardPage.streamCardsInList(listId)) {
+                assertEquals(cardIds.size(), cards.count());
+            }
+            assertEquals(0, transport.getRequestLimiter().getActiveRequests());
+        } finally {
+            transport.shutdown();
+        }
+    }
+}
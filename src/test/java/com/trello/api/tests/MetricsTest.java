@@ -0,0 +1,116 @@
+package com.trello.api.tests;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.http.ResponseCache;
+import com.trello.api.metrics.MetricsRegistry;
+import com.trello.api.metrics.OperationStats;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Operation and request metrics against the mock server: retries, cache hits and the wait for the limiters
+ * Every test records into its own registry; the tests run one after the other because one of them slows the mock down.
+ */
+@DisplayName("Metrics Tests")
+@Execution(ExecutionMode.SAME_THREAD)
+public class MetricsTest {
+
+    private static TrelloMockServer mockServer;
+    private static String boardId;
+    private static String listId;
+
+    @BeforeAll
+    static void setUp() {
+        mockServer = new TrelloMockServer(0).start();
+        // The mock accepts any credentials, real ones another test class is using are kept
+        if (!ApiCredentials.areCredentialsLoaded()) {
+            ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        }
+        BoardPage boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        boardId = boardPage.createBoard("Metrics Board").getId();
+        listId = boardPage.getFirstList(boardId).getId();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockServer.stop();
+    }
+
+    @Test
+    @DisplayName("A retried call is one operation and several requests")
+    void testRetriedOperation() {
+        MetricsRegistry registry = new MetricsRegistry();
+        BoardPage boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        boardPage.setMetricsRegistry(registry);
+
+        mockServer.failNext(1, 503, "unavailable");
+        assertFalse(boardPage.getBoardLists(boardId).isEmpty());
+
+        OperationStats stats = registry.snapshot().get("getBoardLists");
+        assertEquals(1, stats.getOperations());
+        assertEquals(2, stats.getRequests());
+        assertEquals(1, stats.getRetries());
+        assertEquals(0, stats.getCacheHits());
+        assertTrue(stats.getMaxOperationLatencyMillis() >= stats.getMaxLatencyMillis(),
+                "The operation takes at least as long as its slowest attempt");
+    }
+
+    @Test
+    @DisplayName("A call answered from the cache is an operation and a cache hit without a request")
+    void testCacheHit() {
+        MetricsRegistry registry = new MetricsRegistry();
+        BoardPage boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        boardPage.setMetricsRegistry(registry);
+        boardPage.setResponseCache(new ResponseCache(10, 60000));
+
+        boardPage.getBoard(boardId);
+        boardPage.getBoard(boardId);
+
+        OperationStats stats = registry.snapshot().get("getBoard");
+        assertEquals(2, stats.getOperations());
+        assertEquals(1, stats.getCacheHits());
+        assertEquals(1, stats.getRequests());
+    }
+
+    @Test
+    @DisplayName("The wait for a request slot is reported apart from the request latency")
+    void testLimiterWait() {
+        MetricsRegistry registry = new MetricsRegistry();
+        HttpTransport transport = new HttpTransport(4, 4, 5000, 5000, 30000, 1);
+        mockServer.setLatency(200, 0);
+        try {
+            CardPage cardPage = new CardPage(transport, mockServer.getBaseUrl());
+            cardPage.setMetricsRegistry(registry);
+            String first = cardPage.createCard("First", listId).getId();
+            String second = cardPage.createCard("Second", listId).getId();
+            registry.reset();
+
+            // One slot, so one of the two reads waits for the other
+            CompletableFuture<?> firstRead = CompletableFuture.runAsync(() -> cardPage.getCard(first));
+            CompletableFuture<?> secondRead = CompletableFuture.runAsync(() -> cardPage.getCard(second));
+            CompletableFuture.allOf(firstRead, secondRead).join();
+
+            OperationStats stats = registry.snapshot().get("getCard");
+            assertEquals(2, stats.getOperations());
+            assertEquals(2, stats.getRequests());
+            assertTrue(stats.getLimiterWaitMillis(100) >= 100, "One read should wait for the other one's slot");
+            assertTrue(stats.getMaxLatencyMillis() < 350, "The wait should not be part of the request latency");
+            assertTrue(stats.getMaxOperationLatencyMillis() >= 300, "The caller waited for the slot and the request");
+        } finally {
+            mockServer.setLatency(0, 0);
+            transport.shutdown();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.trello.api.tests;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import com.trello.api.pages.CardQuery;
+import com.trello.api.pages.PageIterator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cursor handling and termination of the page iterator, on in-memory pages and on a board of the mock server
+ * The mock tests compare request counts, so the methods run one after the other.
+ */
+@DisplayName("Page Iterator Tests")
+@Execution(ExecutionMode.SAME_THREAD)
+public class PageIteratorTest {
+
+    private static TrelloMockServer mockServer;
+    private static CardPage cardPage;
+    private static String boardId;
+    private static List<String> cardIds;
+
+    @BeforeAll
+    static void setUp() {
+        mockServer = new TrelloMockServer(0).start();
+        // The mock accepts any credentials, real ones another test class is using are kept
+        if (!ApiCredentials.areCredentialsLoaded()) {
+            ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        }
+        BoardPage boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        cardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+
+        Board board = boardPage.createBoard("Paging Board");
+        boardId = board.getId();
+        String listId = boardPage.getFirstList(boardId).getId();
+        cardIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            cardIds.add(cardPage.createCard("Card " + i, listId).getId());
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockServer.stop();
+    }
+
+    @Test
+    @DisplayName("A short page is the last one, no further page is requested")
+    void testShortPageEnds() {
+        List<String> cursors = new ArrayList<>();
+        PageIterator<Integer> pages = new PageIterator<>(cursor -> {
+            cursors.add(cursor);
+            return CompletableFuture.completedFuture(cursors.size() < 3 ? range(3) : range(2));
+        }, page -> "after-" + cursors.size(), 3, false);
+
+        List<List<Integer>> read = drain(pages);
+
+        assertEquals(3, read.size());
+        assertEquals(2, read.get(2).size());
+        assertEquals(Arrays.asList(null, "after-1", "after-2"), cursors,
+                "Each page should be requested with the cursor of the page before");
+        assertFalse(pages.hasNext());
+        assertThrows(NoSuchElementException.class, pages::next);
+    }
+
+    @Test
+    @DisplayName("After a full last page the empty page ends the iteration and is not returned")
+    void testEmptyPageEnds() {
+        int[] fetched = new int[1];
+        PageIterator<Integer> pages = new PageIterator<>(cursor -> {
+            fetched[0]++;
+            return CompletableFuture.completedFuture(fetched[0] <= 2 ? range(3) : Collections.emptyList());
+        }, page -> "cursor", 3, false);
+
+        assertEquals(2, drain(pages).size());
+        assertEquals(3, fetched[0]);
+        assertFalse(pages.hasNext());
+        assertEquals(3, fetched[0], "An exhausted iterator should not request again");
+    }
+
+    @Test
+    @DisplayName("With prefetching the next page is requested before it is asked for, close cancels it")
+    void testPrefetchAndClose() {
+        List<CompletableFuture<List<Integer>>> requested = new ArrayList<>();
+        PageIterator<Integer> pages = new PageIterator<>(cursor -> {
+            CompletableFuture<List<Integer>> page = requested.isEmpty()
+                    ? CompletableFuture.completedFuture(range(3)) : new CompletableFuture<>();
+            requested.add(page);
+            return page;
+        }, page -> "cursor", 3, true);
+
+        assertEquals(range(3), pages.next());
+        assertEquals(2, requested.size(), "The second page should already be requested");
+
+        pages.close();
+        assertTrue(requested.get(1).isCancelled());
+        assertFalse(pages.hasNext());
+    }
+
+    @Test
+    @DisplayName("A failed page throws the original exception")
+    void testFailure() {
+        IllegalStateException error = new IllegalStateException("500");
+        PageIterator<Integer> pages = new PageIterator<>(cursor -> {
+            CompletableFuture<List<Integer>> page = new CompletableFuture<>();
+            page.completeExceptionally(error);
+            return page;
+        }, page -> "cursor", 3, false);
+
+        assertSame(error, assertThrows(IllegalStateException.class, pages::hasNext));
+    }
+
+    @Test
+    @DisplayName("The cards of a board are paged by descending ID, each card once")
+    void testIterateCardsInBoard() {
+        long before = mockServer.getRequestCount();
+        CardQuery query = CardQuery.builder().fields("name").pageSize(10).build();
+
+        List<List<Card>> pages = drain(cardPage.iterateCardsInBoard(boardId, query));
+
+        assertEquals(3, mockServer.getRequestCount() - before, "25 cards in pages of 10 should take 3 requests");
+        assertEquals(Arrays.asList(10, 10, 5), pages.stream().map(List::size).collect(Collectors.toList()));
+        List<String> read = pages.stream().flatMap(List::stream).map(Card::getId).collect(Collectors.toList());
+        // IDs start with the creation second, within a second the order is only by ID
+        List<String> newestFirst = new ArrayList<>(cardIds);
+        newestFirst.sort(Collections.reverseOrder());
+        assertEquals(newestFirst, read);
+    }
+
+    @Test
+    @DisplayName("Streaming with prefetching returns every card")
+    void testStreamWithPrefetch() {
+        CardQuery query = CardQuery.builder().fields("name").pageSize(5).prefetch(true).build();
+
+        Set<String> read;
+        try (Stream<Card> cards = cardPage.iterateCardsInBoard(boardId, query).stream()) {
+            read = cards.map(Card::getId).collect(Collectors.toSet());
+        }
+
+        assertEquals(new HashSet<>(cardIds), read);
+    }
+
+    private static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    private static <T> List<List<T>> drain(PageIterator<T> pages) {
+        List<List<T>> read = new ArrayList<>();
+        while (pages.hasNext()) {
+            read.add(pages.next());
+        }
+        return read;
+    }
+}
@@ -0,0 +1,98 @@
+package com.trello.api.tests;
+
+import com.trello.api.http.RateLimiter;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Token bucket behaviour and how the limiter follows the quota headers of the responses
+ */
+@DisplayName("Rate Limiter Tests")
+public class RateLimiterTest {
+
+    @Test
+    @DisplayName("The burst is sent without waiting, the next request waits for a token")
+    void testBurstThenWait() {
+        RateLimiter limiter = new RateLimiter(10, 3);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire(), "Request " + i + " of the burst should not wait");
+        }
+
+        long waited = limiter.acquire();
+
+        assertTrue(waited >= 50 && waited <= 100, "At 10 per second the next request should wait about 100 ms: " + waited);
+        assertEquals(1, limiter.getThrottledRequests());
+    }
+
+    @Test
+    @DisplayName("The strictest advertised quota applies, whatever order the headers come in")
+    void testMinimumAcrossPrefixes() {
+        Header[] tokenFirst = {
+                new Header("x-rate-limit-api-token-max", "100"),
+                new Header("x-rate-limit-api-token-interval-ms", "10000"),
+                new Header("x-rate-limit-api-key-max", "300"),
+                new Header("x-rate-limit-api-key-interval-ms", "10000")};
+        Header[] keyFirst = {tokenFirst[2], tokenFirst[3], tokenFirst[0], tokenFirst[1]};
+
+        RateLimiter limiter = new RateLimiter(1000, 1000);
+        limiter.onResponse(response(200, tokenFirst));
+        assertEquals(10, limiter.getPermitsPerSecond(), 0.001);
+
+        RateLimiter reversed = new RateLimiter(1000, 1000);
+        reversed.onResponse(response(200, keyFirst));
+        assertEquals(10, reversed.getPermitsPerSecond(), 0.001);
+    }
+
+    @Test
+    @DisplayName("A quota looser than the configured rate does not raise it")
+    void testConfiguredRateIsUpperBound() {
+        RateLimiter limiter = new RateLimiter(5, 10);
+
+        limiter.onResponse(response(200,
+                new Header("x-rate-limit-api-key-max", "300"),
+                new Header("x-rate-limit-api-key-interval-ms", "10000")));
+
+        assertEquals(5, limiter.getPermitsPerSecond(), 0.001);
+        limiter.onResponse(response(200));
+        assertEquals(5, limiter.getPermitsPerSecond(), 0.001, "A response without headers should change nothing");
+    }
+
+    @Test
+    @DisplayName("The bucket drains to the remaining count the server reports")
+    void testRemainingDrainsBucket() {
+        RateLimiter limiter = new RateLimiter(20, 100);
+
+        limiter.onResponse(response(200, new Header("x-rate-limit-api-token-remaining", "0")));
+
+        assertTrue(limiter.acquire() > 0, "No tokens should be left after the server reported 0 remaining");
+    }
+
+    @Test
+    @DisplayName("A 429 pauses the limiter for Retry-After")
+    void testPauseOnTooManyRequests() {
+        RateLimiter limiter = new RateLimiter(1000, 100);
+
+        limiter.onResponse(response(429, new Header("Retry-After", "0.2")));
+        long waited = limiter.acquire();
+
+        assertTrue(waited >= 150 && waited <= 250, "The limiter should pause for about 200 ms: " + waited);
+        assertEquals(1, limiter.getRejectedByServer());
+    }
+
+    @Test
+    @DisplayName("Invalid settings are rejected")
+    void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 0));
+    }
+
+    private static Response response(int status, Header... headers) {
+        return new ResponseBuilder().setStatusCode(status).setHeaders(new Headers(headers)).setBody("").build();
+    }
+}
@@ -0,0 +1,199 @@
+package com.trello.api.tests;
+
+import com.trello.api.http.ResponseCache;
+import com.trello.api.models.TrelloId;
+import io.restassured.RestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hits, tag invalidation, revalidation and the races between a request in flight and an invalidation
+ */
+@DisplayName("Response Cache Tests")
+public class ResponseCacheTest {
+
+    private static final long LONG_TTL_MS = 60000;
+
+    @Test
+    @DisplayName("A second read is served from the cache")
+    void testHit() {
+        ResponseCache cache = new ResponseCache(10, LONG_TTL_MS);
+        AtomicInteger sent = new AtomicInteger();
+
+        Response first = cache.get("board/1", RestAssured.given(), ok(sent, "v1", null), tags("1"));
+        Response second = cache.get("board/1", RestAssured.given(), ok(sent, "v2", null), tags("1"));
+
+        assertEquals(1, sent.get());
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Invalidating an ID drops exactly the entries tagged with it")
+    void testInvalidateByTag() {
+        ResponseCache cache = new ResponseCache(10, LONG_TTL_MS);
+        AtomicInteger sent = new AtomicInteger();
+        TrelloId cardId = TrelloId.parse("5f1a2b3c4d5e6f7081929394");
+        cache.get("board/1/cards", RestAssured.given(), ok(sent, "cards", null),
+                response -> Arrays.asList("1", cardId));
+        cache.get("board/2", RestAssured.given(), ok(sent, "board", null), tags("2"));
+
+        cache.invalidate(TrelloId.parse(cardId.toString()));
+
+        assertEquals(1, cache.size(), "Only the entry tagged with the card should be dropped");
+        assertEquals(1, cache.getInvalidations());
+        cache.get("board/2", RestAssured.given(), ok(sent, "board", null), tags("2"));
+        assertEquals(2, sent.get(), "The other entry should still be cached");
+    }
+
+    @Test
+    @DisplayName("A response read before an invalidation is not stored")
+    void testInvalidationDuringFirstRead() {
+        ResponseCache cache = new ResponseCache(10, LONG_TTL_MS);
+        AtomicInteger sent = new AtomicInteger();
+
+        // The change is made while the read is in flight, its response may not show it
+        Response stale = cache.get("board/1", RestAssured.given(), request -> {
+            cache.invalidate("1");
+            return ok(sent, "old", null).apply(request);
+        }, tags("1"));
+
+        assertEquals("old", stale.asString(), "The caller still gets the response it asked for");
+        assertEquals(0, cache.size(), "The possibly stale response should not be stored");
+        cache.get("board/1", RestAssured.given(), ok(sent, "new", null), tags("1"));
+        assertEquals(2, sent.get());
+    }
+
+    @Test
+    @DisplayName("An invalidation of an unrelated ID during a read does not stop it from being stored")
+    void testUnrelatedInvalidationDuringRead() {
+        ResponseCache cache = new ResponseCache(10, LONG_TTL_MS);
+        AtomicInteger sent = new AtomicInteger();
+
+        cache.get("board/1", RestAssured.given(), request -> {
+            cache.invalidate("2");
+            return ok(sent, "v1", null).apply(request);
+        }, tags("1"));
+        cache.get("board/1", RestAssured.given(), ok(sent, "v2", null), tags("1"));
+
+        assertEquals(1, sent.get(), "The response should have been stored");
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("A response read before the cache was cleared is not stored")
+    void testClearDuringRead() {
+        ResponseCache cache = new ResponseCache(10, LONG_TTL_MS);
+        AtomicInteger sent = new AtomicInteger();
+
+        cache.get("board/1", RestAssured.given(), request -> {
+            cache.clear();
+            return ok(sent, "v1", null).apply(request);
+        }, tags("1"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("A revalidation that races an invalidation does not bring the entry back")
+    void testInvalidationDuringRevalidation() {
+        ResponseCache cache = new ResponseCache(10, 0);
+        AtomicInteger sent = new AtomicInteger();
+        cache.get("board/1", RestAssured.given(), ok(sent, "v1", "\"e1\""), tags("1"));
+
+        cache.get("board/1", RestAssured.given(), request -> {
+            cache.invalidate("1");
+            return ok(sent, "v2", "\"e2\"").apply(request);
+        }, tags("1"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("A stale entry with an ETag is revalidated and kept on 304")
+    void testRevalidation() {
+        ResponseCache cache = new ResponseCache(10, 0);
+        AtomicInteger sent = new AtomicInteger();
+        Response first = cache.get("board/1", RestAssured.given(), ok(sent, "v1", "\"e1\""), tags("1"));
+
+        String[] ifNoneMatch = new String[1];
+        Response second = cache.get("board/1", RestAssured.given(), request -> {
+            ifNoneMatch[0] = ((FilterableRequestSpecification) request).getHeaders().getValue("If-None-Match");
+            return new ResponseBuilder().setStatusCode(304).setBody("").build();
+        }, tags("1"));
+
+        assertEquals("\"e1\"", ifNoneMatch[0]);
+        assertSame(first, second);
+        assertEquals(1, cache.getRevalidated());
+    }
+
+    @Test
+    @DisplayName("Only 200 responses are stored")
+    void testErrorsAreNotStored() {
+        ResponseCache cache = new ResponseCache(10, LONG_TTL_MS);
+
+        Response response = cache.get("board/1", RestAssured.given(),
+                request -> new ResponseBuilder().setStatusCode(404).setBody("not found").build(), tags("1"));
+
+        assertEquals(404, response.getStatusCode());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("The least recently used entry is evicted first")
+    void testEviction() {
+        ResponseCache cache = new ResponseCache(2, LONG_TTL_MS);
+        AtomicInteger sent = new AtomicInteger();
+        cache.get("a", RestAssured.given(), ok(sent, "a", null), tags("a"));
+        cache.get("b", RestAssured.given(), ok(sent, "b", null), tags("b"));
+        cache.get("a", RestAssured.given(), ok(sent, "a", null), tags("a"));
+
+        cache.get("c", RestAssured.given(), ok(sent, "c", null), tags("c"));
+        cache.get("a", RestAssured.given(), ok(sent, "a", null), tags("a"));
+        cache.get("b", RestAssured.given(), ok(sent, "b", null), tags("b"));
+
+        assertEquals(4, sent.get(), "b should have been evicted, a kept");
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("A disabled cache sends every request")
+    void testDisabled() {
+        ResponseCache cache = new ResponseCache(0, LONG_TTL_MS);
+        AtomicInteger sent = new AtomicInteger();
+
+        cache.get("a", RestAssured.given(), ok(sent, "a", null), tags("a"));
+        cache.get("a", RestAssured.given(), ok(sent, "a", null), tags("a"));
+
+        assertFalse(cache.isEnabled());
+        assertEquals(2, sent.get());
+        assertEquals(0, cache.size());
+    }
+
+    private static Function<RequestSpecification, Response> ok(AtomicInteger sent, String body, String etag) {
+        return request -> {
+            sent.incrementAndGet();
+            Headers headers = etag == null ? new Headers() : new Headers(new Header("ETag", etag));
+            return new ResponseBuilder().setStatusCode(200).setHeaders(headers).setBody(body).build();
+        };
+    }
+
+    private static Function<Response, Collection<?>> tags(String id) {
+        return response -> Collections.singleton(id);
+    }
+}
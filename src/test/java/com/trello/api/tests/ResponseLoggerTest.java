@@ -0,0 +1,153 @@
+package com.trello.api.tests;
+
+import com.trello.api.http.LogMode;
+import com.trello.api.http.ResponseLogger;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Levels, truncation and closing of the response logger, written to a logger that records its lines
+ */
+@DisplayName("Response Logger Tests")
+public class ResponseLoggerTest {
+
+    @Test
+    @DisplayName("Successes are logged at DEBUG with body, failures at WARN")
+    void testLevels() {
+        RecordingLogger lines = new RecordingLogger(Level.DEBUG);
+        ResponseLogger logger = new ResponseLogger(lines, LogMode.ALL, 100, 0);
+
+        logger.log(response(200, "{\"id\":1}"));
+        logger.log(response(404, "not found"));
+        logger.logStatus(response(200, "streamed"));
+
+        assertEquals(3, lines.size());
+        assertEquals("DEBUG Response Status: 200 Body: {\"id\":1}", lines.get(0));
+        assertEquals("WARN Response Status: 404 Body: not found", lines.get(1));
+        assertEquals("DEBUG Response Status: 200", lines.get(2), "A streamed body is not read");
+    }
+
+    @Test
+    @DisplayName("Above DEBUG only failures are logged")
+    void testNoLinePerSuccess() {
+        RecordingLogger lines = new RecordingLogger(Level.INFO);
+        ResponseLogger logger = new ResponseLogger(lines, LogMode.ALL, 100, 0);
+
+        logger.log(response(200, "ok"));
+        logger.log(response(500, "error"));
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("WARN Response Status: 500"));
+    }
+
+    @Test
+    @DisplayName("A long body is cut before a character that does not fit")
+    void testTruncation() {
+        RecordingLogger lines = new RecordingLogger(Level.DEBUG);
+        ResponseLogger logger = new ResponseLogger(lines, LogMode.ALL, 4, 0);
+
+        // ş takes the 4th and 5th of the 6 bytes, a cut after 4 bytes would split it
+        logger.log(response(200, "aaaşb"));
+
+        assertEquals("DEBUG Response Status: 200 Body: aaa... (3 more bytes)", lines.get(0));
+    }
+
+    @Test
+    @DisplayName("Closing writes out the queued entries, later entries are written right away")
+    void testClose() {
+        RecordingLogger lines = new RecordingLogger(Level.DEBUG);
+        ResponseLogger logger = new ResponseLogger(lines, LogMode.ALL, 100, 1000);
+        for (int i = 0; i < 100; i++) {
+            logger.log(response(200, "body " + i));
+        }
+
+        logger.close();
+        assertEquals(100, lines.size(), "Every queued entry should be written by close");
+        logger.log(response(200, "after"));
+        assertEquals(101, lines.size());
+        assertEquals("DEBUG Response Status: 200 Body: after", lines.get(100));
+        logger.close();
+        assertEquals(0, logger.getDropped());
+    }
+
+    private static Response response(int status, String body) {
+        return new ResponseBuilder().setStatusCode(status).setHeaders(new Headers())
+                .setBody(body.getBytes(StandardCharsets.UTF_8)).build();
+    }
+
+    /**
+     * Records formatted lines as "LEVEL message"
+     */
+    private static class RecordingLogger extends LegacyAbstractLogger {
+
+        private final Level threshold;
+        private final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingLogger(Level threshold) {
+            this.threshold = threshold;
+            this.name = "recording";
+        }
+
+        int size() {
+            return lines.size();
+        }
+
+        String get(int index) {
+            return lines.get(index);
+        }
+
+        private boolean enabled(Level level) {
+            return level.toInt() >= threshold.toInt();
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return enabled(Level.TRACE);
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return enabled(Level.DEBUG);
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return enabled(Level.INFO);
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return enabled(Level.WARN);
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return enabled(Level.ERROR);
+        }
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+                                                   Object[] arguments, Throwable throwable) {
+            lines.add(level + " " + MessageFormatter.basicArrayFormat(messagePattern, arguments));
+        }
+    }
+}
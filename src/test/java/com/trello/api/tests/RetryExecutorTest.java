@@ -0,0 +1,213 @@
+package com.trello.api.tests;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.http.RetryBudget;
+import com.trello.api.http.RetryExecutor;
+import com.trello.api.http.RetryPolicy;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.models.Board;
+import com.trello.api.models.Card;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Retry policy, executor and budget on built responses, and the POST retry rules of CardPage against the mock server
+ */
+@DisplayName("Retry Tests")
+public class RetryExecutorTest {
+
+    private static final RetryPolicy TRANSIENT = RetryPolicy.builder()
+            .maxAttempts(3)
+            .backoff(1, 10)
+            .retryOnTransientErrors()
+            .build();
+    private static final RetryPolicy UNPROCESSED = RetryPolicy.builder()
+            .retryOnUnprocessedRequests()
+            .build();
+
+    private static ScheduledExecutorService scheduler;
+    private static TrelloMockServer mockServer;
+    private static BoardPage boardPage;
+    private static CardPage cardPage;
+
+    @BeforeAll
+    static void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        mockServer = new TrelloMockServer(0).start();
+        // The mock accepts any credentials, real ones another test class is using are kept
+        if (!ApiCredentials.areCredentialsLoaded()) {
+            ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+        }
+        boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+        cardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockServer.stop();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Transient responses are retried until the attempts run out")
+    void testRetriesUntilMaxAttempts() {
+        RetryExecutor executor = new RetryExecutor(scheduler, 0.2, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        Response response = executor.execute("op", TRANSIENT, attempt -> {
+            calls.incrementAndGet();
+            return response(503);
+        });
+
+        assertEquals(503, response.getStatusCode(), "The last response should be returned");
+        assertEquals(3, calls.get(), "Every attempt should be used");
+    }
+
+    @Test
+    @DisplayName("A successful retry ends the loop")
+    void testStopsAfterSuccess() {
+        RetryExecutor executor = new RetryExecutor(scheduler, 0.2, 10);
+
+        Response response = executor.execute("op", TRANSIENT, attempt -> response(attempt == 1 ? 500 : 200));
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, executor.getBudget("op").getRetriesGranted(), "Only one retry should be spent");
+    }
+
+    @Test
+    @DisplayName("Retryable errors are retried, others are thrown at once")
+    void testRetriesErrors() {
+        RetryExecutor executor = new RetryExecutor(scheduler, 0.2, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        Response response = executor.execute("io", TRANSIENT, attempt -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new RuntimeException(new IOException("connection reset"));
+            }
+            return response(200);
+        });
+        assertEquals(200, response.getStatusCode());
+        assertEquals(2, calls.get());
+
+        calls.set(0);
+        assertThrows(IllegalStateException.class, () -> executor.execute("state", TRANSIENT, attempt -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("not transient");
+        }));
+        assertEquals(1, calls.get(), "A non-retryable error should not be retried");
+    }
+
+    @Test
+    @DisplayName("The delay honors Retry-After and otherwise stays within the jittered backoff")
+    void testDelay() {
+        RetryPolicy policy = RetryPolicy.builder().backoff(100, 1000).jitter(0).build();
+        assertEquals(100, policy.delayMillis(1, null));
+        assertEquals(400, policy.delayMillis(3, null));
+        assertEquals(1000, policy.delayMillis(10, null), "The delay should be capped");
+
+        Response throttled = new ResponseBuilder().setStatusCode(429).setHeader("Retry-After", "2").setBody("").build();
+        assertEquals(2000, RetryPolicy.retryAfterMillis(throttled));
+        assertEquals(2000, policy.delayMillis(1, throttled), "Retry-After should win over a shorter backoff");
+        assertEquals(0, RetryPolicy.retryAfterMillis(response(429)), "A missing header means no minimum");
+
+        RetryPolicy jittered = RetryPolicy.builder().backoff(100, 1000).jitter(0.5).build();
+        for (int i = 0; i < 100; i++) {
+            long delay = jittered.delayMillis(1, null);
+            assertTrue(delay >= 50 && delay <= 100, "Jittered delay out of range: " + delay);
+        }
+    }
+
+    @Test
+    @DisplayName("An exhausted budget stops retries")
+    void testBudgetExhaustion() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        assertTrue(budget.tryAcquireRetry(), "The reserve should allow one retry");
+        assertFalse(budget.tryAcquireRetry(), "The reserve should be used up");
+        budget.recordRequest();
+        budget.recordRequest();
+        assertTrue(budget.tryAcquireRetry(), "Two requests at ratio 0.5 should earn one retry");
+        assertEquals(2, budget.getRetriesGranted());
+        assertEquals(1, budget.getRetriesDenied());
+
+        RetryExecutor executor = new RetryExecutor(scheduler, 0, 0);
+        AtomicInteger calls = new AtomicInteger();
+        Response response = executor.execute("down", TRANSIENT, attempt -> {
+            calls.incrementAndGet();
+            return response(503);
+        });
+        assertEquals(503, response.getStatusCode());
+        assertEquals(1, calls.get(), "Without budget the call should not be retried");
+        assertEquals(1, executor.getBudget("down").getRetriesDenied());
+    }
+
+    @Test
+    @DisplayName("Async retries are scheduled and complete the future")
+    void testExecuteAsync() {
+        RetryExecutor executor = new RetryExecutor(scheduler, 0.2, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<Response> future = executor.executeAsync("async", TRANSIENT, attempt -> {
+            calls.incrementAndGet();
+            if (attempt == 1) {
+                CompletableFuture<Response> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new SocketTimeoutException("read timed out"));
+                return failed;
+            }
+            return CompletableFuture.completedFuture(response(attempt == 2 ? 502 : 200));
+        });
+
+        assertEquals(200, future.join().getStatusCode());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("Non-idempotent calls only retry requests the server did not process")
+    void testUnprocessedRequestRules() {
+        assertTrue(UNPROCESSED.shouldRetry(response(429)));
+        assertTrue(UNPROCESSED.shouldRetry(response(503)));
+        assertFalse(UNPROCESSED.shouldRetry(response(500)), "A 500 may have created the resource");
+        assertFalse(UNPROCESSED.shouldRetry(response(504)), "A gateway timeout may have created the resource");
+        assertTrue(UNPROCESSED.shouldRetry(new RuntimeException(new ConnectException("refused"))));
+        assertFalse(UNPROCESSED.shouldRetry(new SocketTimeoutException("read timed out")),
+                "A read timeout may have created the resource");
+    }
+
+    @Test
+    @DisplayName("createCard retries a 503 but not a 500")
+    void testCreateCardRetries() {
+        Board board = boardPage.createBoard("Retry Board");
+        String listId = boardPage.getFirstList(board.getId()).getId();
+
+        mockServer.failNext(1, 503, "Service unavailable");
+        long before = mockServer.getRequestCount();
+        Card card = cardPage.createCard("Retried card", listId);
+        assertEquals("Retried card", card.getName());
+        assertEquals(2, mockServer.getRequestCount() - before, "The 503 should be retried once");
+
+        mockServer.failNext(1, 500, "Internal server error");
+        long beforeFailure = mockServer.getRequestCount();
+        assertThrows(AssertionError.class, () -> cardPage.createCard("Not retried", listId));
+        assertEquals(1, mockServer.getRequestCount() - beforeFailure, "The 500 should not be retried");
+    }
+
+    private static Response response(int status) {
+        return new ResponseBuilder().setStatusCode(status).setBody("").build();
+    }
+}
@@ -0,0 +1,215 @@
+package com.trello.api.tests;
+
+import com.trello.api.config.ApiCredentials;
+import com.trello.api.http.HttpTransport;
+import com.trello.api.http.SingleFlight;
+import com.trello.api.mock.TrelloMockServer;
+import com.trello.api.models.Card;
+import com.trello.api.models.List;
+import com.trello.api.pages.BoardPage;
+import com.trello.api.pages.CardPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Coalescing of identical reads in flight and detaching them with forget
+ */
+@DisplayName("Single Flight Tests")
+public class SingleFlightTest {
+
+    private static final String SCOPE = "http://localhost getCard";
+
+    @Test
+    @DisplayName("A read arriving while the same read is in flight shares its result")
+    void testCoalescesAsyncReads() {
+        SingleFlight singleFlight = new SingleFlight(true);
+        CompletableFuture<String> response = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.executeAsync(SCOPE, "1", () -> start(started, response));
+        CompletableFuture<String> second = singleFlight.executeAsync(SCOPE, "1", () -> start(started, new CompletableFuture<>()));
+        response.complete("card");
+
+        assertEquals("card", first.join());
+        assertEquals("card", second.join());
+        assertEquals(1, started.get());
+        assertEquals(1, singleFlight.getShared());
+        assertEquals(0, singleFlight.getInFlight(), "Nothing should be kept once the read completed");
+    }
+
+    @Test
+    @DisplayName("Reads of other IDs or scopes are not coalesced")
+    void testKeysAreSeparate() {
+        SingleFlight singleFlight = new SingleFlight(true);
+        AtomicInteger started = new AtomicInteger();
+
+        singleFlight.executeAsync(SCOPE, "1", () -> start(started, new CompletableFuture<>()));
+        singleFlight.executeAsync(SCOPE, "2", () -> start(started, new CompletableFuture<>()));
+        singleFlight.executeAsync("http://localhost getBoard", "1", () -> start(started, new CompletableFuture<>()));
+
+        assertEquals(3, started.get());
+        assertEquals(3, singleFlight.getInFlight());
+    }
+
+    @Test
+    @DisplayName("After forget a new caller starts its own read, waiting callers keep the old one")
+    void testForget() {
+        SingleFlight singleFlight = new SingleFlight(true);
+        CompletableFuture<String> oldResponse = new CompletableFuture<>();
+        CompletableFuture<String> newResponse = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<String> before = singleFlight.executeAsync(SCOPE, "1", () -> start(started, oldResponse));
+        CompletableFuture<String> waiting = singleFlight.executeAsync(SCOPE, "1", () -> start(started, new CompletableFuture<>()));
+        singleFlight.forget("1");
+        CompletableFuture<String> after = singleFlight.executeAsync(SCOPE, "1", () -> start(started, newResponse));
+
+        assertEquals(2, started.get(), "The read after the change should not join the old one");
+        oldResponse.complete("old");
+        assertEquals("old", before.join());
+        assertEquals("old", waiting.join());
+        assertEquals(1, singleFlight.getInFlight(), "Completing the old read must not detach the new one");
+
+        CompletableFuture<String> joined = singleFlight.executeAsync(SCOPE, "1", () -> start(started, new CompletableFuture<>()));
+        newResponse.complete("new");
+        assertEquals("new", after.join());
+        assertEquals("new", joined.join());
+        assertEquals(2, started.get());
+    }
+
+    @Test
+    @DisplayName("forget leaves the reads of other IDs in flight")
+    void testForgetOtherId() {
+        SingleFlight singleFlight = new SingleFlight(true);
+        AtomicInteger started = new AtomicInteger();
+        singleFlight.executeAsync(SCOPE, "1", () -> start(started, new CompletableFuture<>()));
+
+        singleFlight.forget("2");
+        singleFlight.executeAsync(SCOPE, "1", () -> start(started, new CompletableFuture<>()));
+
+        assertEquals(1, started.get());
+        assertEquals(1, singleFlight.getShared());
+    }
+
+    @Test
+    @DisplayName("Coalesced callers get the same failure")
+    void testSharedFailure() {
+        SingleFlight singleFlight = new SingleFlight(true);
+        CompletableFuture<String> response = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.executeAsync(SCOPE, "1", () -> start(started, response));
+        CompletableFuture<String> second = singleFlight.executeAsync(SCOPE, "1", () -> start(started, new CompletableFuture<>()));
+        IllegalStateException error = new IllegalStateException("404");
+        response.completeExceptionally(error);
+
+        assertSame(error, assertThrows(CompletionException.class, first::join).getCause());
+        assertSame(error, assertThrows(CompletionException.class, second::join).getCause());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    @DisplayName("A blocking caller waits for the read in flight on another thread")
+    void testCoalescesBlockingReads() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(true);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.execute(SCOPE, "1", () -> {
+                started.incrementAndGet();
+                await(release);
+                return "card";
+            }));
+            while (singleFlight.getInFlight() == 0) {
+                Thread.sleep(1);
+            }
+            Future<String> second = executor.submit(() -> singleFlight.execute(SCOPE, "1", () -> {
+                started.incrementAndGet();
+                return "own read";
+            }));
+            while (singleFlight.getShared() == 0) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertEquals("card", first.get(5, TimeUnit.SECONDS));
+            assertEquals("card", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, started.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Coalesced page object reads share the request but not the returned models")
+    void testCoalescedModelsAreSeparate() {
+        TrelloMockServer mockServer = new TrelloMockServer(0).start();
+        try {
+            // The mock accepts any credentials, real ones another test class is using are kept
+            if (!ApiCredentials.areCredentialsLoaded()) {
+                ApiCredentials.setCredentials(TrelloMockServer.API_KEY, TrelloMockServer.API_TOKEN);
+            }
+            SingleFlight singleFlight = new SingleFlight(true);
+            BoardPage boardPage = new BoardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+            CardPage cardPage = new CardPage(HttpTransport.getDefault(), mockServer.getBaseUrl());
+            boardPage.setSingleFlight(singleFlight);
+            cardPage.setSingleFlight(singleFlight);
+            String boardId = boardPage.createBoard("Shared Board").getId();
+            String cardId = cardPage.createCard("Card", boardPage.getFirstList(boardId).getId()).getId();
+            mockServer.setLatency(200, 0);
+
+            CompletableFuture<java.util.List<List>> firstLists = boardPage.getBoardListsAsync(boardId);
+            CompletableFuture<java.util.List<List>> secondLists = boardPage.getBoardListsAsync(boardId);
+            CompletableFuture<Card> firstCard = cardPage.getCardAsync(cardId);
+            CompletableFuture<Card> secondCard = cardPage.getCardAsync(cardId);
+
+            assertNotSame(firstLists.join(), secondLists.join());
+            firstLists.join().clear();
+            assertEquals(3, secondLists.join().size(), "Changing one caller's list must not change the other's");
+            assertNotSame(firstCard.join(), secondCard.join());
+            firstCard.join().setName("Changed");
+            assertEquals("Card", secondCard.join().getName());
+            assertTrue(singleFlight.getShared() >= 1, "The reads should have been coalesced");
+        } finally {
+            mockServer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("A disabled group runs every read")
+    void testDisabled() {
+        SingleFlight singleFlight = new SingleFlight(false);
+        AtomicInteger started = new AtomicInteger();
+
+        singleFlight.executeAsync(SCOPE, "1", () -> start(started, new CompletableFuture<>()));
+        singleFlight.executeAsync(SCOPE, "1", () -> start(started, new CompletableFuture<>()));
+
+        assertEquals(2, started.get());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    private static CompletableFuture<String> start(AtomicInteger started, CompletableFuture<String> response) {
+        started.incrementAndGet();
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,57 +1,76 @@
 package com.trello.api.tests;
 
 import com.trello.api.config.Config;
-import com.trello.api.config.ApiCredentials;
+import com.trello.api.fixtures.BoardFixture;
+import com.trello.api.fixtures.Fixtures;
+import com.trello.api.fixtures.TestEnvironment;
 import com.trello.api.models.Board;
 import com.trello.api.models.Card;
+import com.trello.api.metrics.MetricsRegistry;
 import com.trello.api.models.List;
 import com.trello.api.pages.BoardPage;
 import com.trello.api.pages.CardPage;
-import com.trello.api.utils.RandomUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.Order;
-import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.MethodOrderer;
-
-import java.util.ArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+/**
+ * Every test works on its own board fixture, so the tests can run in any order and in parallel
+ * (see junit-platform.properties). JUnit creates a new instance per test, the fixture field is never shared.
+ */
 @DisplayName("Trello API Automation Test Suite")
 public class TrelloApiTest {
-    
+
     private static BoardPage boardPage;
     private static CardPage cardPage;
-    private static Board createdBoard;
-    private static java.util.List<Card> createdCards;
-    private static List createdList;
+    private static Fixtures fixtures;
+    
+    private BoardFixture fixture;
     
     @BeforeAll
     static void setUp() {
+        // -Dtrello.target=mock runs the suite offline against the in-process mock server
+        boolean credentialsLoaded = TestEnvironment.acquire();
+        
         // Validate API credentials before running tests
-        assertTrue(ApiCredentials.areCredentialsLoaded(), 
+        assertTrue(credentialsLoaded,
                 "API credentials are not loaded. Please check your api.properties file.");
         
-        // Initialize page objects
-        boardPage = new BoardPage();
-        cardPage = new CardPage();
-        createdCards = new ArrayList<>();
+        // Page objects are shared by all test threads, everything created through them is cleaned up at the end
+        boardPage = TestEnvironment.getBoardPage();
+        cardPage = TestEnvironment.getCardPage();
+        fixtures = TestEnvironment.getFixtures();
         
         System.out.println("=== Trello API Automation Test Started ===");
     }
     
+    @AfterEach
+    void closeFixture() {
+        if (fixture != null) {
+            fixture.close();
+        }
+    }
+    
+    @AfterAll
+    static void tearDown() {
+        System.out.println("\n=== TEST SUMMARY ===");
+        TestEnvironment.release();
+        MetricsRegistry.getDefault().snapshot().printSummary(System.out);
+    }
+    
     @Test
-    @Order(1)
-    @DisplayName("1. Create a new board")
+    @DisplayName("Create a new board")
     void testCreateBoard() {
-        System.out.println("\n--- Step 1: Creating a new board ---");
+        System.out.println("\n--- Creating a new board ---");
         
         // Create board with name and description
-        createdBoard = boardPage.createBoard(Config.DEFAULT_BOARD_NAME, Config.DEFAULT_BOARD_DESC);
+        Board createdBoard = boardPage.createBoard(Config.DEFAULT_BOARD_NAME, Config.DEFAULT_BOARD_DESC);
+        fixture = fixtures.adopt(createdBoard);
         
         // Assertions
         assertNotNull(createdBoard, "Board should be created successfully");
@@ -67,20 +86,20 @@ public class TrelloApiTest {
     }
     
     @Test
-    @Order(2)
-    @DisplayName("2. Get board lists and create a card")
+    @DisplayName("Get board lists and create a card")
     void testCreateCards() {
-        System.out.println("\n--- Step 2: Creating a card in the board ---");
-
+        System.out.println("\n--- Creating a card in the board ---");
+        fixture = fixtures.createBoard();
+        
         // Get all lists from the board
-        java.util.List<List> allLists = boardPage.getBoardLists(createdBoard.getId());
+        java.util.List<List> allLists = boardPage.getBoardLists(fixture.getBoardId());
         assertNotNull(allLists, "Board should have lists");
         assertTrue(allLists.size() >= 1, "Board should have at least 1 list");
-
+        
         // Use first list for the card
         List list1 = allLists.get(0);
         System.out.println("✓ Found list: " + list1.getName() + " (ID: " + list1.getId() + ")");
-
+        
         // Create card
         System.out.println("Creating card with list ID: " + list1.getId());
         Card card1 = cardPage.createCard(Config.DEFAULT_CARD_NAME_1, Config.DEFAULT_CARD_DESC, list1.getId());
@@ -88,32 +107,24 @@ public class TrelloApiTest {
         assertNotNull(card1.getId(), "Card ID should not be null");
         assertEquals(Config.DEFAULT_CARD_NAME_1, card1.getName(), "Card name should match");
         assertEquals(Config.DEFAULT_CARD_DESC, card1.getDesc(), "Card description should match");
-        createdCards.add(card1);
         
         System.out.println("✓ Card created: " + card1.getName() + " (ID: " + card1.getId() + ")");
-
-        // Store the list for later use
-        createdList = list1;
-
+        
         // Verify we have 1 card in the board
-        java.util.List<Card> cardsInBoard = cardPage.getCardsInBoard(createdBoard.getId());
+        java.util.List<Card> cardsInBoard = cardPage.getCardsInBoard(fixture.getBoardId());
         assertTrue(cardsInBoard.size() >= 1, "Should have at least 1 card in the board");
         
         System.out.println("✓ Card creation completed successfully");
     }
     
     @Test
-    @Order(3)
-    @DisplayName("3. Update the created card")
+    @DisplayName("Update a card")
     void testUpdateRandomCard() {
-        System.out.println("\n--- Step 3: Updating the created card ---");
-        
-        // Check if we have a card to update
-        assertNotNull(createdCards, "Created cards list should not be null");
-        assertFalse(createdCards.isEmpty(), "Should have at least one card to update");
+        System.out.println("\n--- Updating a card ---");
+        fixture = fixtures.createBoardWithCards(1);
         
         // Get the card to update
-        Card cardToUpdate = createdCards.get(0);
+        Card cardToUpdate = fixture.getCards().get(0);
         assertNotNull(cardToUpdate, "Should have a card to update");
         
         System.out.println("✓ Selected card for update: " + cardToUpdate.getName() + " (ID: " + cardToUpdate.getId() + ")");
@@ -127,18 +138,15 @@ public class TrelloApiTest {
         System.out.println("✓ Card updated successfully:");
         System.out.println("  - Name: " + updatedCard.getName());
         System.out.println("  - New Description: " + updatedCard.getDesc());
-        
-        // Update the card in our list
-        createdCards.set(0, updatedCard);
     }
     
     @Test
-    @Order(4)
-    @DisplayName("4. Delete all created cards")
+    @DisplayName("Delete cards")
     void testDeleteCards() {
-        System.out.println("\n--- Step 4: Deleting all created cards ---");
+        System.out.println("\n--- Deleting cards ---");
+        fixture = fixtures.createBoardWithCards(1);
         
-        for (Card card : createdCards) {
+        for (Card card : fixture.getCards()) {
             System.out.println("Deleting card: " + card.getName() + " (ID: " + card.getId() + ")");
             
             // Delete the card
@@ -155,7 +163,7 @@ public class TrelloApiTest {
         }
         
         // Best-effort verification: ensure we cannot fetch any deleted card
-        for (Card card : createdCards) {
+        for (Card card : fixture.getCards()) {
             try {
                 cardPage.getCard(card.getId());
                 fail("Card should be deleted and not retrievable");
@@ -167,15 +175,17 @@ public class TrelloApiTest {
     }
     
     @Test
-    @Order(5)
-    @DisplayName("5. Delete the created board")
+    @DisplayName("Delete a board")
     void testDeleteBoard() {
-        System.out.println("\n--- Step 5: Deleting the created board ---");
+        System.out.println("\n--- Deleting a board ---");
+        fixture = fixtures.createBoard();
+        Board createdBoard = fixture.getBoard();
         
         System.out.println("Deleting board: " + createdBoard.getName() + " (ID: " + createdBoard.getId() + ")");
         
         // Delete the board
         boardPage.deleteBoard(createdBoard.getId());
+        fixture.markDeleted();
         
         // Verify board is deleted by trying to get it (should return 404)
         try {
@@ -185,22 +195,5 @@ public class TrelloApiTest {
             // Expected - board should not be found
             System.out.println("✓ Board deleted successfully: " + createdBoard.getName());
         }
-        
-        System.out.println("\n=== Trello API Automation Test Completed Successfully ===");
-    }
-    
-    /**
-     * Helper method to display test summary
-     */
-    @Test
-    @Order(6)
-    @DisplayName("6. Test Summary")
-    void testSummary() {
-        System.out.println("\n=== TEST SUMMARY ===");
-        System.out.println("✓ Board created and deleted: " + Config.DEFAULT_BOARD_NAME);
-        System.out.println("✓ Cards created and deleted: " + createdCards.size());
-        System.out.println("✓ Card updated: " + (createdCards.size() > 0 ? "Yes" : "No"));
-        System.out.println("✓ All operations completed successfully");
-        System.out.println("===================");
     }
 }
@@ -1,48 +1,79 @@
 package com.trello.api.tests;
 
 import com.trello.api.config.Config;
-import com.trello.api.config.ApiCredentials;
+import com.trello.api.fixtures.BoardFixture;
+import com.trello.api.fixtures.Fixtures;
+import com.trello.api.fixtures.TestEnvironment;
 import com.trello.api.models.Board;
 import com.trello.api.models.Card;
+import com.trello.api.metrics.MetricsRegistry;
 import com.trello.api.models.List;
 import com.trello.api.pages.BoardPage;
 import com.trello.api.pages.CardPage;
 import com.trello.api.utils.RandomUtils;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
-import java.util.ArrayList;
-
 
+/**
+ * Every test works on its own board fixture, so the methods can run in parallel (parallel="methods" in testng.xml).
+ * TestNG shares one instance between the test threads, the fixture is therefore kept per thread.
+ */
 public class TrelloApiTestNGTest {
-    
+
     private BoardPage boardPage;
     private CardPage cardPage;
-    private Board createdBoard;
-    private java.util.List<Card> createdCards;
-    private List createdList;
+    private Fixtures fixtures;
+    private final ThreadLocal<BoardFixture> fixture = new ThreadLocal<>();
     
     @BeforeClass
     public void setUp() {
+        // -Dtrello.target=mock runs the suite offline against the in-process mock server
+        boolean credentialsLoaded = TestEnvironment.acquire();
+        
         // Validate API credentials before running tests
-        Assert.assertTrue(ApiCredentials.areCredentialsLoaded(), 
+        Assert.assertTrue(credentialsLoaded,
                 "API credentials are not loaded. Please check your api.properties file.");
         
-        // Initialize page objects
-        boardPage = new BoardPage();
-        cardPage = new CardPage();
-        createdCards = new ArrayList<>();
+        // Page objects are shared by all test threads, everything created through them is cleaned up at the end
+        boardPage = TestEnvironment.getBoardPage();
+        cardPage = TestEnvironment.getCardPage();
+        fixtures = TestEnvironment.getFixtures();
         
         System.out.println("=== Trello API Automation Test Started (TestNG) ===");
     }
     
-    @Test(priority = 1, description = "Create a new board")
+    @AfterMethod(alwaysRun = true)
+    public void closeFixture() {
+        BoardFixture current = fixture.get();
+        fixture.remove();
+        if (current != null) {
+            current.close();
+        }
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        System.out.println("\n=== TEST SUMMARY ===");
+        TestEnvironment.release();
+        MetricsRegistry.getDefault().snapshot().printSummary(System.out);
+    }
+    
+    private BoardFixture use(BoardFixture boardFixture) {
+        fixture.set(boardFixture);
+        return boardFixture;
+    }
+    
+    @Test(description = "Create a new board")
     public void testCreateBoard() {
-        System.out.println("\n--- Step 1: Creating a new board ---");
+        System.out.println("\n--- Creating a new board ---");
         
         // Create board with name and description
-        createdBoard = boardPage.createBoard(Config.DEFAULT_BOARD_NAME, Config.DEFAULT_BOARD_DESC);
+        Board createdBoard = boardPage.createBoard(Config.DEFAULT_BOARD_NAME, Config.DEFAULT_BOARD_DESC);
+        use(fixtures.adopt(createdBoard));
         
         // Assertions
         Assert.assertNotNull(createdBoard, "Board should be created successfully");
@@ -57,12 +88,13 @@ public class TrelloApiTestNGTest {
         System.out.println("  - Description: " + createdBoard.getDesc());
     }
     
-    @Test(priority = 2, description = "Get board lists and create two cards")
+    @Test(description = "Get board lists and create two cards")
     public void testCreateCards() {
-        System.out.println("\n--- Step 2: Creating two cards in the board ---");
+        System.out.println("\n--- Creating two cards in the board ---");
+        BoardFixture board = use(fixtures.createBoard());
         
         // Get the first list (To Do list) from the board
-        createdList = boardPage.getFirstList(createdBoard.getId());
+        List createdList = boardPage.getFirstList(board.getBoardId());
         Assert.assertNotNull(createdList, "Board should have at least one list");
         
         System.out.println("✓ Found list: " + createdList.getName() + " (ID: " + createdList.getId() + ")");
@@ -73,7 +105,6 @@ public class TrelloApiTestNGTest {
         Assert.assertNotNull(card1.getId(), "First card ID should not be null");
         Assert.assertEquals(card1.getName(), Config.DEFAULT_CARD_NAME_1, "First card name should match");
         Assert.assertEquals(card1.getDesc(), Config.DEFAULT_CARD_DESC, "First card description should match");
-        createdCards.add(card1);
         
         System.out.println("✓ Card 1 created: " + card1.getName() + " (ID: " + card1.getId() + ")");
         
@@ -83,7 +114,6 @@ public class TrelloApiTestNGTest {
         Assert.assertNotNull(card2.getId(), "Second card ID should not be null");
         Assert.assertEquals(card2.getName(), Config.DEFAULT_CARD_NAME_2, "Second card name should match");
         Assert.assertEquals(card2.getDesc(), Config.DEFAULT_CARD_DESC, "Second card description should match");
-        createdCards.add(card2);
         
         System.out.println("✓ Card 2 created: " + card2.getName() + " (ID: " + card2.getId() + ")");
         
@@ -92,12 +122,13 @@ public class TrelloApiTestNGTest {
         Assert.assertEquals(cardsInList.size(), 2, "Should have exactly 2 cards in the list");
     }
     
-    @Test(priority = 3, description = "Randomly update one of the cards")
+    @Test(description = "Randomly update one of the cards")
     public void testUpdateRandomCard() {
-        System.out.println("\n--- Step 3: Randomly updating one card ---");
+        System.out.println("\n--- Randomly updating one card ---");
+        BoardFixture board = use(fixtures.createBoardWithCards(2));
         
         // Select a random card to update
-        Card cardToUpdate = RandomUtils.getRandomElement(createdCards);
+        Card cardToUpdate = RandomUtils.getRandomElement(board.getCards());
         Assert.assertNotNull(cardToUpdate, "Should have a card to update");
         
         System.out.println("✓ Selected card for update: " + cardToUpdate.getName() + " (ID: " + cardToUpdate.getId() + ")");
@@ -111,17 +142,14 @@ public class TrelloApiTestNGTest {
         System.out.println("✓ Card updated successfully:");
         System.out.println("  - Name: " + updatedCard.getName());
         System.out.println("  - New Description: " + updatedCard.getDesc());
-        
-        // Update the card in our list
-        int index = createdCards.indexOf(cardToUpdate);
-        createdCards.set(index, updatedCard);
     }
     
-    @Test(priority = 4, description = "Delete all created cards")
+    @Test(description = "Delete all cards")
     public void testDeleteCards() {
-        System.out.println("\n--- Step 4: Deleting all created cards ---");
+        System.out.println("\n--- Deleting all cards ---");
+        BoardFixture board = use(fixtures.createBoardWithCards(2));
         
-        for (Card card : createdCards) {
+        for (Card card : board.getCards()) {
             System.out.println("Deleting card: " + card.getName() + " (ID: " + card.getId() + ")");
             
             // Delete the card
@@ -138,20 +166,23 @@ public class TrelloApiTestNGTest {
         }
         
         // Verify no cards remain in the list
-        java.util.List<Card> remainingCards = cardPage.getCardsInList(createdList.getId());
+        java.util.List<Card> remainingCards = cardPage.getCardsInList(board.getFirstList().getId());
         Assert.assertEquals(remainingCards.size(), 0, "No cards should remain in the list");
         
         System.out.println("✓ All cards deleted successfully");
     }
     
-    @Test(priority = 5, description = "Delete the created board")
+    @Test(description = "Delete a board")
     public void testDeleteBoard() {
-        System.out.println("\n--- Step 5: Deleting the created board ---");
+        System.out.println("\n--- Deleting a board ---");
+        BoardFixture board = use(fixtures.createBoard());
+        Board createdBoard = board.getBoard();
         
         System.out.println("Deleting board: " + createdBoard.getName() + " (ID: " + createdBoard.getId() + ")");
         
         // Delete the board
         boardPage.deleteBoard(createdBoard.getId());
+        board.markDeleted();
         
         // Verify board is deleted by trying to get it (should return 404)
         try {
@@ -161,17 +192,5 @@ public class TrelloApiTestNGTest {
             // Expected - board should not be found
             System.out.println("✓ Board deleted successfully: " + createdBoard.getName());
         }
-        
-        System.out.println("\n=== Trello API Automation Test Completed Successfully (TestNG) ===");
-    }
-    
-    @Test(priority = 6, description = "Test Summary")
-    public void testSummary() {
-        System.out.println("\n=== TEST SUMMARY ===");
-        System.out.println("✓ Board created and deleted: " + Config.DEFAULT_BOARD_NAME);
-        System.out.println("✓ Cards created and deleted: " + createdCards.size());
-        System.out.println("✓ Random card updated: " + (createdCards.size() > 0 ? "Yes" : "No"));
-        System.out.println("✓ All operations completed successfully");
-        System.out.println("===================");
     }
 }
@@ -0,0 +1,198 @@
+package com.trello.api.tests;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trello.api.models.Card;
+import com.trello.api.models.IdView;
+import com.trello.api.models.NameView;
+import com.trello.api.models.TrelloId;
+import com.trello.api.models.TrelloIdMap;
+import com.trello.api.utils.JsonUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parsing, ordering, hashing and JSON of Trello IDs, and the open addressing map keyed by them
+ */
+@DisplayName("Trello ID Tests")
+public class TrelloIdTest {
+
+    private static final String ID = "5f1a2b3c4d5e6f7081929394";
+
+    @Test
+    @DisplayName("An ID is parsed and written back as lowercase hex")
+    void testParse() {
+        TrelloId id = TrelloId.parse(ID);
+
+        assertEquals(ID, id.toString());
+        assertEquals(0x5f1a2b3c4d5e6f70L, id.getHigh());
+        assertEquals(0x81929394, id.getLow());
+        assertEquals(0x5f1a2b3cL, id.getCreatedSeconds());
+        assertEquals(id, TrelloId.parse(ID.toUpperCase()));
+        assertEquals(ID, TrelloId.parse(ID.toUpperCase()).toString());
+        char[] buffer = ("xx" + ID + "yy").toCharArray();
+        assertEquals(id, TrelloId.parse(buffer, 2, TrelloId.LENGTH));
+    }
+
+    @Test
+    @DisplayName("Text that is not an ID is rejected")
+    void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> TrelloId.parse(ID.substring(1)));
+        assertThrows(IllegalArgumentException.class, () -> TrelloId.parse(ID.substring(1) + "g"));
+        assertThrows(IllegalArgumentException.class, () -> TrelloId.parse((CharSequence) null));
+        assertFalse(TrelloId.isValid(null));
+        assertFalse(TrelloId.isValid("not-an-id"));
+        assertFalse(TrelloId.isValid(ID + "0"));
+        assertTrue(TrelloId.isValid(ID));
+        assertNull(TrelloId.parseNullable(""));
+        assertNull(TrelloId.parseNullable(null));
+        assertNull(TrelloId.toStringOrNull(null));
+    }
+
+    @Test
+    @DisplayName("IDs sort like their hex strings, also with the top bit set")
+    void testOrdering() {
+        Random random = new Random(42);
+        List<String> texts = new ArrayList<>();
+        List<TrelloId> ids = new ArrayList<>();
+        texts.add("ffffffff0000000000000000");
+        texts.add("0000000000000000ffffffff");
+        texts.add("8000000000000000ffffffff");
+        texts.add("7fffffffffffffff00000000");
+        for (int i = 0; i < 200; i++) {
+            texts.add(new TrelloId(random.nextLong(), random.nextInt()).toString());
+        }
+        for (String text : texts) {
+            ids.add(TrelloId.parse(text));
+        }
+
+        Collections.sort(texts);
+        Collections.sort(ids);
+
+        for (int i = 0; i < texts.size(); i++) {
+            assertEquals(texts.get(i), ids.get(i).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Equal IDs are equal and hash alike")
+    void testEqualsAndHashCode() {
+        TrelloId id = TrelloId.parse(ID);
+        TrelloId same = new TrelloId(id.getHigh(), id.getLow());
+        TrelloId other = new TrelloId(id.getHigh(), id.getLow() + 1);
+
+        assertEquals(id, same);
+        assertEquals(id.hashCode(), same.hashCode());
+        assertNotEquals(id, other);
+        assertNotEquals(id, ID, "An ID is not equal to its text");
+        assertEquals(0, id.compareTo(same));
+    }
+
+    @Test
+    @DisplayName("IDs are read from and written to JSON as strings")
+    void testJson() throws Exception {
+        ObjectMapper mapper = JsonUtils.getMapper();
+
+        Card card = mapper.readValue("{\"id\":\"" + ID + "\",\"name\":\"Card\"}", Card.class);
+        assertEquals(TrelloId.parse(ID), card.getTrelloId());
+        assertEquals(ID, card.getId());
+        assertEquals("\"" + ID + "\"", mapper.writeValueAsString(TrelloId.parse(ID)));
+        assertTrue(mapper.writeValueAsString(card).contains("\"id\":\"" + ID + "\""));
+
+        NameView view = mapper.readValue("{\"id\":\"" + ID + "\",\"name\":\"Card\"}", NameView.class);
+        assertEquals(TrelloId.parse(ID), view.getTrelloId());
+        assertEquals(ID, view.getId());
+        assertEquals(new IdView(TrelloId.parse(ID)), mapper.readValue("{\"id\":\"" + ID.toUpperCase() + "\"}", IdView.class));
+        assertNull(mapper.readValue("{\"id\":\"\"}", Card.class).getTrelloId(), "An empty ID should read as null");
+        assertThrows(JsonMappingException.class, () -> mapper.readValue("{\"id\":\"not-an-id\"}", Card.class));
+        assertThrows(JsonMappingException.class, () -> mapper.readValue("{\"id\":42}", Card.class));
+    }
+
+    @Test
+    @DisplayName("The map finds, replaces and removes entries")
+    void testMapBasics() {
+        TrelloIdMap<String> map = new TrelloIdMap<>();
+        TrelloId id = TrelloId.parse(ID);
+
+        assertNull(map.put(id, "first"));
+        assertEquals("first", map.put(ID, "second"));
+        assertEquals("second", map.get(id));
+        assertEquals("second", map.get(ID));
+        assertNull(map.get("not-an-id"));
+        assertTrue(map.containsKey(id));
+        assertEquals(1, map.size());
+        assertThrows(NullPointerException.class, () -> map.put(id, null));
+
+        assertEquals("second", map.remove(id));
+        assertNull(map.remove(id));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A full table keeps every entry reachable through collisions, wraparound and removals")
+    void testMapAtFullLoad() {
+        // 12 entries fit a table of 16 slots at the 3/4 load limit, so probe runs collide and wrap around its end
+        for (long seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            TrelloIdMap<TrelloId> map = new TrelloIdMap<>(12);
+            List<TrelloId> ids = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                TrelloId id = new TrelloId(random.nextLong(), random.nextInt());
+                ids.add(id);
+                map.put(id, id);
+            }
+            Collections.shuffle(ids, random);
+            while (!ids.isEmpty()) {
+                TrelloId removed = ids.remove(ids.size() - 1);
+                assertSame(removed, map.remove(removed), "seed " + seed);
+                assertNull(map.get(removed), "seed " + seed);
+                for (TrelloId id : ids) {
+                    assertSame(id, map.get(id), "Entry lost after a removal, seed " + seed);
+                }
+                assertEquals(ids.size(), map.size());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("The map behaves like a HashMap under random inserts, replacements and removals")
+    void testMapAgainstHashMap() {
+        Random random = new Random(7);
+        // A small key space, so inserts hit existing keys and removals hit present ones
+        List<TrelloId> keys = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            keys.add(new TrelloId(random.nextLong(), random.nextInt()));
+        }
+        TrelloIdMap<Integer> map = new TrelloIdMap<>();
+        Map<TrelloId, Integer> expected = new HashMap<>();
+
+        for (int step = 0; step < 20000; step++) {
+            TrelloId key = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, step), map.put(key, step));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (TrelloId key : keys) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        Map<TrelloId, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(keys.get(0)));
+    }
+}